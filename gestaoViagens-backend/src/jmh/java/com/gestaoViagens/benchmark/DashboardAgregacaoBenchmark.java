@@ -0,0 +1,66 @@
+package com.gestaoViagens.benchmark;
+
+import com.gestaoViagens.DTO.DashboardViagensResumoResponse;
+import com.gestaoViagens.DTO.ViagemResponse;
+import com.gestaoViagens.entity.Viagem;
+import com.gestaoViagens.service.DashboardViagensAgregador;
+import com.gestaoViagens.service.ViagemMapper;
+import com.gestaoViagens.support.ViagensSinteticas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo da agregação do dashboard e do mapeamento da listagem completa
+ * (equivalente a listarTodasParaAdmin) sobre frotas de tamanhos diferentes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DashboardAgregacaoBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int quantidadeViagens;
+
+    @Param({"2", "20", "200"})
+    public int pontosPorViagem;
+
+    private final ViagemMapper mapper = new ViagemMapper();
+    private final DashboardViagensAgregador agregador = new DashboardViagensAgregador(mapper);
+    private List<Viagem> viagens;
+    private LocalDateTime referencia;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        viagens = new ViagensSinteticas(42L, 200, 20_000).gerar(quantidadeViagens, pontosPorViagem);
+        referencia = LocalDateTime.now();
+    }
+
+    @Benchmark
+    public DashboardViagensResumoResponse agregarDashboard() {
+        return agregador.agregar(viagens, referencia);
+    }
+
+    @Benchmark
+    public List<ViagemResponse> mapearListagem() {
+        return viagens.stream()
+                .map(mapper::toResponse)
+                .toList();
+    }
+}
@@ -0,0 +1,61 @@
+package com.gestaoViagens.benchmark;
+
+import com.gestaoViagens.DTO.DashboardViagensResumoResponse;
+import com.gestaoViagens.DTO.ViagemResponse;
+import com.gestaoViagens.entity.Viagem;
+import com.gestaoViagens.service.ViagemMapper;
+import com.gestaoViagens.support.ViagensSinteticas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por viagem de {@link ViagemMapper#toResponse} e {@link ViagemMapper#toDashboardItem}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ViagemMapperBenchmark {
+
+    @Param({"2", "20", "200"})
+    public int pontosPorViagem;
+
+    private final ViagemMapper mapper = new ViagemMapper();
+    private List<Viagem> viagens;
+    private int indice;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        viagens = new ViagensSinteticas(42L, 50, 5_000).gerar(1_024, pontosPorViagem);
+    }
+
+    @Benchmark
+    public ViagemResponse toResponse() {
+        return mapper.toResponse(proxima());
+    }
+
+    @Benchmark
+    public DashboardViagensResumoResponse.DashboardViagemItem toDashboardItem() {
+        return mapper.toDashboardItem(proxima());
+    }
+
+    private Viagem proxima() {
+        indice = (indice + 1) & 1023;
+        return viagens.get(indice);
+    }
+}
@@ -0,0 +1,11 @@
+package com.gestaoViagens.DTO;
+
+public record CacheRegiaoEstatisticaResponse(
+        String regiao,
+        long acertos,
+        long faltas,
+        long insercoes,
+        long elementosEmMemoria,
+        double taxaAcerto
+) {
+}
@@ -0,0 +1,9 @@
+package com.gestaoViagens.DTO;
+
+public record CoalescenciaEstatisticaResponse(
+        String chave,
+        long executadas,
+        long coalescidas,
+        double taxaCoalescencia
+) {
+}
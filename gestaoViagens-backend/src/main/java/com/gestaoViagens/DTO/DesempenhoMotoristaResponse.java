@@ -0,0 +1,19 @@
+package com.gestaoViagens.DTO;
+
+public record DesempenhoMotoristaResponse(
+        Long motoristaId,
+        int janelaDias,
+        Distribuicao duracaoViagemSegundos,
+        Distribuicao pontosPorHora
+) {
+
+    public record Distribuicao(
+            long amostras,
+            double media,
+            double p50,
+            double p90,
+            double p99,
+            double maximo
+    ) {
+    }
+}
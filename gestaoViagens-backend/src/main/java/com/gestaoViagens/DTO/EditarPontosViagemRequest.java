@@ -0,0 +1,9 @@
+package com.gestaoViagens.DTO;
+
+import java.util.List;
+
+// nova sequência completa de locais da viagem, na ordem de visita
+public record EditarPontosViagemRequest(
+        List<Long> locaisIds
+) {
+}
@@ -0,0 +1,11 @@
+package com.gestaoViagens.DTO;
+
+// quantidade = 1: um local só, com id e nome; acima disso, centroide do grupo
+public record GrupoLocaisResponse(
+        double latitude,
+        double longitude,
+        int quantidade,
+        Long localId,
+        String nome
+) {
+}
@@ -0,0 +1,18 @@
+package com.gestaoViagens.DTO;
+
+import java.util.List;
+
+public record ImportacaoLocaisResponse(
+        int criados,
+        int duplicados,
+        int invalidos,
+        List<Rejeicao> rejeicoes
+) {
+
+    // linha do CSV (cabeçalho = 1) ou posição no array JSON (a partir de 1)
+    public record Rejeicao(
+            int linha,
+            String motivo
+    ) {
+    }
+}
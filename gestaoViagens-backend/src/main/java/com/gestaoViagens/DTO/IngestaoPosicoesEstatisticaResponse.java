@@ -0,0 +1,11 @@
+package com.gestaoViagens.DTO;
+
+public record IngestaoPosicoesEstatisticaResponse(
+        long recebidas,
+        long gravadas,
+        long descartadas,
+        long lotesGravados,
+        long pendentes,
+        int motoristasRastreados
+) {
+}
@@ -0,0 +1,11 @@
+package com.gestaoViagens.DTO;
+
+public record LimiteRequisicoesEstatisticaResponse(
+        long permitidas,
+        long rejeitadasPorTaxa,
+        long rejeitadasPorConcorrencia,
+        int chavesAtivas,
+        int pesadasEmExecucao,
+        int maxPesadasConcorrentes
+) {
+}
@@ -0,0 +1,10 @@
+package com.gestaoViagens.DTO;
+
+// local ativo com coordenadas, na forma mínima usada pelo agrupamento do mapa
+public record MarcadorLocal(
+        Long id,
+        String nome,
+        Double latitude,
+        Double longitude
+) {
+}
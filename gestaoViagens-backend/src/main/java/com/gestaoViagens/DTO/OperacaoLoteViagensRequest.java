@@ -0,0 +1,20 @@
+package com.gestaoViagens.DTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// viagemIds ou filtro (um dos dois); motoristaId só na reatribuição
+public record OperacaoLoteViagensRequest(
+        List<Long> viagemIds,
+        Filtro filtro,
+        Long motoristaId
+) {
+
+    // criadasDe/criadasAte: dias de criação, inclusive; pelo menos um dos dois é obrigatório
+    public record Filtro(
+            Long motoristaId,
+            LocalDate criadasDe,
+            LocalDate criadasAte
+    ) {
+    }
+}
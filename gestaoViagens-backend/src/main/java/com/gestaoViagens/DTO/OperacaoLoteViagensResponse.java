@@ -0,0 +1,11 @@
+package com.gestaoViagens.DTO;
+
+import java.util.List;
+
+// ignoradas: ids informados que não existem ou não estavam no status exigido
+public record OperacaoLoteViagensResponse(
+        int afetadas,
+        int ignoradas,
+        List<Long> viagemIds
+) {
+}
@@ -0,0 +1,12 @@
+package com.gestaoViagens.DTO;
+
+public record OutboxEstatisticaResponse(
+        long pendentes,
+        long idadePendenteMaisAntigoMs,
+        long entregues,
+        long falhas,
+        long ultimoAtrasoMs,
+        long maiorAtrasoMs,
+        int viagensEmEspera
+) {
+}
@@ -0,0 +1,9 @@
+package com.gestaoViagens.DTO;
+
+// local de um ponto de rota, na ordem da viagem (coordenadas nulas: local sem coordenadas)
+public record ParadaRota(
+        Long localId,
+        Double latitude,
+        Double longitude
+) {
+}
@@ -0,0 +1,14 @@
+package com.gestaoViagens.DTO;
+
+import java.time.LocalDateTime;
+
+public record PosicaoMotoristaResponse(
+        Long motoristaId,
+        String motoristaNome,
+        Long viagemId,
+        String viagemNome,
+        Double latitude,
+        Double longitude,
+        LocalDateTime registradoEm
+) {
+}
@@ -0,0 +1,10 @@
+package com.gestaoViagens.DTO;
+
+import java.time.LocalDateTime;
+
+public record PosicaoRequest(
+        Double latitude,
+        Double longitude,
+        LocalDateTime registradoEm
+) {
+}
@@ -0,0 +1,10 @@
+package com.gestaoViagens.DTO;
+
+import java.time.LocalDate;
+
+public record RecalculoRollupResponse(
+        LocalDate inicio,
+        LocalDate fim,
+        int linhasGravadas
+) {
+}
@@ -0,0 +1,12 @@
+package com.gestaoViagens.DTO;
+
+import java.time.LocalDateTime;
+
+public record RotaGeometriaResponse(
+        Long viagemId,
+        String polyline,
+        String provedor,
+        int pontos,
+        LocalDateTime geradaEm
+) {
+}
@@ -0,0 +1,27 @@
+package com.gestaoViagens.DTO;
+
+import com.gestaoViagens.ENUM.GranularidadeSerie;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record SerieViagensResponse(
+        GranularidadeSerie granularidade,
+        LocalDate inicio,
+        LocalDate fim,
+        Long motoristaId,
+        List<Periodo> periodos
+) {
+
+    // inicio: primeiro dia do período (segunda-feira na granularidade SEMANA)
+    public record Periodo(
+            LocalDate inicio,
+            long viagensCriadas,
+            long viagensIniciadas,
+            long viagensConcluidas,
+            long pontosVisitados,
+            long duracaoTotalSegundos,
+            long duracaoMediaSegundos
+    ) {
+    }
+}
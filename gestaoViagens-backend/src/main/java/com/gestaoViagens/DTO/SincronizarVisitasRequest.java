@@ -0,0 +1,17 @@
+package com.gestaoViagens.DTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record SincronizarVisitasRequest(
+        List<VisitaOffline> visitas
+) {
+
+    public record VisitaOffline(
+            String chaveIdempotencia,
+            Long viagemId,
+            Long pontoId,
+            LocalDateTime visitadoEm
+    ) {
+    }
+}
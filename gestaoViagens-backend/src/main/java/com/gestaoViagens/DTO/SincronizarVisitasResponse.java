@@ -0,0 +1,11 @@
+package com.gestaoViagens.DTO;
+
+import java.util.List;
+
+public record SincronizarVisitasResponse(
+        int aplicadas,
+        int duplicadas,
+        int rejeitadas,
+        List<ViagemResponse> viagens
+) {
+}
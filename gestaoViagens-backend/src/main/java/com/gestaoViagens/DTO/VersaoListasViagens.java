@@ -0,0 +1,12 @@
+package com.gestaoViagens.DTO;
+
+import java.time.LocalDateTime;
+
+// resumo da tabela de viagens para o carimbo das listagens; muda com qualquer criação, alteração ou remoção
+public record VersaoListasViagens(
+        long quantidade,
+        Long maiorId,
+        Long somaVersoes,
+        LocalDateTime ultimaAlteracao
+) {
+}
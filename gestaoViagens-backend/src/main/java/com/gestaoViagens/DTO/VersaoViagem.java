@@ -0,0 +1,13 @@
+package com.gestaoViagens.DTO;
+
+import java.time.LocalDateTime;
+
+// projeção leve para GET condicional: versão da viagem sem carregar pontos
+public record VersaoViagem(
+        Long id,
+        String motoristaEmail,
+        long versao,
+        LocalDateTime atualizadoEm,
+        LocalDateTime dataCriacao
+) {
+}
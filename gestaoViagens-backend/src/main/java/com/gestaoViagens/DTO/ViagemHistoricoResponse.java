@@ -0,0 +1,26 @@
+package com.gestaoViagens.DTO;
+
+import com.gestaoViagens.ENUM.StatusViagem;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record ViagemHistoricoResponse(
+        Long viagemId,
+        StatusViagem status,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataInicio,
+        LocalDateTime dataFim,
+        int totalEventos,
+        List<VisitaPonto> visitas
+) {
+
+    // segundosDesdeAnterior: tempo entre a visita anterior (ou o início da viagem) e esta
+    public record VisitaPonto(
+            Long pontoId,
+            LocalDateTime visitadoEm,
+            String ator,
+            Long segundosDesdeAnterior
+    ) {
+    }
+}
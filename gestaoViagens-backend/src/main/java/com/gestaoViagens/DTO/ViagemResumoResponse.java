@@ -0,0 +1,24 @@
+package com.gestaoViagens.DTO;
+
+import com.gestaoViagens.ENUM.StatusViagem;
+
+import java.time.LocalDateTime;
+
+public record ViagemResumoResponse(
+        Long id,
+        String nome,
+        StatusViagem status,
+        LocalDateTime dataCriacao,
+        LocalDateTime dataInicio,
+        LocalDateTime dataFim,
+        String motoristaNome,
+        Long totalPontos,
+        Long pontosVisitados
+) {
+
+    // listagem sem contagens (fields= sem totalPontos/pontosVisitados)
+    public ViagemResumoResponse(Long id, String nome, StatusViagem status, LocalDateTime dataCriacao,
+                                LocalDateTime dataInicio, LocalDateTime dataFim, String motoristaNome) {
+        this(id, nome, status, dataCriacao, dataInicio, dataFim, motoristaNome, null, null);
+    }
+}
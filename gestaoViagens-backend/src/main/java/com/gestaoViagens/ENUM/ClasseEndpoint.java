@@ -0,0 +1,9 @@
+package com.gestaoViagens.ENUM;
+
+// grupos de rotas com limite de taxa próprio (LimitadorRequisicoes)
+public enum ClasseEndpoint {
+    LEITURA,
+    ESCRITA,
+    POSICOES,
+    PESADA
+}
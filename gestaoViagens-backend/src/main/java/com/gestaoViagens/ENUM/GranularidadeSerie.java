@@ -0,0 +1,7 @@
+package com.gestaoViagens.ENUM;
+
+public enum GranularidadeSerie {
+    DIA,
+    SEMANA,
+    MES
+}
@@ -0,0 +1,6 @@
+package com.gestaoViagens.ENUM;
+
+public enum MetricaDesempenho {
+    DURACAO_VIAGEM,
+    PONTOS_POR_HORA
+}
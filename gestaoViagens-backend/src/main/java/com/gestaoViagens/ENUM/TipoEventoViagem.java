@@ -0,0 +1,10 @@
+package com.gestaoViagens.ENUM;
+
+public enum TipoEventoViagem {
+    VIAGEM_CRIADA,
+    VIAGEM_INICIADA,
+    PONTO_VISITADO,
+    VIAGEM_CONCLUIDA,
+    ROTA_ALTERADA,
+    MOTORISTA_ALTERADO
+}
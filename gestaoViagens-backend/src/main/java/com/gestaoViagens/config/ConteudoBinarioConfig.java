@@ -0,0 +1,30 @@
+package com.gestaoViagens.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class ConteudoBinarioConfig implements WebMvcConfigurer {
+
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public ConteudoBinarioConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // troca o conversor CBOR padrão (global) pelo restrito à API do motorista,
+        // reaproveitando a configuração Jackson do Spring Boot (datas, módulos etc.)
+        converters.removeIf(c -> c instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MotoristaCborHttpMessageConverter(
+                objectMapperBuilder.factory(new CBORFactory()).build()
+        ));
+    }
+}
@@ -0,0 +1,38 @@
+package com.gestaoViagens.config;
+
+/**
+ * Estado por thread usado pelo {@link RoteamentoDataSource}: se a leitura deve ir para o
+ * primário (escrita recente na mesma sessão) e se houve escrita durante a requisição.
+ */
+public final class ContextoRoteamento {
+
+    private static final ThreadLocal<Boolean> FORCAR_PRIMARIO = ThreadLocal.withInitial(() -> false);
+    private static final ThreadLocal<Boolean> HOUVE_ESCRITA = ThreadLocal.withInitial(() -> false);
+
+    private ContextoRoteamento() {
+    }
+
+    public static void iniciar(boolean forcarPrimario) {
+        FORCAR_PRIMARIO.set(forcarPrimario);
+        HOUVE_ESCRITA.set(false);
+    }
+
+    public static boolean isForcarPrimario() {
+        return FORCAR_PRIMARIO.get();
+    }
+
+    public static void registrarEscrita() {
+        HOUVE_ESCRITA.set(true);
+        // leituras seguintes na mesma requisição também precisam enxergar a escrita
+        FORCAR_PRIMARIO.set(true);
+    }
+
+    public static boolean houveEscrita() {
+        return HOUVE_ESCRITA.get();
+    }
+
+    public static void limpar() {
+        FORCAR_PRIMARIO.remove();
+        HOUVE_ESCRITA.remove();
+    }
+}
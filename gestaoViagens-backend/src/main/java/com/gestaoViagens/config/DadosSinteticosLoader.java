@@ -0,0 +1,227 @@
+package com.gestaoViagens.config;
+
+import com.gestaoViagens.ENUM.Role;
+import com.gestaoViagens.ENUM.StatusPontoRota;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.service.RollupViagensDiario;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Popula o banco com uma frota sintética (motoristas, locais e viagens em status variados)
+ * usando inserts em lote via JDBC. Ativado pelo profile "seed"; volumes em application-seed.properties.
+ */
+@Component
+@Profile("seed")
+@Order(2)
+public class DadosSinteticosLoader implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DadosSinteticosLoader.class);
+
+    static final String DOMINIO_EMAIL = "@seed.tripflow.com";
+
+    private static final int DIAS_HISTORICO = 90;
+
+    // centros aproximados de capitais, para coordenadas realistas
+    private static final double[][] CIDADES = {
+            {-25.4284, -49.2733}, // Curitiba
+            {-23.5505, -46.6333}, // São Paulo
+            {-22.9068, -43.1729}, // Rio de Janeiro
+            {-19.9167, -43.9345}, // Belo Horizonte
+            {-30.0346, -51.2177}, // Porto Alegre
+            {-27.5954, -48.5480}  // Florianópolis
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final RollupViagensDiario rollupViagensDiario;
+    private final int quantidadeMotoristas;
+    private final int quantidadeLocais;
+    private final int quantidadeViagens;
+    private final int pontosMin;
+    private final int pontosMax;
+    private final int tamanhoLote;
+    private final String senha;
+    private final SplittableRandom random;
+
+    public DadosSinteticosLoader(JdbcTemplate jdbcTemplate,
+                                 PasswordEncoder passwordEncoder,
+                                 RollupViagensDiario rollupViagensDiario,
+                                 @Value("${app.seed.motoristas:50}") int quantidadeMotoristas,
+                                 @Value("${app.seed.locais:2000}") int quantidadeLocais,
+                                 @Value("${app.seed.viagens:10000}") int quantidadeViagens,
+                                 @Value("${app.seed.pontos-min:2}") int pontosMin,
+                                 @Value("${app.seed.pontos-max:15}") int pontosMax,
+                                 @Value("${app.seed.lote:1000}") int tamanhoLote,
+                                 @Value("${app.seed.senha:motorista123}") String senha,
+                                 @Value("${app.seed.semente:42}") long semente) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.rollupViagensDiario = rollupViagensDiario;
+        this.quantidadeMotoristas = quantidadeMotoristas;
+        this.quantidadeLocais = quantidadeLocais;
+        this.quantidadeViagens = quantidadeViagens;
+        this.pontosMin = pontosMin;
+        this.pontosMax = pontosMax;
+        this.tamanhoLote = tamanhoLote;
+        this.senha = senha;
+        this.random = new SplittableRandom(semente);
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer existentes = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM usuarios WHERE email LIKE ?", Integer.class, "%" + DOMINIO_EMAIL);
+        if (existentes != null && existentes > 0) {
+            log.info("Dados sintéticos já existem ({} motoristas), nada a fazer", existentes);
+            return;
+        }
+
+        long inicio = System.currentTimeMillis();
+        List<Long> motoristas = inserirMotoristas();
+        List<Long> locais = inserirLocais();
+        inserirViagens(motoristas, locais);
+        // inserts diretos não passam pelo EventoViagemRegistro: o rollup diário é recalculado
+        LocalDate hoje = LocalDate.now();
+        rollupViagensDiario.recalcular(hoje.minusDays(DIAS_HISTORICO + 1), hoje.plusDays(1));
+        log.info("Dados sintéticos gerados: {} motoristas, {} locais, {} viagens em {} ms",
+                motoristas.size(), locais.size(), quantidadeViagens, System.currentTimeMillis() - inicio);
+    }
+
+    private List<Long> inserirMotoristas() {
+        // bcrypt é caro; todos os motoristas sintéticos compartilham o mesmo hash
+        String hash = passwordEncoder.encode(senha);
+        List<Object[]> linhas = new ArrayList<>(quantidadeMotoristas);
+        for (int i = 1; i <= quantidadeMotoristas; i++) {
+            linhas.add(new Object[]{"Motorista " + i, "motorista" + i + DOMINIO_EMAIL, hash, Role.MOTORISTA.name(), true});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO usuarios (nome, email, senha, role, ativo) VALUES (?, ?, ?, ?, ?)", linhas);
+
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM usuarios WHERE email LIKE ? ORDER BY id", Long.class, "%" + DOMINIO_EMAIL);
+    }
+
+    private List<Long> inserirLocais() {
+        long ultimoId = ultimoId("locais");
+        List<Object[]> linhas = new ArrayList<>(tamanhoLote);
+        for (int i = 1; i <= quantidadeLocais; i++) {
+            double[] cidade = CIDADES[random.nextInt(CIDADES.length)];
+            // ~15 km ao redor do centro
+            double latitude = cidade[0] + random.nextDouble(-0.135, 0.135);
+            double longitude = cidade[1] + random.nextDouble(-0.135, 0.135);
+            linhas.add(new Object[]{
+                    "Cliente " + i,
+                    "Rua Sintética " + i + ", " + (1 + random.nextInt(3000)),
+                    latitude,
+                    longitude,
+                    true
+            });
+            if (linhas.size() == tamanhoLote) {
+                inserirLoteLocais(linhas);
+                linhas.clear();
+            }
+        }
+        if (!linhas.isEmpty()) {
+            inserirLoteLocais(linhas);
+        }
+
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM locais WHERE id > ? ORDER BY id", Long.class, ultimoId);
+    }
+
+    private void inserirLoteLocais(List<Object[]> linhas) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO locais (nome, endereco, latitude, longitude, ativo) VALUES (?, ?, ?, ?, ?)", linhas);
+    }
+
+    private void inserirViagens(List<Long> motoristas, List<Long> locais) {
+        LocalDateTime agora = LocalDateTime.now();
+        int restantes = quantidadeViagens;
+        int numero = 1;
+
+        while (restantes > 0) {
+            int lote = Math.min(restantes, tamanhoLote);
+            long ultimoId = ultimoId("viagens");
+
+            List<Object[]> viagens = new ArrayList<>(lote);
+            for (int i = 0; i < lote; i++) {
+                StatusViagem status = sortearStatus();
+                LocalDateTime criacao = agora.minusMinutes(random.nextInt(DIAS_HISTORICO * 24 * 60));
+                LocalDateTime inicio = status == StatusViagem.PLANEJADA ? null : criacao.plusMinutes(5 + random.nextInt(240));
+                LocalDateTime fim = status == StatusViagem.CONCLUIDA ? inicio.plusMinutes(30 + random.nextInt(480)) : null;
+
+                viagens.add(new Object[]{
+                        motoristas.get(random.nextInt(motoristas.size())),
+                        "Viagem sintética " + numero++,
+                        status.name(),
+                        Timestamp.valueOf(criacao),
+                        inicio != null ? Timestamp.valueOf(inicio) : null,
+                        fim != null ? Timestamp.valueOf(fim) : null
+                });
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO viagens (motorista_id, nome, status, data_criacao, data_inicio, data_fim) VALUES (?, ?, ?, ?, ?, ?)",
+                    viagens,
+                    new int[]{Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP, Types.TIMESTAMP});
+
+            // o auto incremento preserva a ordem do lote numa única conexão
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM viagens WHERE id > ? ORDER BY id", Long.class, ultimoId);
+
+            List<Object[]> pontos = new ArrayList<>(lote * pontosMax);
+            for (int i = 0; i < ids.size(); i++) {
+                StatusViagem status = StatusViagem.valueOf((String) viagens.get(i)[2]);
+                int quantidade = pontosMin + random.nextInt(pontosMax - pontosMin + 1);
+                int visitados = switch (status) {
+                    case PLANEJADA -> 0;
+                    case EM_ANDAMENTO -> random.nextInt(quantidade);
+                    case CONCLUIDA -> quantidade;
+                };
+                for (int ordem = 1; ordem <= quantidade; ordem++) {
+                    pontos.add(new Object[]{
+                            ids.get(i),
+                            locais.get(random.nextInt(locais.size())),
+                            ordem,
+                            (ordem <= visitados ? StatusPontoRota.VISITADO : StatusPontoRota.PENDENTE).name()
+                    });
+                }
+            }
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO pontos_rota (viagem_id, local_id, ordem, status) VALUES (?, ?, ?, ?)", pontos);
+
+            restantes -= lote;
+        }
+    }
+
+    private StatusViagem sortearStatus() {
+        int sorteio = random.nextInt(100);
+        if (sorteio < 30) {
+            return StatusViagem.PLANEJADA;
+        }
+        if (sorteio < 50) {
+            return StatusViagem.EM_ANDAMENTO;
+        }
+        return StatusViagem.CONCLUIDA;
+    }
+
+    private long ultimoId(String tabela) {
+        Long id = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabela, Long.class);
+        return id != null ? id : 0L;
+    }
+}
@@ -5,10 +5,12 @@ import com.gestaoViagens.entity.Usuario;
 import com.gestaoViagens.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 @Component
+@Order(1)
 @RequiredArgsConstructor
 public class DataLoader implements CommandLineRunner {
 
@@ -17,7 +19,8 @@ public class DataLoader implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
-        if (usuarioRepository.count() == 0) {
+        // basta saber se existe algum usuário: evita um COUNT(*) na tabela inteira a cada boot
+        if (usuarioRepository.findFirstByOrderByIdAsc().isEmpty()) {
             Usuario admin = new Usuario();
             admin.setNome("Admin");
             admin.setEmail("admin@tripflow.com");
@@ -0,0 +1,49 @@
+package com.gestaoViagens.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Garante leitura das próprias escritas: se a sessão escreveu no primário há menos de
+ * {@code toleranciaAtrasoMs}, as leituras da requisição também vão para o primário,
+ * cobrindo o atraso de replicação.
+ */
+public class LeituraAposEscritaFilter extends OncePerRequestFilter {
+
+    static final String ATRIBUTO_ULTIMA_ESCRITA = "gestaoViagens.ultimaEscrita";
+
+    private final long toleranciaAtrasoMs;
+
+    public LeituraAposEscritaFilter(long toleranciaAtrasoMs) {
+        this.toleranciaAtrasoMs = toleranciaAtrasoMs;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        HttpSession sessao = request.getSession(false);
+        Object ultimaEscrita = sessao != null ? sessao.getAttribute(ATRIBUTO_ULTIMA_ESCRITA) : null;
+        boolean escritaRecente = ultimaEscrita instanceof Long instante
+                && System.currentTimeMillis() - instante < toleranciaAtrasoMs;
+
+        ContextoRoteamento.iniciar(escritaRecente);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (ContextoRoteamento.houveEscrita()) {
+                HttpSession atual = request.getSession(false);
+                if (atual != null) {
+                    atual.setAttribute(ATRIBUTO_ULTIMA_ESCRITA, System.currentTimeMillis());
+                }
+            }
+            ContextoRoteamento.limpar();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.gestaoViagens.config;
+
+import com.gestaoViagens.ENUM.ClasseEndpoint;
+import com.gestaoViagens.service.LimitadorRequisicoes;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Aplica o LimitadorRequisicoes às rotas /api, depois da autenticação: o limite é por
+ * usuário logado (ou por IP, sem login) e por classe de rota. Quem passa do limite
+ * recebe 429 com Retry-After, antes de ocupar uma conexão do banco.
+ */
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    private final LimitadorRequisicoes limitador;
+
+    public LimiteRequisicoesFilter(LimitadorRequisicoes limitador) {
+        this.limitador = limitador;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !limitador.habilitado()
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ClasseEndpoint classe = classificar(request);
+        LimitadorRequisicoes.Admissao admissao = limitador.admitir(usuario(request), classe);
+        if (!admissao.permitida()) {
+            recusar(response, admissao.esperaSegundos());
+            return;
+        }
+
+        if (classe != ClasseEndpoint.PESADA) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!limitador.ocuparPesada()) {
+            recusar(response, 1);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limitador.liberarPesada();
+        }
+    }
+
+    static ClasseEndpoint classificar(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        boolean leitura = HttpMethod.GET.matches(request.getMethod());
+
+        if (caminho.equals("/api/motorista/posicoes")) {
+            return ClasseEndpoint.POSICOES;
+        }
+        // agregações sobre todas as viagens
+        if (caminho.equals("/api/admin/viagens/dashboard")
+                || caminho.startsWith("/api/admin/viagens/series")
+                || (leitura && caminho.equals("/api/admin/viagens"))) {
+            return ClasseEndpoint.PESADA;
+        }
+        // operações em lote: travam e alteram até app.viagens.lote.maximo viagens numa transação;
+        // a importação de locais lê o arquivo inteiro e refaz a grade do mapa
+        if (!leitura && (caminho.startsWith("/api/admin/viagens/lote/")
+                || caminho.equals("/api/admin/locais/importar"))) {
+            return ClasseEndpoint.PESADA;
+        }
+        return leitura ? ClasseEndpoint.LEITURA : ClasseEndpoint.ESCRITA;
+    }
+
+    private static String usuario(HttpServletRequest request) {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao != null && autenticacao.isAuthenticated()
+                && !(autenticacao instanceof AnonymousAuthenticationToken)) {
+            return autenticacao.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static void recusar(HttpServletResponse response, long esperaSegundos) {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(esperaSegundos));
+    }
+}
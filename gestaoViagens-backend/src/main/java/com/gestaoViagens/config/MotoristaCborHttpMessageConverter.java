@@ -0,0 +1,34 @@
+package com.gestaoViagens.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Respostas em CBOR ({@code Accept: application/cbor}) apenas para a API do motorista,
+ * usada pelo app em redes móveis. As demais rotas continuam só com JSON.
+ */
+public class MotoristaCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    static final String PREFIXO_API_MOTORISTA = "/api/motorista/";
+
+    public MotoristaCborHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return isApiMotorista() && super.canWrite(clazz, mediaType);
+    }
+
+    private boolean isApiMotorista() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos)) {
+            return false;
+        }
+        String caminho = atributos.getRequest().getRequestURI()
+                .substring(atributos.getRequest().getContextPath().length());
+        return caminho.startsWith(PREFIXO_API_MOTORISTA);
+    }
+}
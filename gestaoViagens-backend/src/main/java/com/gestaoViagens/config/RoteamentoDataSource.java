@@ -0,0 +1,30 @@
+package com.gestaoViagens.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envia transações {@code readOnly} para a réplica e todo o resto para o primário.
+ * Precisa ficar atrás de um LazyConnectionDataSourceProxy, para que a conexão física só seja
+ * obtida depois que o flag de somente leitura da transação já foi definido.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino {
+        PRIMARIO,
+        REPLICA
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean somenteLeitura = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+
+        if (somenteLeitura && !ContextoRoteamento.isForcarPrimario()) {
+            return Destino.REPLICA;
+        }
+        if (!somenteLeitura && TransactionSynchronizationManager.isActualTransactionActive()) {
+            ContextoRoteamento.registrarEscrita();
+        }
+        return Destino.PRIMARIO;
+    }
+}
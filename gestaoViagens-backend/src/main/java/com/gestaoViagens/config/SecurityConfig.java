@@ -1,6 +1,7 @@
 package com.gestaoViagens.config;
 
 import com.gestaoViagens.security.CustomUserDetailsService;
+import com.gestaoViagens.service.LimitadorRequisicoes;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -26,9 +28,12 @@ import java.util.List;
 public class SecurityConfig {
 
     private final CustomUserDetailsService customUserDetailsService;
+    private final LimitadorRequisicoes limitadorRequisicoes;
 
-    public SecurityConfig(CustomUserDetailsService customUserDetailsService) {
+    public SecurityConfig(CustomUserDetailsService customUserDetailsService,
+                          LimitadorRequisicoes limitadorRequisicoes) {
         this.customUserDetailsService = customUserDetailsService;
+        this.limitadorRequisicoes = limitadorRequisicoes;
     }
 
     @Bean
@@ -42,11 +47,14 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/api/auth/login", "/api/auth/me").permitAll()
+                        .requestMatchers("/api/admin/locais/importar").hasRole("ADMIN")
                         .requestMatchers("/api/admin/locais/**").hasAnyRole("ADMIN", "MOTORISTA")
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/motorista/**").hasRole("MOTORISTA")
                         .anyRequest().authenticated()
                 )
+                // usuário já conhecido (sessão) e antes dos controllers; não é bean para não entrar também como filtro do servlet
+                .addFilterBefore(new LimiteRequisicoesFilter(limitadorRequisicoes), AuthorizationFilter.class)
                 .formLogin(form -> form
                         .loginProcessingUrl("/api/auth/login")
                         .successHandler((request, response, authentication) -> {
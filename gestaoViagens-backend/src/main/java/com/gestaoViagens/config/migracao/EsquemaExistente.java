@@ -0,0 +1,48 @@
+package com.gestaoViagens.config.migracao;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Consultas aos metadados JDBC para as migrações Java que alteram tabelas do esquema inicial.
+ * Bancos criados pelo ddl-auto=update já podem ter a coluna ou o índice, e o MySQL não
+ * aceita {@code ADD COLUMN IF NOT EXISTS} nem {@code CREATE INDEX IF NOT EXISTS}.
+ */
+final class EsquemaExistente {
+
+    private EsquemaExistente() {
+    }
+
+    static boolean temColuna(Connection conexao, String tabela, String coluna) throws SQLException {
+        DatabaseMetaData metadados = conexao.getMetaData();
+        try (ResultSet colunas = metadados.getColumns(conexao.getCatalog(), conexao.getSchema(), tabela, null)) {
+            while (colunas.next()) {
+                if (coluna.equalsIgnoreCase(colunas.getString("COLUMN_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean temIndice(Connection conexao, String tabela, String indice) throws SQLException {
+        DatabaseMetaData metadados = conexao.getMetaData();
+        try (ResultSet indices = metadados.getIndexInfo(conexao.getCatalog(), conexao.getSchema(), tabela, false, true)) {
+            while (indices.next()) {
+                if (indice.equalsIgnoreCase(indices.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static void executar(Connection conexao, String sql) throws SQLException {
+        try (Statement comando = conexao.createStatement()) {
+            comando.execute(sql);
+        }
+    }
+}
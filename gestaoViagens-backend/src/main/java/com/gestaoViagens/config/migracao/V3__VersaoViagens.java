@@ -0,0 +1,27 @@
+package com.gestaoViagens.config.migracao;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+
+import static com.gestaoViagens.config.migracao.EsquemaExistente.executar;
+import static com.gestaoViagens.config.migracao.EsquemaExistente.temColuna;
+
+/**
+ * Versão (otimista) e instante da última alteração de cada viagem, usados no ETag/Last-Modified.
+ * Só adiciona as colunas que o ddl-auto=update ainda não tiver criado.
+ */
+public class V3__VersaoViagens extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+        if (!temColuna(conexao, "viagens", "versao")) {
+            executar(conexao, "ALTER TABLE viagens ADD COLUMN versao BIGINT NOT NULL DEFAULT 0");
+        }
+        if (!temColuna(conexao, "viagens", "atualizado_em")) {
+            executar(conexao, "ALTER TABLE viagens ADD COLUMN atualizado_em DATETIME(6)");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.gestaoViagens.config.migracao;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+
+import static com.gestaoViagens.config.migracao.EsquemaExistente.executar;
+import static com.gestaoViagens.config.migracao.EsquemaExistente.temColuna;
+import static com.gestaoViagens.config.migracao.EsquemaExistente.temIndice;
+
+/**
+ * Hash do endereço normalizado, para deduplicar a importação em lote de locais. Locais antigos
+ * ficam com NULL e são preenchidos pela aplicação no início de cada importação.
+ * Só cria a coluna e o índice que o ddl-auto=update ainda não tiver criado.
+ */
+public class V4__HashEnderecoLocais extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection conexao = context.getConnection();
+        if (!temColuna(conexao, "locais", "endereco_hash")) {
+            executar(conexao, "ALTER TABLE locais ADD COLUMN endereco_hash VARCHAR(64)");
+        }
+        if (!temIndice(conexao, "locais", "idx_locais_endereco_hash")) {
+            executar(conexao, "CREATE INDEX idx_locais_endereco_hash ON locais (endereco_hash)");
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.gestaoViagens.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parâmetro fields= das respostas de viagem: "id,nome,pontos.latitude,pontos.longitude".
+ * "pontos" sozinho traz o ponto inteiro. Sem fields= a resposta sai completa, como antes.
+ * Os nomes são validados contra os componentes do record da resposta.
+ */
+final class CamposResposta {
+
+    private static final CamposResposta TODOS = new CamposResposta(null, Map.of());
+
+    // null: todos os campos
+    private final Set<String> campos;
+    // campo de lista -> subcampos pedidos (vazio: todos)
+    private final Map<String, Set<String>> subcampos;
+
+    private CamposResposta(Set<String> campos, Map<String, Set<String>> subcampos) {
+        this.campos = campos;
+        this.subcampos = subcampos;
+    }
+
+    static CamposResposta de(String fields, Class<? extends Record> tipo) {
+        if (fields == null || fields.isBlank()) {
+            return TODOS;
+        }
+
+        Map<String, RecordComponent> componentes = componentes(tipo);
+        Set<String> campos = new HashSet<>();
+        Map<String, Set<String>> subcampos = new HashMap<>();
+        for (String item : fields.split(",")) {
+            String campo = item.trim();
+            if (campo.isEmpty()) {
+                continue;
+            }
+            int ponto = campo.indexOf('.');
+            String nome = ponto < 0 ? campo : campo.substring(0, ponto);
+            RecordComponent componente = componentes.get(nome);
+            if (componente == null) {
+                throw invalido(campo);
+            }
+            campos.add(nome);
+
+            Class<? extends Record> tipoItem = tipoDosItens(componente);
+            if (tipoItem != null) {
+                Set<String> pedidos = subcampos.computeIfAbsent(nome, n -> new HashSet<>());
+                if (ponto < 0) {
+                    // "pontos" sozinho vale mais que qualquer "pontos.x"
+                    pedidos.add("*");
+                } else if (componentes(tipoItem).containsKey(campo.substring(ponto + 1))) {
+                    pedidos.add(campo.substring(ponto + 1));
+                } else {
+                    throw invalido(campo);
+                }
+            } else if (ponto >= 0) {
+                throw invalido(campo);
+            }
+        }
+        subcampos.values().removeIf(pedidos -> pedidos.contains("*"));
+        return new CamposResposta(campos, subcampos);
+    }
+
+    boolean inclui(String campo) {
+        return campos == null || campos.contains(campo);
+    }
+
+    // record (ou lista de records) -> mapa só com os campos pedidos, na ordem do record
+    Object aplicar(Object corpo) {
+        if (campos == null) {
+            return corpo;
+        }
+        if (corpo instanceof List<?> lista) {
+            return lista.stream().map(item -> projetar((Record) item, campos, subcampos)).toList();
+        }
+        return projetar((Record) corpo, campos, subcampos);
+    }
+
+    private static Map<String, Object> projetar(Record registro, Set<String> campos, Map<String, Set<String>> subcampos) {
+        Map<String, Object> projetado = new LinkedHashMap<>();
+        for (RecordComponent componente : registro.getClass().getRecordComponents()) {
+            String nome = componente.getName();
+            if (campos != null && !campos.contains(nome)) {
+                continue;
+            }
+            Object valor = valor(registro, componente);
+            Set<String> pedidos = subcampos.get(nome);
+            if (pedidos != null && valor instanceof List<?> itens) {
+                valor = itens.stream().map(item -> projetar((Record) item, pedidos, Map.of())).toList();
+            }
+            projetado.put(nome, valor);
+        }
+        return projetado;
+    }
+
+    private static Object valor(Record registro, RecordComponent componente) {
+        try {
+            return componente.getAccessor().invoke(registro);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Campo ilegível: " + componente.getName(), e);
+        }
+    }
+
+    private static Map<String, RecordComponent> componentes(Class<?> tipo) {
+        Map<String, RecordComponent> componentes = new HashMap<>();
+        Arrays.stream(tipo.getRecordComponents()).forEach(c -> componentes.put(c.getName(), c));
+        return componentes;
+    }
+
+    // List<UmRecord> -> UmRecord.class; outros tipos -> null
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Record> tipoDosItens(RecordComponent componente) {
+        if (componente.getType() == List.class
+                && componente.getGenericType() instanceof ParameterizedType parametrizado
+                && parametrizado.getActualTypeArguments()[0] instanceof Class<?> item
+                && item.isRecord()) {
+            return (Class<? extends Record>) item;
+        }
+        return null;
+    }
+
+    private static ResponseStatusException invalido(String campo) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo desconhecido em fields: " + campo);
+    }
+}
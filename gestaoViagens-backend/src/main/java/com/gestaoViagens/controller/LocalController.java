@@ -1,12 +1,17 @@
 package com.gestaoViagens.controller;
 
+import com.gestaoViagens.DTO.ImportacaoLocaisResponse;
 import com.gestaoViagens.DTO.LocalRequest;
 import com.gestaoViagens.DTO.LocalResponse;
+import com.gestaoViagens.service.ImportacaoLocais;
 import com.gestaoViagens.service.LocalService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -15,6 +20,7 @@ import java.util.List;
 public class LocalController {
 
     private final LocalService localService;
+    private final ImportacaoLocais importacaoLocais;
 
     @GetMapping
     public List<LocalResponse> listar() {
@@ -27,6 +33,17 @@ public class LocalController {
         return ResponseEntity.ok(response);
     }
 
+    // importação em lote: o corpo é lido em streaming, sem carregar o arquivo inteiro
+    @PostMapping(value = "/importar", consumes = "text/csv")
+    public ResponseEntity<ImportacaoLocaisResponse> importarCsv(InputStream corpo) throws IOException {
+        return ResponseEntity.ok(importacaoLocais.importarCsv(corpo));
+    }
+
+    @PostMapping(value = "/importar", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportacaoLocaisResponse> importarJson(InputStream corpo) throws IOException {
+        return ResponseEntity.ok(importacaoLocais.importarJson(corpo));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<LocalResponse> atualizar(
             @PathVariable Long id,
@@ -1,9 +1,14 @@
 package com.gestaoViagens.controller;
 
+import com.gestaoViagens.DTO.GrupoLocaisResponse;
 import com.gestaoViagens.DTO.LocalResponse;
+import com.gestaoViagens.service.AgrupamentoLocais;
+import com.gestaoViagens.service.ConsultasCoalescidas;
 import com.gestaoViagens.service.LocalService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -13,9 +18,27 @@ import java.util.List;
 public class LocalPublicController {
 
     private final LocalService localService;
+    private final ConsultasCoalescidas consultasCoalescidas;
+    private final AgrupamentoLocais agrupamentoLocais;
 
     @GetMapping
     public List<LocalResponse> listarAtivos() {
-        return localService.listarAtivos();
+        return consultasCoalescidas.executar(ConsultasCoalescidas.LOCAIS_ATIVOS, localService::listarAtivos);
+    }
+
+    // mapa: locais agrupados por célula dentro do retângulo visível (graus) no zoom atual
+    @GetMapping("/agrupados")
+    public List<GrupoLocaisResponse> agrupados(
+            @RequestParam double sul,
+            @RequestParam double oeste,
+            @RequestParam double norte,
+            @RequestParam double leste,
+            @RequestParam int zoom
+    ) {
+        if (sul > norte || sul < -90 || norte > 90 || Math.abs(oeste) > 180 || Math.abs(leste) > 180
+                || zoom < 0 || zoom > 22) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Retângulo ou zoom inválido");
+        }
+        return agrupamentoLocais.agrupar(sul, oeste, norte, leste, zoom);
     }
 }
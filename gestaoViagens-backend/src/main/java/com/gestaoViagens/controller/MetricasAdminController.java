@@ -0,0 +1,81 @@
+package com.gestaoViagens.controller;
+
+import com.gestaoViagens.DTO.CacheRegiaoEstatisticaResponse;
+import com.gestaoViagens.DTO.CoalescenciaEstatisticaResponse;
+import com.gestaoViagens.DTO.DesempenhoMotoristaResponse;
+import com.gestaoViagens.DTO.IngestaoPosicoesEstatisticaResponse;
+import com.gestaoViagens.DTO.LimiteRequisicoesEstatisticaResponse;
+import com.gestaoViagens.DTO.OutboxEstatisticaResponse;
+import com.gestaoViagens.service.CacheEstatisticasService;
+import com.gestaoViagens.service.ConsultasCoalescidas;
+import com.gestaoViagens.service.DesempenhoMotoristas;
+import com.gestaoViagens.service.LimitadorRequisicoes;
+import com.gestaoViagens.service.OutboxDespachante;
+import com.gestaoViagens.service.RastreamentoService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/metricas")
+public class MetricasAdminController {
+
+    private final CacheEstatisticasService cacheEstatisticasService;
+    private final RastreamentoService rastreamentoService;
+    private final OutboxDespachante outboxDespachante;
+    private final DesempenhoMotoristas desempenhoMotoristas;
+    private final LimitadorRequisicoes limitadorRequisicoes;
+    private final ConsultasCoalescidas consultasCoalescidas;
+
+    public MetricasAdminController(CacheEstatisticasService cacheEstatisticasService,
+                                   RastreamentoService rastreamentoService,
+                                   OutboxDespachante outboxDespachante,
+                                   DesempenhoMotoristas desempenhoMotoristas,
+                                   LimitadorRequisicoes limitadorRequisicoes,
+                                   ConsultasCoalescidas consultasCoalescidas) {
+        this.cacheEstatisticasService = cacheEstatisticasService;
+        this.rastreamentoService = rastreamentoService;
+        this.outboxDespachante = outboxDespachante;
+        this.desempenhoMotoristas = desempenhoMotoristas;
+        this.limitadorRequisicoes = limitadorRequisicoes;
+        this.consultasCoalescidas = consultasCoalescidas;
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<List<CacheRegiaoEstatisticaResponse>> cache() {
+        return ResponseEntity.ok(cacheEstatisticasService.listarRegioes());
+    }
+
+    @GetMapping("/posicoes")
+    public ResponseEntity<IngestaoPosicoesEstatisticaResponse> posicoes() {
+        return ResponseEntity.ok(rastreamentoService.estatisticas());
+    }
+
+    @GetMapping("/outbox")
+    public ResponseEntity<OutboxEstatisticaResponse> outbox() {
+        return ResponseEntity.ok(outboxDespachante.estatisticas());
+    }
+
+    // sem motoristaId: frota inteira
+    @GetMapping("/desempenho")
+    public ResponseEntity<DesempenhoMotoristaResponse> desempenho(
+            @RequestParam(required = false) Long motoristaId,
+            @RequestParam(defaultValue = "30") int janelaDias
+    ) {
+        return ResponseEntity.ok(desempenhoMotoristas.consultar(motoristaId, janelaDias));
+    }
+
+    @GetMapping("/limites")
+    public ResponseEntity<LimiteRequisicoesEstatisticaResponse> limites() {
+        return ResponseEntity.ok(limitadorRequisicoes.estatisticas());
+    }
+
+    @GetMapping("/coalescencia")
+    public ResponseEntity<List<CoalescenciaEstatisticaResponse>> coalescencia() {
+        return ResponseEntity.ok(consultasCoalescidas.estatisticas());
+    }
+}
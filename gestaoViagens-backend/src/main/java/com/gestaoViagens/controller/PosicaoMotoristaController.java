@@ -0,0 +1,29 @@
+package com.gestaoViagens.controller;
+
+import com.gestaoViagens.DTO.PosicaoRequest;
+import com.gestaoViagens.service.RastreamentoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/motorista/posicoes")
+@RequiredArgsConstructor
+public class PosicaoMotoristaController {
+
+    private final RastreamentoService rastreamentoService;
+
+    // 202: a posição foi aceita e será gravada no próximo lote; 429: buffer do motorista cheio
+    @PostMapping
+    public ResponseEntity<Void> registrar(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody PosicaoRequest request
+    ) {
+        String email = userDetails.getUsername();
+        boolean aceita = rastreamentoService.registrarPosicao(request, email);
+        return ResponseEntity.status(aceita ? HttpStatus.ACCEPTED : HttpStatus.TOO_MANY_REQUESTS).build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.gestaoViagens.controller;
+
+import com.gestaoViagens.DTO.PosicaoMotoristaResponse;
+import com.gestaoViagens.service.RastreamentoService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/rastreamento")
+public class RastreamentoAdminController {
+
+    private final RastreamentoService rastreamentoService;
+
+    public RastreamentoAdminController(RastreamentoService rastreamentoService) {
+        this.rastreamentoService = rastreamentoService;
+    }
+
+    // última posição conhecida de cada motorista com viagem em andamento
+    @GetMapping("/posicoes")
+    public ResponseEntity<List<PosicaoMotoristaResponse>> posicoes() {
+        return ResponseEntity.ok(rastreamentoService.listarPosicoesEmAndamento());
+    }
+}
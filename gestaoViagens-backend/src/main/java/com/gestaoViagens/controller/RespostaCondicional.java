@@ -0,0 +1,35 @@
+package com.gestaoViagens.controller;
+
+import com.gestaoViagens.service.VersoesViagens;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// GET condicional: 304 quando o cliente já tem o carimbo atual, sem montar o corpo
+final class RespostaCondicional {
+
+    // o navegador guarda a resposta, mas sempre revalida (o padrão do Spring Security é no-store)
+    private static final CacheControl REVALIDAR = CacheControl.noCache().cachePrivate();
+
+    private RespostaCondicional() {
+    }
+
+    static <T> ResponseEntity<T> responder(WebRequest request, VersoesViagens.Carimbo carimbo, Supplier<T> corpo) {
+        return responder(request, Optional.of(carimbo), corpo);
+    }
+
+    // o carimbo é lido antes do corpo: se a viagem mudar no meio, o cliente só recebe o corpo de novo
+    static <T> ResponseEntity<T> responder(WebRequest request, Optional<VersoesViagens.Carimbo> carimbo, Supplier<T> corpo) {
+        if (carimbo.isEmpty()) {
+            return ResponseEntity.ok(corpo.get());
+        }
+        if (request.checkNotModified(carimbo.get().etag(), carimbo.get().ultimaModificacao())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDAR).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDAR).body(corpo.get());
+    }
+}
@@ -3,6 +3,7 @@ package com.gestaoViagens.controller;
 import com.gestaoViagens.DTO.UsuarioAdminRequest;
 import com.gestaoViagens.DTO.UsuarioAdminResponse;
 import com.gestaoViagens.DTO.UsuarioMotoristaResumoResponse;
+import com.gestaoViagens.service.ConsultasCoalescidas;
 import com.gestaoViagens.service.UsuarioAdminService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,9 +15,12 @@ import java.util.List;
 public class UsuarioAdminController {
 
     private final UsuarioAdminService usuarioAdminService;
+    private final ConsultasCoalescidas consultasCoalescidas;
 
-    public UsuarioAdminController(UsuarioAdminService usuarioAdminService) {
+    public UsuarioAdminController(UsuarioAdminService usuarioAdminService,
+                                  ConsultasCoalescidas consultasCoalescidas) {
         this.usuarioAdminService = usuarioAdminService;
+        this.consultasCoalescidas = consultasCoalescidas;
     }
 
     @GetMapping
@@ -53,7 +57,7 @@ public class UsuarioAdminController {
 
     @GetMapping("/motoristas")
     public List<UsuarioMotoristaResumoResponse> listarMotoristas() {
-        return usuarioAdminService.listarMotoristasAtivos();
+        return consultasCoalescidas.executar(ConsultasCoalescidas.MOTORISTAS_ATIVOS, usuarioAdminService::listarMotoristasAtivos);
     }
 
 }
@@ -1,32 +1,81 @@
 package com.gestaoViagens.controller;
 
+import com.gestaoViagens.DTO.EditarPontosViagemRequest;
+import com.gestaoViagens.DTO.OperacaoLoteViagensRequest;
+import com.gestaoViagens.DTO.OperacaoLoteViagensResponse;
 import com.gestaoViagens.DTO.ViagemCreateRequest;
+import com.gestaoViagens.DTO.ViagemHistoricoResponse;
 import com.gestaoViagens.DTO.ViagemResponse;
+import com.gestaoViagens.DTO.ViagemResumoResponse;
 import com.gestaoViagens.DTO.DashboardViagensResumoResponse;
+import com.gestaoViagens.DTO.RecalculoRollupResponse;
+import com.gestaoViagens.DTO.RotaGeometriaResponse;
+import com.gestaoViagens.DTO.SerieViagensResponse;
+import com.gestaoViagens.ENUM.GranularidadeSerie;
+import com.gestaoViagens.service.ConsultasCoalescidas;
+import com.gestaoViagens.service.EdicaoPontosViagem;
+import com.gestaoViagens.service.GeometriasRota;
+import com.gestaoViagens.service.RollupViagensDiario;
+import com.gestaoViagens.service.TransicoesViagensLote;
+import com.gestaoViagens.service.VersoesViagens;
 import com.gestaoViagens.service.ViagemService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/admin/viagens")
 public class ViagemAdminController {
 
     private final ViagemService viagemService;
+    private final RollupViagensDiario rollupViagensDiario;
+    private final ConsultasCoalescidas consultasCoalescidas;
+    private final VersoesViagens versoesViagens;
+    private final GeometriasRota geometriasRota;
+    private final EdicaoPontosViagem edicaoPontosViagem;
+    private final TransicoesViagensLote transicoesViagensLote;
 
-    public ViagemAdminController(ViagemService viagemService) {
+    public ViagemAdminController(ViagemService viagemService,
+                                 RollupViagensDiario rollupViagensDiario,
+                                 ConsultasCoalescidas consultasCoalescidas,
+                                 VersoesViagens versoesViagens,
+                                 GeometriasRota geometriasRota,
+                                 EdicaoPontosViagem edicaoPontosViagem,
+                                 TransicoesViagensLote transicoesViagensLote) {
         this.viagemService = viagemService;
+        this.rollupViagensDiario = rollupViagensDiario;
+        this.consultasCoalescidas = consultasCoalescidas;
+        this.versoesViagens = versoesViagens;
+        this.geometriasRota = geometriasRota;
+        this.edicaoPontosViagem = edicaoPontosViagem;
+        this.transicoesViagensLote = transicoesViagensLote;
     }
 
     @GetMapping
-    public ResponseEntity<List<ViagemResponse>> listar() {
-        return ResponseEntity.ok(viagemService.listarTodasParaAdmin());
+    public ResponseEntity<Object> listar(@RequestParam(required = false) String fields, WebRequest request) {
+        CamposResposta campos = CamposResposta.de(fields, ViagemResumoResponse.class);
+        boolean comContagens = campos.inclui("totalPontos") || campos.inclui("pontosVisitados");
+        return RespostaCondicional.responder(request, versoesViagens.carimboListas(),
+                () -> campos.aplicar(viagemService.listarTodasParaAdmin(comContagens)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ViagemResponse> buscar(@PathVariable Long id) {
-        return ResponseEntity.ok(viagemService.buscarPorIdParaAdmin(id));
+    public ResponseEntity<Object> buscar(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest request
+    ) {
+        CamposResposta campos = CamposResposta.de(fields, ViagemResponse.class);
+        return RespostaCondicional.responder(request, versoesViagens.carimboViagem(id, null),
+                () -> campos.aplicar(viagemService.buscarPorIdParaAdmin(id, campos.inclui("pontos"))));
+    }
+
+    @GetMapping("/{id}/rota")
+    public ResponseEntity<RotaGeometriaResponse> rota(@PathVariable Long id) {
+        return ResponseEntity.ok(geometriasRota.geometriaDaViagem(id, null));
     }
 
     @PostMapping
@@ -35,12 +84,35 @@ public class ViagemAdminController {
         return ResponseEntity.ok(response);
     }
 
+    @PutMapping("/{id}/pontos")
+    public ResponseEntity<ViagemResponse> editarPontos(
+            @PathVariable Long id,
+            @RequestBody EditarPontosViagemRequest request
+    ) {
+        return ResponseEntity.ok(edicaoPontosViagem.editarPontos(id, request.locaisIds(), null));
+    }
+
     @PostMapping("/{id}/iniciar")
     public ResponseEntity<ViagemResponse> iniciarViagem(@PathVariable Long id) {
         ViagemResponse viagemResponse = viagemService.iniciarViagem(id);
         return ResponseEntity.ok(viagemResponse);
     }
 
+    @PostMapping("/lote/iniciar")
+    public ResponseEntity<OperacaoLoteViagensResponse> iniciarEmLote(@RequestBody OperacaoLoteViagensRequest request) {
+        return ResponseEntity.ok(transicoesViagensLote.iniciar(request));
+    }
+
+    @PostMapping("/lote/concluir")
+    public ResponseEntity<OperacaoLoteViagensResponse> concluirEmLote(@RequestBody OperacaoLoteViagensRequest request) {
+        return ResponseEntity.ok(transicoesViagensLote.concluir(request));
+    }
+
+    @PostMapping("/lote/reatribuir")
+    public ResponseEntity<OperacaoLoteViagensResponse> reatribuirEmLote(@RequestBody OperacaoLoteViagensRequest request) {
+        return ResponseEntity.ok(transicoesViagensLote.reatribuir(request));
+    }
+
     @PostMapping("/{id}/pontos/{pontoId}/visitar")
     public ResponseEntity<ViagemResponse> visitarPontoComoAdmin(
             @PathVariable Long id,
@@ -50,9 +122,36 @@ public class ViagemAdminController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{id}/historico")
+    public ResponseEntity<ViagemHistoricoResponse> historico(@PathVariable Long id) {
+        return ResponseEntity.ok(viagemService.reconstruirHistorico(id));
+    }
+
+    @GetMapping("/series")
+    public ResponseEntity<SerieViagensResponse> serie(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "DIA") GranularidadeSerie granularidade,
+            @RequestParam(required = false) Long motoristaId
+    ) {
+        return ResponseEntity.ok(rollupViagensDiario.serie(inicio, fim, granularidade, motoristaId));
+    }
+
+    // reconstrói o rollup diário a partir das viagens e do histórico de eventos
+    @PostMapping("/series/recalcular")
+    public ResponseEntity<RecalculoRollupResponse> recalcularSerie(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim
+    ) {
+        int linhas = rollupViagensDiario.recalcular(inicio, fim);
+        return ResponseEntity.ok(new RecalculoRollupResponse(inicio, fim, linhas));
+    }
+
     @GetMapping("/dashboard")
     public ResponseEntity<DashboardViagensResumoResponse> resumoDashboard() {
-        DashboardViagensResumoResponse response = viagemService.montarResumoDashboard();
+        // vários admins abrindo o painel juntos compartilham o mesmo cálculo
+        DashboardViagensResumoResponse response =
+                consultasCoalescidas.executar(ConsultasCoalescidas.DASHBOARD, viagemService::montarResumoDashboard);
         return ResponseEntity.ok(response);
     }
 
@@ -1,15 +1,22 @@
 package com.gestaoViagens.controller;
 
+import com.gestaoViagens.DTO.EditarPontosViagemRequest;
+import com.gestaoViagens.DTO.RotaGeometriaResponse;
+import com.gestaoViagens.DTO.SincronizarVisitasRequest;
+import com.gestaoViagens.DTO.SincronizarVisitasResponse;
 import com.gestaoViagens.DTO.ViagemCreateRequest;
 import com.gestaoViagens.DTO.ViagemResponse;
+import com.gestaoViagens.DTO.ViagemResumoResponse;
+import com.gestaoViagens.service.EdicaoPontosViagem;
+import com.gestaoViagens.service.GeometriasRota;
+import com.gestaoViagens.service.VersoesViagens;
 import com.gestaoViagens.service.ViagemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/motorista/viagens")
@@ -17,6 +24,9 @@ import java.util.List;
 public class ViagemMotoristaController {
 
     private final ViagemService viagemService;
+    private final VersoesViagens versoesViagens;
+    private final GeometriasRota geometriasRota;
+    private final EdicaoPontosViagem edicaoPontosViagem;
 
     @PostMapping
     public ResponseEntity<ViagemResponse> criar(
@@ -29,22 +39,48 @@ public class ViagemMotoristaController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ViagemResponse>> listar(
-            @AuthenticationPrincipal UserDetails userDetails
+    public ResponseEntity<Object> listar(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) String fields,
+            WebRequest request
     ) {
         String email = userDetails.getUsername();
-        List<ViagemResponse> viagens = viagemService.listarParaMotorista(email);
-        return ResponseEntity.ok(viagens);
+        CamposResposta campos = CamposResposta.de(fields, ViagemResumoResponse.class);
+        boolean comContagens = campos.inclui("totalPontos") || campos.inclui("pontosVisitados");
+        return RespostaCondicional.responder(request, versoesViagens.carimboListas(),
+                () -> campos.aplicar(viagemService.listarParaMotorista(email, comContagens)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ViagemResponse> buscar(
+    public ResponseEntity<Object> buscar(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            WebRequest request
+    ) {
+        String email = userDetails.getUsername();
+        CamposResposta campos = CamposResposta.de(fields, ViagemResponse.class);
+        return RespostaCondicional.responder(request, versoesViagens.carimboViagem(id, email),
+                () -> campos.aplicar(viagemService.buscarPorIdParaMotorista(id, email, campos.inclui("pontos"))));
+    }
+
+    @GetMapping("/{id}/rota")
+    public ResponseEntity<RotaGeometriaResponse> rota(
             @AuthenticationPrincipal UserDetails userDetails,
             @PathVariable Long id
     ) {
         String email = userDetails.getUsername();
-        ViagemResponse response = viagemService.buscarPorIdParaMotorista(id, email);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(geometriasRota.geometriaDaViagem(id, email));
+    }
+
+    @PutMapping("/{id}/pontos")
+    public ResponseEntity<ViagemResponse> editarPontos(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id,
+            @RequestBody EditarPontosViagemRequest request
+    ) {
+        String email = userDetails.getUsername();
+        return ResponseEntity.ok(edicaoPontosViagem.editarPontos(id, request.locaisIds(), email));
     }
 
     @PostMapping("/{id}/pontos/{pontoId}/visitar")
@@ -58,6 +94,16 @@ public class ViagemMotoristaController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/sincronizar-visitas")
+    public ResponseEntity<SincronizarVisitasResponse> sincronizarVisitas(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody SincronizarVisitasRequest request
+    ) {
+        String email = userDetails.getUsername();
+        SincronizarVisitasResponse response = viagemService.sincronizarVisitas(request, email);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{id}/iniciar")
     public ResponseEntity<ViagemResponse> iniciarViagem(@PathVariable Long id) {
         ViagemResponse viagemResponse = viagemService.iniciarViagem(id);
@@ -0,0 +1,50 @@
+package com.gestaoViagens.entity;
+
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// histórico append-only das transições de viagens e pontos (gravado via EventoViagemRegistro)
+@Entity
+@Immutable
+@Table(
+        name = "eventos_viagem",
+        indexes = @Index(name = "idx_eventos_viagem_viagem", columnList = "viagem_id, ocorrido_em")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoViagem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "viagem_id", nullable = false)
+    private Long viagemId;
+
+    @Column(name = "ponto_id")
+    private Long pontoId;
+
+    @Column(name = "motorista_id", nullable = false)
+    private Long motoristaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TipoEventoViagem tipo;
+
+    @Column(nullable = false)
+    private String ator;
+
+    @Column(name = "ocorrido_em", nullable = false)
+    private LocalDateTime ocorridoEm;
+
+    // só em memória: duração da viagem no evento VIAGEM_CONCLUIDA, para o rollup diário
+    @Transient
+    private Long duracaoSegundos;
+}
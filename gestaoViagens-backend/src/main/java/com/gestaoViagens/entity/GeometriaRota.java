@@ -0,0 +1,47 @@
+package com.gestaoViagens.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.time.LocalDateTime;
+
+// trajeto de uma sequência de locais; viagens com os mesmos locais na mesma ordem compartilham a linha
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "geometriaRota")
+@Table(name = "geometrias_rota")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GeometriaRota {
+
+    // SHA-256 (hex) da lista ordenada de local_id
+    @Id
+    @Column(length = 64)
+    private String chave;
+
+    // local_id separados por vírgula, na ordem; TEXT no MySQL (sem @Lob: CLOB não bate com a migração)
+    @Column(nullable = false, length = 65_535)
+    private String locais;
+
+    // encoded polyline (precisão 1e-5); MEDIUMTEXT no MySQL. Acima de 1.000.000 o H2 passaria a usar CLOB
+    @Column(nullable = false, length = 1_000_000)
+    private String polyline;
+
+    @Column(nullable = false, length = 40)
+    private String provedor;
+
+    // SHA-256 do provedor e das coordenadas das paradas usadas no traçado
+    @Column(nullable = false, length = 64)
+    private String assinatura;
+
+    @Column(nullable = false)
+    private int pontos;
+
+    @Column(name = "gerada_em", nullable = false)
+    private LocalDateTime geradaEm;
+}
@@ -2,9 +2,16 @@ package com.gestaoViagens.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "locais")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "local")
+@Table(
+        name = "locais",
+        indexes = @Index(name = "idx_locais_endereco_hash", columnList = "endereco_hash")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -22,6 +29,10 @@ public class Local {
     @Column(nullable = false)
     private String endereco;
 
+    // SHA-256 do endereço normalizado (NormalizadorEndereco), para achar duplicatas na importação
+    @Column(name = "endereco_hash", length = 64)
+    private String enderecoHash;
+
     private Double latitude;
 
     private Double longitude;
@@ -0,0 +1,57 @@
+package com.gestaoViagens.entity;
+
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// eventos de viagem a entregar aos ouvintes (gravados via EventoViagemRegistro, lidos por OutboxDespachante)
+@Entity
+@Table(
+        name = "outbox_eventos",
+        indexes = @Index(name = "idx_outbox_eventos_pendentes", columnList = "entregue_em, falhou_em, id")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "viagem_id", nullable = false)
+    private Long viagemId;
+
+    @Column(name = "ponto_id")
+    private Long pontoId;
+
+    @Column(name = "motorista_id", nullable = false)
+    private Long motoristaId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TipoEventoViagem tipo;
+
+    @Column(name = "ocorrido_em", nullable = false)
+    private LocalDateTime ocorridoEm;
+
+    @Column(name = "criado_em", nullable = false)
+    private LocalDateTime criadoEm;
+
+    @Column(nullable = false)
+    private int tentativas;
+
+    @Column(name = "ultimo_erro", length = 500)
+    private String ultimoErro;
+
+    @Column(name = "entregue_em")
+    private LocalDateTime entregueEm;
+
+    // preenchido quando as tentativas se esgotam; o evento deixa de ser entregue
+    @Column(name = "falhou_em")
+    private LocalDateTime falhouEm;
+}
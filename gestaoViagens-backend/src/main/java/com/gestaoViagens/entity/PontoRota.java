@@ -3,8 +3,12 @@ package com.gestaoViagens.entity;
 import com.gestaoViagens.ENUM.StatusPontoRota;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pontoRota")
 @Table(name = "pontos_rota")
 @Getter
 @Setter
@@ -0,0 +1,41 @@
+package com.gestaoViagens.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// posições GPS enviadas pelo app do motorista (gravadas em lote via PosicoesIngestao)
+@Entity
+@Immutable
+@Table(
+        name = "posicoes_motorista",
+        indexes = @Index(name = "idx_posicoes_motorista_motorista", columnList = "motorista_id, registrado_em")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PosicaoMotorista {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "motorista_id", nullable = false)
+    private Long motoristaId;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    @Column(name = "registrado_em", nullable = false)
+    private LocalDateTime registradoEm;
+
+    @Column(name = "recebido_em", nullable = false)
+    private LocalDateTime recebidoEm;
+}
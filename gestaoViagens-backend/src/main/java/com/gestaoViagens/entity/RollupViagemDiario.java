@@ -0,0 +1,49 @@
+package com.gestaoViagens.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+// totais diários por motorista, mantidos a cada transição (RollupViagensDiario)
+@Entity
+@Table(
+        name = "rollup_viagens_diario",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_rollup_viagens_dia_motorista",
+                columnNames = {"dia", "motorista_id"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RollupViagemDiario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "motorista_id", nullable = false)
+    private Long motoristaId;
+
+    @Column(name = "viagens_criadas", nullable = false)
+    private long viagensCriadas;
+
+    @Column(name = "viagens_iniciadas", nullable = false)
+    private long viagensIniciadas;
+
+    @Column(name = "viagens_concluidas", nullable = false)
+    private long viagensConcluidas;
+
+    @Column(name = "pontos_visitados", nullable = false)
+    private long pontosVisitados;
+
+    // soma de (data_fim - data_inicio) das viagens concluídas no dia
+    @Column(name = "duracao_total_segundos", nullable = false)
+    private long duracaoTotalSegundos;
+}
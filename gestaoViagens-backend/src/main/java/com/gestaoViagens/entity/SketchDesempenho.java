@@ -0,0 +1,46 @@
+package com.gestaoViagens.entity;
+
+import com.gestaoViagens.ENUM.MetricaDesempenho;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// histograma HDR comprimido de uma métrica por motorista e dia (motorista_id = 0: frota inteira)
+@Entity
+@Table(
+        name = "sketches_desempenho",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_sketch_desempenho",
+                columnNames = {"motorista_id", "dia", "metrica"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SketchDesempenho {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "motorista_id", nullable = false)
+    private Long motoristaId;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private MetricaDesempenho metrica;
+
+    @Lob
+    @Column(nullable = false, length = 1_048_576)
+    private byte[] histograma;
+
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+}
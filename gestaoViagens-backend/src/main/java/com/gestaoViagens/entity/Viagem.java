@@ -3,6 +3,9 @@ package com.gestaoViagens.entity;
 import com.gestaoViagens.ENUM.StatusViagem;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -41,7 +44,17 @@ public class Viagem {
     @Column(name = "data_fim")
     private LocalDateTime dataFim;
 
+    // incrementada a cada alteração da viagem ou dos seus pontos; base do ETag do detalhe
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long versao;
+
+    @Column(name = "atualizado_em")
+    private LocalDateTime atualizadoEm;
+
     @OneToMany(mappedBy = "viagem", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("ordem ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "viagemPontos")
     private List<PontoRota> pontos = new ArrayList<>();
 }
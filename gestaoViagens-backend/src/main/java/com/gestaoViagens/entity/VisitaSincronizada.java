@@ -0,0 +1,45 @@
+package com.gestaoViagens.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// chaves de idempotência das visitas enviadas em lote pelo app do motorista
+@Entity
+@Table(
+        name = "visitas_sincronizadas",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_visita_sincronizada_chave",
+                columnNames = {"motorista_id", "chave_idempotencia"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VisitaSincronizada {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "motorista_id", nullable = false)
+    private Long motoristaId;
+
+    @Column(name = "chave_idempotencia", nullable = false, length = 100)
+    private String chaveIdempotencia;
+
+    @Column(name = "viagem_id", nullable = false)
+    private Long viagemId;
+
+    @Column(name = "ponto_id", nullable = false)
+    private Long pontoId;
+
+    @Column(name = "visitado_em", nullable = false)
+    private LocalDateTime visitadoEm;
+
+    @Column(name = "recebido_em", nullable = false)
+    private LocalDateTime recebidoEm;
+}
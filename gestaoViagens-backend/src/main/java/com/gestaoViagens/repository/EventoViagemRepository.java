@@ -0,0 +1,11 @@
+package com.gestaoViagens.repository;
+
+import com.gestaoViagens.entity.EventoViagem;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface EventoViagemRepository extends JpaRepository<EventoViagem, Long> {
+
+    List<EventoViagem> findByViagemIdOrderByOcorridoEmAscIdAsc(Long viagemId);
+}
@@ -0,0 +1,7 @@
+package com.gestaoViagens.repository;
+
+import com.gestaoViagens.entity.GeometriaRota;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface GeometriaRotaRepository extends JpaRepository<GeometriaRota, String> {
+}
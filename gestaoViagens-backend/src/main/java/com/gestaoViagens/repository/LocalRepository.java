@@ -1,7 +1,9 @@
 package com.gestaoViagens.repository;
 
+import com.gestaoViagens.DTO.MarcadorLocal;
 import com.gestaoViagens.entity.Local;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
@@ -12,4 +14,12 @@ public interface LocalRepository extends JpaRepository<Local, Long> {
 
     List<Local> findByAtivoTrueOrderByNomeAsc();
 
+    // agrupamento do mapa: só o necessário, sem carregar entidades
+    @Query("""
+            select new com.gestaoViagens.DTO.MarcadorLocal(l.id, l.nome, l.latitude, l.longitude)
+            from Local l
+            where l.ativo = true and l.latitude is not null and l.longitude is not null
+            """)
+    List<MarcadorLocal> listarMarcadores();
+
 }
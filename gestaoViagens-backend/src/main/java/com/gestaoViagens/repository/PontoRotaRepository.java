@@ -1,7 +1,20 @@
 package com.gestaoViagens.repository;
 
+import com.gestaoViagens.DTO.ParadaRota;
 import com.gestaoViagens.entity.PontoRota;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface PontoRotaRepository extends JpaRepository<PontoRota, Long> {
+
+    @Query("""
+            select new com.gestaoViagens.DTO.ParadaRota(l.id, l.latitude, l.longitude)
+            from PontoRota p join p.local l
+            where p.viagem.id = :viagemId
+            order by p.ordem
+            """)
+    List<ParadaRota> listarParadas(@Param("viagemId") Long viagemId);
 }
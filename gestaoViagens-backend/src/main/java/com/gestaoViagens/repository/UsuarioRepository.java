@@ -15,5 +15,7 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     boolean existsByEmail(String email);
 
+    Optional<Usuario> findFirstByOrderByIdAsc();
+
     List<Usuario> findByRoleAndAtivoTrue(Role role);
 }
@@ -1,13 +1,101 @@
 package com.gestaoViagens.repository;
 
-import com.gestaoViagens.entity.Usuario;
+import com.gestaoViagens.DTO.VersaoListasViagens;
+import com.gestaoViagens.DTO.VersaoViagem;
+import com.gestaoViagens.DTO.ViagemResumoResponse;
+import com.gestaoViagens.ENUM.StatusViagem;
 import com.gestaoViagens.entity.Viagem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ViagemRepository extends JpaRepository<Viagem, Long> {
 
     List<Viagem> findAllByOrderByDataCriacaoDesc();
 
+    @Query("select v from Viagem v join fetch v.motorista where v.status = :status")
+    List<Viagem> findComMotoristaPorStatus(@Param("status") StatusViagem status);
+
+    @Query("""
+            select distinct v from Viagem v
+            left join fetch v.pontos p
+            left join fetch p.local
+            where v.motorista.id = :motoristaId and v.status in :status
+            """)
+    List<Viagem> findComPontosPorMotoristaEStatus(@Param("motoristaId") Long motoristaId,
+                                                  @Param("status") Collection<StatusViagem> status);
+
+    // resumo para listagens: contagens calculadas no banco, sem carregar pontos nem locais
+    @Query("""
+            select new com.gestaoViagens.DTO.ViagemResumoResponse(
+                v.id, v.nome, v.status, v.dataCriacao, v.dataInicio, v.dataFim, m.nome,
+                count(p.id),
+                coalesce(sum(case when p.status = com.gestaoViagens.ENUM.StatusPontoRota.VISITADO then 1L else 0L end), 0L)
+            )
+            from Viagem v
+            join v.motorista m
+            left join v.pontos p
+            group by v.id, v.nome, v.status, v.dataCriacao, v.dataInicio, v.dataFim, m.nome
+            order by v.dataCriacao desc
+            """)
+    List<ViagemResumoResponse> listarResumos();
+
+    @Query("""
+            select new com.gestaoViagens.DTO.ViagemResumoResponse(
+                v.id, v.nome, v.status, v.dataCriacao, v.dataInicio, v.dataFim, m.nome,
+                count(p.id),
+                coalesce(sum(case when p.status = com.gestaoViagens.ENUM.StatusPontoRota.VISITADO then 1L else 0L end), 0L)
+            )
+            from Viagem v
+            join v.motorista m
+            left join v.pontos p
+            where m.id = :motoristaId
+            group by v.id, v.nome, v.status, v.dataCriacao, v.dataInicio, v.dataFim, m.nome
+            order by v.dataCriacao desc
+            """)
+    List<ViagemResumoResponse> listarResumosPorMotorista(@Param("motoristaId") Long motoristaId);
+
+    // fields= sem totalPontos/pontosVisitados: mesmo resumo sem o join com pontos_rota
+    @Query("""
+            select new com.gestaoViagens.DTO.ViagemResumoResponse(
+                v.id, v.nome, v.status, v.dataCriacao, v.dataInicio, v.dataFim, m.nome
+            )
+            from Viagem v
+            join v.motorista m
+            order by v.dataCriacao desc
+            """)
+    List<ViagemResumoResponse> listarResumosSemContagens();
+
+    @Query("""
+            select new com.gestaoViagens.DTO.ViagemResumoResponse(
+                v.id, v.nome, v.status, v.dataCriacao, v.dataInicio, v.dataFim, m.nome
+            )
+            from Viagem v
+            join v.motorista m
+            where m.id = :motoristaId
+            order by v.dataCriacao desc
+            """)
+    List<ViagemResumoResponse> listarResumosSemContagensPorMotorista(@Param("motoristaId") Long motoristaId);
+
+    @Query("""
+            select new com.gestaoViagens.DTO.VersaoViagem(v.id, m.email, v.versao, v.atualizadoEm, v.dataCriacao)
+            from Viagem v
+            join v.motorista m
+            where v.id = :id
+            """)
+    Optional<VersaoViagem> buscarVersao(@Param("id") Long id);
+
+    // versao sobe em toda alteração (JPA e lotes JDBC); quantidade e maior id pegam criações e remoções
+    @Query("""
+            select new com.gestaoViagens.DTO.VersaoListasViagens(
+                count(v), max(v.id), sum(v.versao), max(coalesce(v.atualizadoEm, v.dataCriacao))
+            )
+            from Viagem v
+            """)
+    VersaoListasViagens buscarVersaoListas();
+
 }
@@ -0,0 +1,19 @@
+package com.gestaoViagens.repository;
+
+import com.gestaoViagens.entity.VisitaSincronizada;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface VisitaSincronizadaRepository extends JpaRepository<VisitaSincronizada, Long> {
+
+    @Query("""
+            select v.chaveIdempotencia from VisitaSincronizada v
+            where v.motoristaId = :motoristaId and v.chaveIdempotencia in :chaves
+            """)
+    Set<String> findChavesJaAplicadas(@Param("motoristaId") Long motoristaId,
+                                      @Param("chaves") Collection<String> chaves);
+}
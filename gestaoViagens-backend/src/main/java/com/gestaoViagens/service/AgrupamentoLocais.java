@@ -0,0 +1,277 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.GrupoLocaisResponse;
+import com.gestaoViagens.DTO.MarcadorLocal;
+import com.gestaoViagens.repository.LocalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agrupamento dos locais ativos para o mapa. Cada nível de zoom tem uma grade em Web
+ * Mercator com células de app.locais.agrupamento.celula-px pixels, e cada célula guarda a
+ * quantidade e as somas das coordenadas (centroide) dos locais que caem nela. Uma consulta
+ * de viewport só lê as células do retângulo, sem tocar no banco. Criar, editar, ativar ou
+ * desativar um local atualiza as células dele em todos os níveis; a grade inteira é
+ * refeita do banco periodicamente e depois de importações em lote.
+ */
+@Component
+public class AgrupamentoLocais {
+
+    private static final Logger log = LoggerFactory.getLogger(AgrupamentoLocais.class);
+
+    private static final double LATITUDE_MAXIMA = 85.05112878;
+    private static final int ZOOM_LIMITE = 22;
+
+    // somaIds: com quantidade = 1 é o id do único local da célula
+    private record Celula(int quantidade, double somaLatitude, double somaLongitude, long somaIds) {
+
+        private static Celula de(MarcadorLocal local, int sinal) {
+            return new Celula(sinal, sinal * local.latitude(), sinal * local.longitude(), sinal * local.id());
+        }
+
+        private Celula somar(Celula outra) {
+            int total = quantidade + outra.quantidade;
+            return total <= 0 ? null : new Celula(total, somaLatitude + outra.somaLatitude,
+                    somaLongitude + outra.somaLongitude, somaIds + outra.somaIds);
+        }
+    }
+
+    private final class Grade {
+        private final Map<Long, MarcadorLocal> locais = new ConcurrentHashMap<>();
+        private final List<Map<Long, Celula>> niveis = new ArrayList<>();
+
+        private Grade() {
+            for (int zoom = 0; zoom <= zoomMaximo; zoom++) {
+                niveis.add(new ConcurrentHashMap<>());
+            }
+        }
+
+        // idempotente: tira a posição anterior do local (se houver) e grava a nova
+        private void aplicar(Long id, MarcadorLocal novo) {
+            MarcadorLocal anterior = novo != null ? locais.put(id, novo) : locais.remove(id);
+            if (anterior != null) {
+                mover(anterior, -1);
+            }
+            if (novo != null) {
+                mover(novo, 1);
+            }
+        }
+
+        private void mover(MarcadorLocal local, int sinal) {
+            double x = x(local.longitude());
+            double y = y(local.latitude());
+            Celula delta = Celula.de(local, sinal);
+            for (int zoom = 0; zoom <= zoomMaximo; zoom++) {
+                long celulas = celulasPorEixo(zoom);
+                niveis.get(zoom).merge(chave(indice(x, celulas), indice(y, celulas), celulas), delta, Celula::somar);
+            }
+        }
+    }
+
+    private final LocalRepository localRepository;
+    private final int zoomMaximo;
+    private final int celulaPx;
+
+    private volatile Grade grade;
+
+    // ReentrantLock e não synchronized: com threads virtuais um monitor preso durante a consulta
+    // ao banco prenderia a thread portadora. reconstrucao serializa as releituras (e a primeira
+    // carga); trava protege a grade nas alterações e na troca, sem nunca envolver o banco.
+    private final ReentrantLock reconstrucao = new ReentrantLock();
+    private final ReentrantLock trava = new ReentrantLock();
+    // alterações recebidas enquanto uma reconstrução lê o banco (protegido por trava)
+    private List<LocalAlteradoEvent> alteracoesDuranteLeitura;
+
+    public AgrupamentoLocais(LocalRepository localRepository,
+                             @Value("${app.locais.agrupamento.zoom-maximo:15}") int zoomMaximo,
+                             @Value("${app.locais.agrupamento.celula-px:64}") int celulaPx) {
+        this.localRepository = localRepository;
+        this.zoomMaximo = Math.min(zoomMaximo, ZOOM_LIMITE);
+        this.celulaPx = celulaPx;
+    }
+
+    /**
+     * Grupos do retângulo (graus) no zoom do mapa. Acima de app.locais.agrupamento.zoom-maximo
+     * os locais vêm um a um. Oeste maior que leste: o retângulo cruza o antimeridiano.
+     */
+    public List<GrupoLocaisResponse> agrupar(double sul, double oeste, double norte, double leste, int zoom) {
+        Grade atual = carregada();
+        if (oeste > leste) {
+            List<GrupoLocaisResponse> grupos = new ArrayList<>(agrupar(atual, sul, oeste, norte, 180, zoom));
+            grupos.addAll(agrupar(atual, sul, -180, norte, leste, zoom));
+            return grupos;
+        }
+        return agrupar(atual, sul, oeste, norte, leste, zoom);
+    }
+
+    private List<GrupoLocaisResponse> agrupar(Grade atual, double sul, double oeste, double norte, double leste, int zoom) {
+        List<GrupoLocaisResponse> grupos = new ArrayList<>();
+        if (zoom > zoomMaximo) {
+            for (MarcadorLocal local : atual.locais.values()) {
+                if (local.latitude() >= sul && local.latitude() <= norte
+                        && local.longitude() >= oeste && local.longitude() <= leste) {
+                    grupos.add(new GrupoLocaisResponse(local.latitude(), local.longitude(), 1, local.id(), local.nome()));
+                }
+            }
+            return grupos;
+        }
+
+        Map<Long, Celula> nivel = atual.niveis.get(Math.max(zoom, 0));
+        long celulas = celulasPorEixo(Math.max(zoom, 0));
+        long x0 = indice(x(oeste), celulas);
+        long x1 = indice(x(leste), celulas);
+        // y cresce para o sul
+        long y0 = indice(y(norte), celulas);
+        long y1 = indice(y(sul), celulas);
+
+        if ((x1 - x0 + 1) * (y1 - y0 + 1) <= nivel.size()) {
+            for (long cx = x0; cx <= x1; cx++) {
+                for (long cy = y0; cy <= y1; cy++) {
+                    Celula celula = nivel.get(chave(cx, cy, celulas));
+                    if (celula != null) {
+                        grupos.add(grupo(atual, celula));
+                    }
+                }
+            }
+        } else {
+            // viewport com mais células do que as ocupadas: percorre só as ocupadas
+            nivel.forEach((chave, celula) -> {
+                long cx = chave / celulas;
+                long cy = chave % celulas;
+                if (cx >= x0 && cx <= x1 && cy >= y0 && cy <= y1) {
+                    grupos.add(grupo(atual, celula));
+                }
+            });
+        }
+        return grupos;
+    }
+
+    private static GrupoLocaisResponse grupo(Grade atual, Celula celula) {
+        if (celula.quantidade() == 1) {
+            MarcadorLocal local = atual.locais.get(celula.somaIds());
+            if (local != null) {
+                return new GrupoLocaisResponse(local.latitude(), local.longitude(), 1, local.id(), local.nome());
+            }
+        }
+        return new GrupoLocaisResponse(
+                celula.somaLatitude() / celula.quantidade(),
+                celula.somaLongitude() / celula.quantidade(),
+                celula.quantidade(),
+                null,
+                null
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarLocal(LocalAlteradoEvent evento) {
+        trava.lock();
+        try {
+            if (alteracoesDuranteLeitura != null) {
+                alteracoesDuranteLeitura.add(evento);
+            }
+            // grade ainda não montada: a primeira consulta lê o estado já commitado
+            if (grade != null) {
+                aplicar(grade, evento);
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    // rede de segurança para escritas que não passam pelo LocalService (outras instâncias, SQL direto)
+    @Scheduled(fixedDelayString = "${app.locais.agrupamento.reconstrucao-ms:600000}",
+            initialDelayString = "${app.locais.agrupamento.reconstrucao-ms:600000}")
+    public void reconstruir() {
+        reconstrucao.lock();
+        try {
+            long inicio = System.nanoTime();
+            trava.lock();
+            try {
+                alteracoesDuranteLeitura = new ArrayList<>();
+            } finally {
+                trava.unlock();
+            }
+
+            // leitura fora da trava: as alterações seguem indo para a grade atual e ficam anotadas
+            Grade nova = new Grade();
+            boolean lida = false;
+            try {
+                for (MarcadorLocal local : localRepository.listarMarcadores()) {
+                    nova.aplicar(local.id(), local);
+                }
+                lida = true;
+            } finally {
+                trava.lock();
+                try {
+                    if (lida) {
+                        // aplicar é idempotente: reaplica por cima da leitura o que chegou durante ela
+                        alteracoesDuranteLeitura.forEach(evento -> aplicar(nova, evento));
+                        grade = nova;
+                    }
+                    alteracoesDuranteLeitura = null;
+                } finally {
+                    trava.unlock();
+                }
+            }
+            log.debug("Grade de locais reconstruída: {} locais em {} ms",
+                    nova.locais.size(), (System.nanoTime() - inicio) / 1_000_000);
+        } finally {
+            reconstrucao.unlock();
+        }
+    }
+
+    private Grade carregada() {
+        Grade atual = grade;
+        if (atual == null) {
+            reconstrucao.lock();
+            try {
+                if (grade == null) {
+                    reconstruir();
+                }
+                atual = grade;
+            } finally {
+                reconstrucao.unlock();
+            }
+        }
+        return atual;
+    }
+
+    private static void aplicar(Grade alvo, LocalAlteradoEvent evento) {
+        boolean noMapa = evento.ativo() && evento.latitude() != null && evento.longitude() != null;
+        alvo.aplicar(evento.id(), noMapa
+                ? new MarcadorLocal(evento.id(), evento.nome(), evento.latitude(), evento.longitude())
+                : null);
+    }
+
+    private long celulasPorEixo(int zoom) {
+        return (256L << zoom) / celulaPx;
+    }
+
+    private static long chave(long cx, long cy, long celulas) {
+        return cx * celulas + cy;
+    }
+
+    private static long indice(double coordenada, long celulas) {
+        return Math.min(celulas - 1, Math.max(0, (long) Math.floor(coordenada * celulas)));
+    }
+
+    // Web Mercator normalizado em [0, 1]
+    private static double x(double longitude) {
+        return (longitude + 180) / 360;
+    }
+
+    private static double y(double latitude) {
+        double radianos = Math.toRadians(Math.max(-LATITUDE_MAXIMA, Math.min(LATITUDE_MAXIMA, latitude)));
+        return (1 - Math.log(Math.tan(radianos) + 1 / Math.cos(radianos)) / Math.PI) / 2;
+    }
+}
@@ -0,0 +1,28 @@
+package com.gestaoViagens.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Ouvinte padrão do outbox enquanto não há broker externo: republica cada lote como
+ * {@link EventosViagemEntreguesEvent} para os {@code @EventListener} da própria aplicação.
+ * A publicação é síncrona, então uma exceção de um listener devolve o lote ao outbox.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.broker-local.habilitado", havingValue = "true", matchIfMissing = true)
+public class BrokerLocalEventosViagem implements OuvinteEventosViagem {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BrokerLocalEventosViagem(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void receber(List<EventoViagemPublicado> eventos) {
+        eventPublisher.publishEvent(new EventosViagemEntreguesEvent(eventos));
+    }
+}
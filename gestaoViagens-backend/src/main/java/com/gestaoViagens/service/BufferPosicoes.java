@@ -0,0 +1,90 @@
+package com.gestaoViagens.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Fila circular limitada, sem locks, com vários produtores (requisições do motorista)
+ * e um único consumidor (a descarga de PosicoesIngestao).
+ */
+final class BufferPosicoes {
+
+    private final AtomicReferenceArray<PosicoesIngestao.Posicao> slots;
+    private final int mascara;
+    private final AtomicLong escrita = new AtomicLong();
+    private final AtomicLong leitura = new AtomicLong();
+    // produtores entre reservar() e liberar(); -1 enquanto o buffer está fechado
+    private final AtomicInteger produtores = new AtomicInteger();
+
+    BufferPosicoes(int capacidadeMinima) {
+        int capacidade = Integer.highestOneBit(Math.max(2, capacidadeMinima - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacidade);
+        this.mascara = capacidade - 1;
+    }
+
+    // false se o buffer está fechado; quem reservou chama liberar() depois de oferecer
+    boolean reservar() {
+        while (true) {
+            int atual = produtores.get();
+            if (atual < 0) {
+                return false;
+            }
+            if (produtores.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void liberar() {
+        produtores.decrementAndGet();
+    }
+
+    // só fecha sem produtores em andamento; fechado, nenhuma posição nova pode entrar
+    boolean fechar() {
+        return produtores.compareAndSet(0, -1);
+    }
+
+    void reabrir() {
+        produtores.set(0);
+    }
+
+    // false quando o buffer está cheio: a posição é descartada em vez de crescer a memória
+    boolean oferecer(PosicoesIngestao.Posicao posicao) {
+        while (true) {
+            long indice = escrita.get();
+            if (indice - leitura.get() > mascara) {
+                return false;
+            }
+            if (escrita.compareAndSet(indice, indice + 1)) {
+                slots.set((int) (indice & mascara), posicao);
+                return true;
+            }
+        }
+    }
+
+    // só pode ser chamado por um consumidor por vez
+    int drenar(List<PosicoesIngestao.Posicao> destino, int maximo) {
+        long indice = leitura.get();
+        int drenadas = 0;
+        while (drenadas < maximo) {
+            int slot = (int) (indice & mascara);
+            PosicoesIngestao.Posicao posicao = slots.get(slot);
+            if (posicao == null) {
+                // vazio, ou um produtor reservou o slot e ainda não publicou
+                break;
+            }
+            slots.set(slot, null);
+            destino.add(posicao);
+            indice++;
+            drenadas++;
+        }
+        leitura.set(indice);
+        return drenadas;
+    }
+
+    boolean vazio() {
+        return escrita.get() == leitura.get();
+    }
+}
@@ -0,0 +1,44 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.CacheRegiaoEstatisticaResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class CacheEstatisticasService {
+
+    private final Statistics statistics;
+
+    public CacheEstatisticasService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<CacheRegiaoEstatisticaResponse> listarRegioes() {
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    private CacheRegiaoEstatisticaResponse toResponse(String regiao) {
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(regiao);
+        long acertos = regionStatistics.getHitCount();
+        long faltas = regionStatistics.getMissCount();
+        long consultas = acertos + faltas;
+
+        return new CacheRegiaoEstatisticaResponse(
+                regiao,
+                acertos,
+                faltas,
+                regionStatistics.getPutCount(),
+                regionStatistics.getElementCountInMemory(),
+                consultas > 0 ? (double) acertos / consultas : 0.0
+        );
+    }
+}
@@ -0,0 +1,7 @@
+package com.gestaoViagens.service;
+
+// publicado por alterações em locais (Local) e usuários (Usuario); ouvintes reagem após o commit
+public record CadastroAlteradoEvent(
+        Class<?> entidade
+) {
+}
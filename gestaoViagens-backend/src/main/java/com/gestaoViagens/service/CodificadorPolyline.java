@@ -0,0 +1,66 @@
+package com.gestaoViagens.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encoded polyline (formato do Google Maps, precisão 1e-5): cada coordenada vira a diferença
+ * para a anterior em blocos de 5 bits, o que deixa um trajeto de centenas de pontos com
+ * poucos KB e pronto para google.maps.geometry.encoding.decodePath no frontend.
+ */
+final class CodificadorPolyline {
+
+    private static final double PRECISAO = 1e5;
+
+    private CodificadorPolyline() {
+    }
+
+    static String codificar(List<double[]> coordenadas) {
+        StringBuilder polyline = new StringBuilder(coordenadas.size() * 8);
+        long latitudeAnterior = 0;
+        long longitudeAnterior = 0;
+        for (double[] coordenada : coordenadas) {
+            long latitude = Math.round(coordenada[0] * PRECISAO);
+            long longitude = Math.round(coordenada[1] * PRECISAO);
+            codificar(latitude - latitudeAnterior, polyline);
+            codificar(longitude - longitudeAnterior, polyline);
+            latitudeAnterior = latitude;
+            longitudeAnterior = longitude;
+        }
+        return polyline.toString();
+    }
+
+    static List<double[]> decodificar(String polyline) {
+        List<double[]> coordenadas = new ArrayList<>();
+        int[] posicao = {0};
+        long latitude = 0;
+        long longitude = 0;
+        while (posicao[0] < polyline.length()) {
+            latitude += decodificar(polyline, posicao);
+            longitude += decodificar(polyline, posicao);
+            coordenadas.add(new double[]{latitude / PRECISAO, longitude / PRECISAO});
+        }
+        return coordenadas;
+    }
+
+    private static void codificar(long valor, StringBuilder polyline) {
+        long deslocado = valor < 0 ? ~(valor << 1) : valor << 1;
+        while (deslocado >= 0x20) {
+            polyline.append((char) ((0x20 | (deslocado & 0x1f)) + 63));
+            deslocado >>= 5;
+        }
+        polyline.append((char) (deslocado + 63));
+    }
+
+    private static long decodificar(String polyline, int[] posicao) {
+        long resultado = 0;
+        int deslocamento = 0;
+        int bloco;
+        do {
+            bloco = polyline.charAt(posicao[0]++) - 63;
+            resultado |= (long) (bloco & 0x1f) << deslocamento;
+            deslocamento += 5;
+        } while (bloco >= 0x20);
+        return (resultado & 1) != 0 ? ~(resultado >> 1) : resultado >> 1;
+    }
+}
@@ -0,0 +1,140 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.CoalescenciaEstatisticaResponse;
+import com.gestaoViagens.entity.Local;
+import com.gestaoViagens.entity.Usuario;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Junta leituras idênticas simultâneas: a primeira chamada de uma chave executa o cálculo
+ * e as que chegam enquanto ele roda (ou até app.coalescencia.janela-ms depois) recebem o
+ * mesmo resultado. Deve ser chamado fora de transação, para quem espera não segurar conexão.
+ * Os resultados são compartilhados entre requisições e não podem ser alterados.
+ */
+@Component
+public class ConsultasCoalescidas {
+
+    public static final String DASHBOARD = "dashboard";
+    public static final String LOCAIS_ATIVOS = "locais-ativos";
+    public static final String MOTORISTAS_ATIVOS = "motoristas-ativos";
+
+    private static final class Execucao {
+        private final CompletableFuture<Object> resultado = new CompletableFuture<>();
+        // nanoTime do fim do cálculo; preenchido antes de completar o resultado
+        private volatile long concluidaEm;
+    }
+
+    private static final class Contadores {
+        private final AtomicLong executadas = new AtomicLong();
+        private final AtomicLong coalescidas = new AtomicLong();
+    }
+
+    private final long janelaNanos;
+    private final ConcurrentHashMap<String, Execucao> execucoes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Contadores> contadores = new ConcurrentHashMap<>();
+
+    public ConsultasCoalescidas(@Value("${app.coalescencia.janela-ms:1000}") long janelaMs) {
+        this.janelaNanos = TimeUnit.MILLISECONDS.toNanos(janelaMs);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T executar(String chave, Supplier<T> calculo) {
+        Contadores contador = contadores.computeIfAbsent(chave, c -> new Contadores());
+
+        while (true) {
+            Execucao atual = execucoes.get(chave);
+            if (atual != null && !expirada(atual)) {
+                contador.coalescidas.incrementAndGet();
+                return (T) aguardar(atual);
+            }
+
+            Execucao nova = new Execucao();
+            boolean assumiu = atual == null
+                    ? execucoes.putIfAbsent(chave, nova) == null
+                    : execucoes.replace(chave, atual, nova);
+            if (!assumiu) {
+                continue;
+            }
+
+            contador.executadas.incrementAndGet();
+            try {
+                T valor = calculo.get();
+                nova.concluidaEm = System.nanoTime();
+                nova.resultado.complete(valor);
+                return valor;
+            } catch (RuntimeException | Error e) {
+                // falha não fica guardada: quem esperava recebe o erro, a próxima chamada tenta de novo
+                execucoes.remove(chave, nova);
+                nova.resultado.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    public void invalidar(String chave) {
+        execucoes.remove(chave);
+    }
+
+    // publicado depois do commit de criação, início e visitas de viagens
+    @EventListener
+    public void aoAlterarViagens(ViagensAlteradasEvent evento) {
+        invalidar(DASHBOARD);
+    }
+
+    // depois do commit: antes dele uma nova leitura ainda veria o dado antigo
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCadastro(CadastroAlteradoEvent evento) {
+        if (evento.entidade() == Local.class) {
+            invalidar(LOCAIS_ATIVOS);
+        } else if (evento.entidade() == Usuario.class) {
+            invalidar(MOTORISTAS_ATIVOS);
+        }
+    }
+
+    public List<CoalescenciaEstatisticaResponse> estatisticas() {
+        return contadores.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entrada -> {
+                    long executadas = entrada.getValue().executadas.get();
+                    long coalescidas = entrada.getValue().coalescidas.get();
+                    long total = executadas + coalescidas;
+                    return new CoalescenciaEstatisticaResponse(
+                            entrada.getKey(),
+                            executadas,
+                            coalescidas,
+                            total == 0 ? 0.0 : (double) coalescidas / total
+                    );
+                })
+                .toList();
+    }
+
+    private boolean expirada(Execucao execucao) {
+        return execucao.resultado.isDone() && System.nanoTime() - execucao.concluidaEm >= janelaNanos;
+    }
+
+    private static Object aguardar(Execucao execucao) {
+        try {
+            return execucao.resultado.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.DashboardViagensResumoResponse;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.entity.Viagem;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class DashboardViagensAgregador {
+
+    private final ViagemMapper viagemMapper;
+
+    public DashboardViagensAgregador(ViagemMapper viagemMapper) {
+        this.viagemMapper = viagemMapper;
+    }
+
+    // "todas" deve vir ordenada por data de criação decrescente
+    public DashboardViagensResumoResponse agregar(List<Viagem> todas, LocalDateTime referencia) {
+        long total = todas.size();
+        long totalPlanejadas = todas.stream()
+                .filter(v -> v.getStatus() == StatusViagem.PLANEJADA)
+                .count();
+        long totalEmAndamento = todas.stream()
+                .filter(v -> v.getStatus() == StatusViagem.EM_ANDAMENTO)
+                .count();
+        long totalConcluidas = todas.stream()
+                .filter(v -> v.getStatus() == StatusViagem.CONCLUIDA)
+                .count();
+
+        List<DashboardViagensResumoResponse.DashboardViagemItem> emAndamento = todas.stream()
+                .filter(v -> v.getStatus() == StatusViagem.EM_ANDAMENTO)
+                .map(viagemMapper::toDashboardItem)
+                .limit(5)
+                .toList();
+
+        List<DashboardViagensResumoResponse.DashboardViagemItem> concluidas = todas.stream()
+                .filter(v -> v.getStatus() == StatusViagem.CONCLUIDA)
+                .map(viagemMapper::toDashboardItem)
+                .limit(5)
+                .toList();
+
+        // agregação de viagens por motorista nos últimos 30 dias (pela data de criação)
+        LocalDateTime trintaDiasAtras = referencia.minusDays(30);
+
+        Map<Long, DashboardViagensResumoResponse.ViagensPorMotoristaItem> mapa = new HashMap<>();
+
+        for (Viagem v : todas) {
+            if (v.getDataCriacao() == null || v.getDataCriacao().isBefore(trintaDiasAtras)) {
+                continue;
+            }
+            Long motoristaId = v.getMotorista().getId();
+            String motoristaNome = v.getMotorista().getNome();
+
+            DashboardViagensResumoResponse.ViagensPorMotoristaItem atual = mapa.get(motoristaId);
+            if (atual == null) {
+                mapa.put(
+                        motoristaId,
+                        new DashboardViagensResumoResponse.ViagensPorMotoristaItem(
+                                motoristaId,
+                                motoristaNome,
+                                1L
+                        )
+                );
+            } else {
+                mapa.put(
+                        motoristaId,
+                        new DashboardViagensResumoResponse.ViagensPorMotoristaItem(
+                                motoristaId,
+                                atual.motoristaNome(),
+                                atual.quantidadeViagens() + 1
+                        )
+                );
+            }
+        }
+
+        List<DashboardViagensResumoResponse.ViagensPorMotoristaItem> viagensPorMotoristaUltimos30Dias =
+                mapa.values().stream()
+                        .sorted(Comparator.comparingLong(
+                                DashboardViagensResumoResponse.ViagensPorMotoristaItem::quantidadeViagens
+                        ).reversed())
+                        .limit(8) // mostra até 8 motoristas no gráfico
+                        .toList();
+
+        return new DashboardViagensResumoResponse(
+                total,
+                totalPlanejadas,
+                totalEmAndamento,
+                totalConcluidas,
+                emAndamento,
+                concluidas,
+                viagensPorMotoristaUltimos30Dias
+        );
+    }
+}
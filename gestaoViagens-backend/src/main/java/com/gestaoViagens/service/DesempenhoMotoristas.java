@@ -0,0 +1,223 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.DesempenhoMotoristaResponse;
+import com.gestaoViagens.ENUM.MetricaDesempenho;
+import jakarta.annotation.PreDestroy;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.ByteBuffer;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.DataFormatException;
+
+/**
+ * Percentis de duração das viagens e de pontos por hora, por motorista e da frota.
+ * Cada conclusão de viagem é registrada em histogramas HDR diários (motorista e frota);
+ * uma janela de N dias é a soma dos N histogramas, então a consulta não lê viagens.
+ * Os histogramas do dia ficam em memória e são gravados em sketches_desempenho a cada
+ * app.desempenho.intervalo-persistencia-ms.
+ */
+@Component
+public class DesempenhoMotoristas {
+
+    private static final Logger log = LoggerFactory.getLogger(DesempenhoMotoristas.class);
+
+    static final long FROTA = 0L;
+
+    // 2 dígitos significativos: erro relativo de no máximo 1% nos percentis
+    private static final int DIGITOS_SIGNIFICATIVOS = 2;
+    // pontos por hora é gravado com duas casas decimais
+    private static final double ESCALA_PONTOS_POR_HORA = 100.0;
+    private static final int MAX_JANELA_DIAS = 366;
+
+    private static final String SQL_UPSERT = """
+            INSERT INTO sketches_desempenho (motorista_id, dia, metrica, histograma, atualizado_em)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE histograma = VALUES(histograma), atualizado_em = VALUES(atualizado_em)
+            """;
+
+    private static final String SQL_BUSCAR = """
+            SELECT histograma FROM sketches_desempenho
+            WHERE motorista_id = ? AND dia = ? AND metrica = ?
+            """;
+
+    private static final String SQL_JANELA = """
+            SELECT dia, metrica, histograma FROM sketches_desempenho
+            WHERE motorista_id = ? AND dia >= ? AND dia <= ?
+            """;
+
+    private record Chave(long motoristaId, LocalDate dia, MetricaDesempenho metrica) {
+    }
+
+    private static final class Sketch {
+        private final ConcurrentHistogram histograma = new ConcurrentHistogram(DIGITOS_SIGNIFICATIVOS);
+        private final AtomicBoolean alterado = new AtomicBoolean();
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Chave, Sketch> emMemoria = new ConcurrentHashMap<>();
+    private final AtomicBoolean persistindo = new AtomicBoolean();
+
+    public DesempenhoMotoristas(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @TransactionalEventListener
+    public void aoConcluirViagem(ViagemConcluidaEvent evento) {
+        if (evento.dataInicio() == null || evento.dataFim() == null) {
+            return;
+        }
+
+        try {
+            long segundos = Duration.between(evento.dataInicio(), evento.dataFim()).toSeconds();
+            if (segundos <= 0) {
+                return;
+            }
+            long pontosPorHora = Math.round(evento.pontos() * 3600.0 / segundos * ESCALA_PONTOS_POR_HORA);
+            LocalDate dia = evento.dataFim().toLocalDate();
+
+            for (long motoristaId : new long[]{evento.motoristaId(), FROTA}) {
+                registrar(new Chave(motoristaId, dia, MetricaDesempenho.DURACAO_VIAGEM), segundos);
+                registrar(new Chave(motoristaId, dia, MetricaDesempenho.PONTOS_POR_HORA), pontosPorHora);
+            }
+        } catch (RuntimeException e) {
+            // a viagem já foi concluída: a estatística não pode derrubar a requisição
+            log.warn("Falha ao registrar desempenho da viagem {}", evento.viagemId(), e);
+        }
+    }
+
+    // motoristaId null: frota inteira
+    public DesempenhoMotoristaResponse consultar(Long motoristaId, int janelaDias) {
+        if (janelaDias < 1 || janelaDias > MAX_JANELA_DIAS) {
+            throw new IllegalArgumentException("A janela deve ter entre 1 e " + MAX_JANELA_DIAS + " dias");
+        }
+
+        long id = motoristaId != null ? motoristaId : FROTA;
+        LocalDate fim = LocalDate.now();
+        LocalDate inicio = fim.minusDays(janelaDias - 1L);
+
+        Map<MetricaDesempenho, Histogram> soma = new EnumMap<>(MetricaDesempenho.class);
+        for (MetricaDesempenho m : MetricaDesempenho.values()) {
+            soma.put(m, new Histogram(DIGITOS_SIGNIFICATIVOS));
+        }
+
+        // o que está em memória é sempre igual ou mais novo que o gravado
+        Set<Chave> somadas = new HashSet<>();
+        emMemoria.forEach((chave, sketch) -> {
+            if (chave.motoristaId() == id && !chave.dia().isBefore(inicio) && !chave.dia().isAfter(fim)) {
+                soma.get(chave.metrica()).add(sketch.histograma.copy());
+                somadas.add(chave);
+            }
+        });
+        jdbcTemplate.query(SQL_JANELA, rs -> {
+            Chave chave = new Chave(id, rs.getDate(1).toLocalDate(), MetricaDesempenho.valueOf(rs.getString(2)));
+            if (!somadas.contains(chave)) {
+                soma.get(chave.metrica()).add(decodificar(rs.getBytes(3)));
+            }
+        }, id, Date.valueOf(inicio), Date.valueOf(fim));
+
+        return new DesempenhoMotoristaResponse(
+                motoristaId,
+                janelaDias,
+                distribuicao(soma.get(MetricaDesempenho.DURACAO_VIAGEM), 1.0),
+                distribuicao(soma.get(MetricaDesempenho.PONTOS_POR_HORA), ESCALA_PONTOS_POR_HORA)
+        );
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${app.desempenho.intervalo-persistencia-ms:60000}")
+    public void persistir() {
+        if (!persistindo.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> linhas = new ArrayList<>();
+            emMemoria.forEach((chave, sketch) -> {
+                if (sketch.alterado.compareAndSet(true, false)) {
+                    linhas.add(new Object[]{
+                            chave.motoristaId(),
+                            Date.valueOf(chave.dia()),
+                            chave.metrica().name(),
+                            codificar(sketch.histograma.copy()),
+                            agora
+                    });
+                }
+            });
+            if (!linhas.isEmpty()) {
+                jdbcTemplate.batchUpdate(SQL_UPSERT, linhas);
+            }
+
+            // dias anteriores a ontem já gravados saem da memória
+            LocalDate limite = LocalDate.now().minusDays(1);
+            emMemoria.entrySet().removeIf(e -> e.getKey().dia().isBefore(limite) && !e.getValue().alterado.get());
+        } finally {
+            persistindo.set(false);
+        }
+    }
+
+    private void registrar(Chave chave, long valor) {
+        Sketch sketch = emMemoria.get(chave);
+        if (sketch == null) {
+            // continua o histograma já gravado (por exemplo, antes de um restart)
+            Sketch novo = new Sketch();
+            jdbcTemplate.query(SQL_BUSCAR, rs -> {
+                novo.histograma.add(decodificar(rs.getBytes(1)));
+            }, chave.motoristaId(), Date.valueOf(chave.dia()), chave.metrica().name());
+
+            Sketch existente = emMemoria.putIfAbsent(chave, novo);
+            sketch = existente != null ? existente : novo;
+        }
+        sketch.histograma.recordValue(valor);
+        sketch.alterado.set(true);
+    }
+
+    private static DesempenhoMotoristaResponse.Distribuicao distribuicao(Histogram h, double escala) {
+        if (h.getTotalCount() == 0) {
+            return new DesempenhoMotoristaResponse.Distribuicao(0, 0, 0, 0, 0, 0);
+        }
+        return new DesempenhoMotoristaResponse.Distribuicao(
+                h.getTotalCount(),
+                h.getMean() / escala,
+                h.getValueAtPercentile(50) / escala,
+                h.getValueAtPercentile(90) / escala,
+                h.getValueAtPercentile(99) / escala,
+                h.getMaxValue() / escala
+        );
+    }
+
+    private static byte[] codificar(Histogram h) {
+        ByteBuffer buffer = ByteBuffer.allocate(h.getNeededByteBufferCapacity());
+        int tamanho = h.encodeIntoCompressedByteBuffer(buffer);
+        return Arrays.copyOf(buffer.array(), tamanho);
+    }
+
+    private static Histogram decodificar(byte[] bytes) {
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Histograma de desempenho corrompido", e);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.ViagemResponse;
+import com.gestaoViagens.ENUM.StatusPontoRota;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import com.gestaoViagens.entity.PontoRota;
+import com.gestaoViagens.entity.Viagem;
+import com.gestaoViagens.repository.LocalRepository;
+import com.gestaoViagens.repository.ViagemRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Troca a sequência de locais de uma viagem planejada. A lista nova é comparada com os
+ * pontos atuais: pontos cujo local continua na viagem são mantidos (com o mesmo id) e só
+ * têm a ordem atualizada se ela mudou; os que saíram são apagados e os locais novos,
+ * inseridos. Cada grupo vai num único batch JDBC, na mesma transação.
+ */
+@Component
+public class EdicaoPontosViagem {
+
+    private static final Logger log = LoggerFactory.getLogger(EdicaoPontosViagem.class);
+
+    private static final String SQL_DELETE = "DELETE FROM pontos_rota WHERE id = ? AND viagem_id = ?";
+    private static final String SQL_UPDATE_ORDEM = "UPDATE pontos_rota SET ordem = ? WHERE id = ? AND viagem_id = ?";
+    private static final String SQL_INSERT = """
+            INSERT INTO pontos_rota (viagem_id, local_id, ordem, status)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final int[] TIPOS_DELETE = {Types.BIGINT, Types.BIGINT};
+    private static final int[] TIPOS_UPDATE_ORDEM = {Types.INTEGER, Types.BIGINT, Types.BIGINT};
+    private static final int[] TIPOS_INSERT = {Types.BIGINT, Types.BIGINT, Types.INTEGER, Types.VARCHAR};
+
+    private static final String REGIAO_PONTOS = Viagem.class.getName() + ".pontos";
+
+    // ordem: posição (1..n) do ponto mantido na sequência nova
+    record Reordenacao(Long pontoId, int ordem) {
+    }
+
+    record Insercao(Long localId, int ordem) {
+    }
+
+    record Diferenca(List<Long> removidos, List<Reordenacao> reordenados, List<Insercao> inseridos) {
+
+        boolean vazia() {
+            return removidos.isEmpty() && reordenados.isEmpty() && inseridos.isEmpty();
+        }
+    }
+
+    private final ViagemRepository viagemRepository;
+    private final LocalRepository localRepository;
+    private final EventoViagemRegistro eventoViagemRegistro;
+    private final ViagemMapper viagemMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public EdicaoPontosViagem(ViagemRepository viagemRepository,
+                              LocalRepository localRepository,
+                              EventoViagemRegistro eventoViagemRegistro,
+                              ViagemMapper viagemMapper,
+                              JdbcTemplate jdbcTemplate,
+                              EntityManager entityManager) {
+        this.viagemRepository = viagemRepository;
+        this.localRepository = localRepository;
+        this.eventoViagemRegistro = eventoViagemRegistro;
+        this.viagemMapper = viagemMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    // emailMotorista nulo: admin, sem checagem de dono
+    @Transactional
+    public ViagemResponse editarPontos(Long viagemId, List<Long> locaisIds, String emailMotorista) {
+        if (locaisIds == null || locaisIds.size() < 2 || locaisIds.contains(null)) {
+            throw new IllegalArgumentException("É necessário informar pelo menos dois locais");
+        }
+
+        Viagem viagem = viagemRepository.findById(viagemId)
+                .orElseThrow(() -> new IllegalArgumentException("Viagem não encontrada"));
+        if (emailMotorista != null && !emailMotorista.equals(viagem.getMotorista().getEmail())) {
+            throw new IllegalArgumentException("Viagem não pertence ao motorista");
+        }
+        if (viagem.getStatus() != StatusViagem.PLANEJADA) {
+            throw new IllegalArgumentException("Só é possível alterar os pontos de viagens planejadas");
+        }
+
+        Diferenca diferenca = diferenca(viagem.getPontos(), locaisIds);
+        if (diferenca.vazia()) {
+            return viagemMapper.toResponse(viagem);
+        }
+        validarLocaisNovos(diferenca.inseridos());
+
+        // incrementa a versão antes dos batches: o UPDATE da viagem bloqueia a linha, então uma
+        // edição concorrente espera este commit e falha no @Version em vez de misturar as duas
+        viagem.setAtualizadoEm(LocalDateTime.now());
+        eventoViagemRegistro.registrar(viagem, null, TipoEventoViagem.ROTA_ALTERADA, viagem.getAtualizadoEm());
+        entityManager.flush();
+
+        aplicar(viagemId, diferenca);
+        log.debug("Pontos da viagem {}: {} removidos, {} reordenados, {} inseridos", viagemId,
+                diferenca.removidos().size(), diferenca.reordenados().size(), diferenca.inseridos().size());
+
+        Set<Long> alterados = new HashSet<>(diferenca.removidos());
+        diferenca.reordenados().forEach(r -> alterados.add(r.pontoId()));
+        descartarDoCache(viagemId, alterados);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // leitores que carregaram a coleção antiga entre o descarte e o commit
+                descartarDoCache(viagemId, alterados);
+            }
+        });
+
+        // recarrega sem passar pelo cache de 2º nível: o estado ainda não foi commitado
+        entityManager.clear();
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        Viagem atualizada = viagemRepository.findById(viagemId)
+                .orElseThrow(() -> new IllegalStateException("Erro ao recarregar viagem"));
+        return viagemMapper.toResponse(atualizada);
+    }
+
+    /**
+     * Cada ponto atual é casado com a primeira ocorrência ainda livre do mesmo local na lista
+     * nova (um local pode aparecer mais de uma vez). Pontos sem par são removidos e posições
+     * sem par viram inserções; remoções e inserções são as mínimas para chegar à lista nova.
+     */
+    static Diferenca diferenca(List<PontoRota> atuais, List<Long> locaisIds) {
+        Map<Long, ArrayDeque<PontoRota>> livresPorLocal = new HashMap<>();
+        atuais.stream()
+                .sorted((a, b) -> Integer.compare(a.getOrdem(), b.getOrdem()))
+                .forEach(p -> livresPorLocal.computeIfAbsent(p.getLocal().getId(), id -> new ArrayDeque<>()).add(p));
+
+        List<Reordenacao> reordenados = new ArrayList<>();
+        List<Insercao> inseridos = new ArrayList<>();
+        for (int i = 0; i < locaisIds.size(); i++) {
+            int ordem = i + 1;
+            ArrayDeque<PontoRota> livres = livresPorLocal.get(locaisIds.get(i));
+            PontoRota mantido = livres != null ? livres.poll() : null;
+            if (mantido == null) {
+                inseridos.add(new Insercao(locaisIds.get(i), ordem));
+            } else if (mantido.getOrdem() != ordem) {
+                reordenados.add(new Reordenacao(mantido.getId(), ordem));
+            }
+        }
+
+        List<Long> removidos = new ArrayList<>();
+        livresPorLocal.values().forEach(livres -> livres.forEach(p -> removidos.add(p.getId())));
+        return new Diferenca(removidos, reordenados, inseridos);
+    }
+
+    private void validarLocaisNovos(List<Insercao> inseridos) {
+        Set<Long> ids = new HashSet<>();
+        inseridos.forEach(insercao -> ids.add(insercao.localId()));
+        Set<Long> encontrados = new HashSet<>();
+        localRepository.findAllById(ids).forEach(local -> encontrados.add(local.getId()));
+        for (Long id : ids) {
+            if (!encontrados.contains(id)) {
+                throw new IllegalArgumentException("Local não encontrado: " + id);
+            }
+        }
+    }
+
+    private void aplicar(Long viagemId, Diferenca diferenca) {
+        if (!diferenca.removidos().isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_DELETE, diferenca.removidos().stream()
+                    .map(id -> new Object[]{id, viagemId})
+                    .toList(), TIPOS_DELETE);
+        }
+        if (!diferenca.reordenados().isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_UPDATE_ORDEM, diferenca.reordenados().stream()
+                    .map(r -> new Object[]{r.ordem(), r.pontoId(), viagemId})
+                    .toList(), TIPOS_UPDATE_ORDEM);
+        }
+        if (!diferenca.inseridos().isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_INSERT, diferenca.inseridos().stream()
+                    .map(insercao -> new Object[]{viagemId, insercao.localId(), insercao.ordem(), StatusPontoRota.PENDENTE.name()})
+                    .toList(), TIPOS_INSERT);
+        }
+    }
+
+    // os batches não passam pelo Hibernate, então o cache de 2º nível é descartado à mão
+    private void descartarDoCache(Long viagemId, Set<Long> pontoIds) {
+        SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictCollectionData(REGIAO_PONTOS, viagemId);
+        pontoIds.forEach(id -> sessionFactory.getCache().evictEntityData(PontoRota.class, id));
+    }
+}
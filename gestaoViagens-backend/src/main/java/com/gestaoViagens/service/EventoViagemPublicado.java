@@ -0,0 +1,16 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+
+import java.time.LocalDateTime;
+
+// evento entregue aos ouvintes pelo OutboxDespachante; outboxId permite descartar reentregas
+public record EventoViagemPublicado(
+        Long outboxId,
+        Long viagemId,
+        Long pontoId,
+        Long motoristaId,
+        TipoEventoViagem tipo,
+        LocalDateTime ocorridoEm
+) {
+}
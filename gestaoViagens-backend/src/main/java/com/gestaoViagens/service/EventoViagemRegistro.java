@@ -0,0 +1,167 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import com.gestaoViagens.entity.EventoViagem;
+import com.gestaoViagens.entity.PontoRota;
+import com.gestaoViagens.entity.Viagem;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Acumula os eventos de viagem da transação corrente e grava todos de uma vez,
+ * num único batch JDBC, logo antes do commit. Assim o histórico, o outbox e o rollup
+ * diário são gravados na mesma transação da mudança de estado, sem um INSERT por evento.
+ */
+@Component
+public class EventoViagemRegistro {
+
+    private static final String SQL_INSERT = """
+            INSERT INTO eventos_viagem (viagem_id, ponto_id, motorista_id, tipo, ator, ocorrido_em)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    // mesmo evento, na mesma transação, para o OutboxDespachante entregar depois do commit
+    private static final String SQL_INSERT_OUTBOX = """
+            INSERT INTO outbox_eventos (viagem_id, ponto_id, motorista_id, tipo, ocorrido_em, criado_em, tentativas)
+            VALUES (?, ?, ?, ?, ?, ?, 0)
+            """;
+
+    private static final int[] TIPOS_OUTBOX = {
+            Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP
+    };
+
+    private static final int[] TIPOS = {
+            Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RollupViagensDiario rollupViagensDiario;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public EventoViagemRegistro(JdbcTemplate jdbcTemplate,
+                                RollupViagensDiario rollupViagensDiario,
+                                ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupViagensDiario = rollupViagensDiario;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public void registrar(Viagem viagem, PontoRota ponto, TipoEventoViagem tipo, LocalDateTime quando) {
+        registrar(viagem.getId(), ponto != null ? ponto.getId() : null, viagem.getMotorista().getId(),
+                tipo, quando, viagem.getDataInicio());
+    }
+
+    // para alterações feitas direto no banco, sem a entidade carregada (operações em lote)
+    public void registrar(Long viagemId, Long pontoId, Long motoristaId, TipoEventoViagem tipo,
+                          LocalDateTime quando, LocalDateTime dataInicio) {
+        pendentesDaTransacao().add(EventoViagem.builder()
+                .viagemId(viagemId)
+                .pontoId(pontoId)
+                .motoristaId(motoristaId)
+                .tipo(tipo)
+                .ator(atorAtual())
+                .ocorridoEm(quando)
+                .duracaoSegundos(tipo == TipoEventoViagem.VIAGEM_CONCLUIDA && dataInicio != null
+                        ? Duration.between(dataInicio, quando).toSeconds()
+                        : null)
+                .build());
+    }
+
+    private List<EventoViagem> pendentesDaTransacao() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Eventos de viagem devem ser registrados dentro de uma transação");
+        }
+
+        @SuppressWarnings("unchecked")
+        List<EventoViagem> pendentes = (List<EventoViagem>) TransactionSynchronizationManager.getResource(this);
+        if (pendentes != null) {
+            return pendentes;
+        }
+
+        List<EventoViagem> novos = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, novos);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                gravar(novos);
+            }
+
+            @Override
+            public void afterCommit() {
+                publicarAlteracoes(novos);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(EventoViagemRegistro.this);
+            }
+        });
+        return novos;
+    }
+
+    private void gravar(List<EventoViagem> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        Timestamp criadoEm = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> linhas = new ArrayList<>(eventos.size());
+        List<Object[]> linhasOutbox = new ArrayList<>(eventos.size());
+        for (EventoViagem e : eventos) {
+            Timestamp ocorridoEm = Timestamp.valueOf(e.getOcorridoEm());
+            linhas.add(new Object[]{
+                    e.getViagemId(),
+                    e.getPontoId(),
+                    e.getMotoristaId(),
+                    e.getTipo().name(),
+                    e.getAtor(),
+                    ocorridoEm
+            });
+            linhasOutbox.add(new Object[]{
+                    e.getViagemId(),
+                    e.getPontoId(),
+                    e.getMotoristaId(),
+                    e.getTipo().name(),
+                    ocorridoEm,
+                    criadoEm
+            });
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERT, linhas, TIPOS);
+        jdbcTemplate.batchUpdate(SQL_INSERT_OUTBOX, linhasOutbox, TIPOS_OUTBOX);
+        rollupViagensDiario.acumular(eventos);
+    }
+
+    // caches em memória derivados das viagens (ex.: GeofenceViagens) se invalidam por este evento
+    private void publicarAlteracoes(List<EventoViagem> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        Set<Long> viagemIds = new HashSet<>();
+        Set<Long> motoristaIds = new HashSet<>();
+        for (EventoViagem e : eventos) {
+            viagemIds.add(e.getViagemId());
+            motoristaIds.add(e.getMotoristaId());
+        }
+        eventPublisher.publishEvent(new ViagensAlteradasEvent(viagemIds, motoristaIds));
+    }
+
+    private static String atorAtual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null && autenticacao.isAuthenticated() ? autenticacao.getName() : "sistema";
+    }
+}
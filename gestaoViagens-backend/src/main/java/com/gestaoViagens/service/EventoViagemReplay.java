@@ -0,0 +1,69 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.ViagemHistoricoResponse;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.entity.EventoViagem;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reconstrói o estado de uma viagem e o intervalo entre visitas apenas a partir do
+ * histórico de eventos, sem ler viagens/pontos_rota.
+ */
+@Component
+public class EventoViagemReplay {
+
+    // "eventos" deve vir na ordem em que ocorreram
+    public ViagemHistoricoResponse reconstruir(Long viagemId, List<EventoViagem> eventos) {
+        StatusViagem status = null;
+        LocalDateTime dataCriacao = null;
+        LocalDateTime dataInicio = null;
+        LocalDateTime dataFim = null;
+        LocalDateTime referencia = null;
+        List<ViagemHistoricoResponse.VisitaPonto> visitas = new ArrayList<>();
+
+        for (EventoViagem e : eventos) {
+            switch (e.getTipo()) {
+                case VIAGEM_CRIADA -> {
+                    status = StatusViagem.PLANEJADA;
+                    dataCriacao = e.getOcorridoEm();
+                }
+                case VIAGEM_INICIADA -> {
+                    status = StatusViagem.EM_ANDAMENTO;
+                    dataInicio = e.getOcorridoEm();
+                    referencia = e.getOcorridoEm();
+                }
+                case PONTO_VISITADO -> {
+                    Long segundos = referencia != null
+                            ? Duration.between(referencia, e.getOcorridoEm()).toSeconds()
+                            : null;
+                    visitas.add(new ViagemHistoricoResponse.VisitaPonto(
+                            e.getPontoId(),
+                            e.getOcorridoEm(),
+                            e.getAtor(),
+                            segundos
+                    ));
+                    referencia = e.getOcorridoEm();
+                }
+                case VIAGEM_CONCLUIDA -> {
+                    status = StatusViagem.CONCLUIDA;
+                    dataFim = e.getOcorridoEm();
+                }
+            }
+        }
+
+        return new ViagemHistoricoResponse(
+                viagemId,
+                status,
+                dataCriacao,
+                dataInicio,
+                dataFim,
+                eventos.size(),
+                visitas
+        );
+    }
+}
@@ -0,0 +1,9 @@
+package com.gestaoViagens.service;
+
+import java.util.List;
+
+// lote do outbox repassado pelo BrokerLocalEventosViagem; pode chegar de novo (ver outboxId)
+public record EventosViagemEntreguesEvent(
+        List<EventoViagemPublicado> eventos
+) {
+}
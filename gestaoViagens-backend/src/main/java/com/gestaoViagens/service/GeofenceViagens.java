@@ -0,0 +1,161 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.ENUM.StatusPontoRota;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.entity.Local;
+import com.gestaoViagens.entity.PontoRota;
+import com.gestaoViagens.entity.Viagem;
+import com.gestaoViagens.repository.ViagemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Visita automaticamente o próximo ponto pendente da viagem quando o motorista entra
+ * no raio configurado. A cerca de cada motorista (pontos pendentes em ordem, já com as
+ * constantes da conversão para metros) fica em memória, então cada posição é verificada
+ * contra um único ponto, sem consultar o banco.
+ */
+@Component
+public class GeofenceViagens {
+
+    private static final Logger log = LoggerFactory.getLogger(GeofenceViagens.class);
+
+    private static final double METROS_POR_GRAU = 111_320.0;
+
+    private static final Comparator<Viagem> PRIORIDADE = Comparator
+            .comparing((Viagem v) -> v.getStatus() != StatusViagem.EM_ANDAMENTO)
+            .thenComparing(Viagem::getDataCriacao);
+
+    private static final class Cerca {
+        private final Long viagemId;
+        private final long[] pontoIds;
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final double[] metrosPorGrauLongitude;
+        private final long criadaEmNanos = System.nanoTime();
+        // índice do próximo ponto pendente; avança por CAS para a visita disparar uma única vez
+        private final AtomicInteger proximo = new AtomicInteger();
+
+        private Cerca(Long viagemId, List<PontoRota> pendentes) {
+            int n = pendentes.size();
+            this.viagemId = viagemId;
+            this.pontoIds = new long[n];
+            this.latitudes = new double[n];
+            this.longitudes = new double[n];
+            this.metrosPorGrauLongitude = new double[n];
+            for (int i = 0; i < n; i++) {
+                Local local = pendentes.get(i).getLocal();
+                pontoIds[i] = pendentes.get(i).getId();
+                latitudes[i] = local.getLatitude();
+                longitudes[i] = local.getLongitude();
+                metrosPorGrauLongitude[i] = METROS_POR_GRAU * Math.cos(Math.toRadians(local.getLatitude()));
+            }
+        }
+
+        // aproximação equirretangular: suficiente para raios de algumas centenas de metros
+        private boolean contem(int i, double latitude, double longitude, double raioAoQuadrado) {
+            double dy = (latitude - latitudes[i]) * METROS_POR_GRAU;
+            double dx = (longitude - longitudes[i]) * metrosPorGrauLongitude[i];
+            return dx * dx + dy * dy <= raioAoQuadrado;
+        }
+    }
+
+    // motorista sem viagem planejada/em andamento: evita consultar o banco a cada posição
+    private static final Cerca SEM_VIAGEM = new Cerca(null, List.of());
+
+    private final ViagemRepository viagemRepository;
+    private final ViagemService viagemService;
+    private final boolean habilitado;
+    private final double raioAoQuadrado;
+    private final long validadeNanos;
+
+    private final ConcurrentHashMap<Long, Cerca> cercasPorMotorista = new ConcurrentHashMap<>();
+    // incrementada a cada invalidação; uma cerca montada durante uma invalidação é descartada
+    private final AtomicLong geracao = new AtomicLong();
+
+    public GeofenceViagens(ViagemRepository viagemRepository,
+                           ViagemService viagemService,
+                           @Value("${app.geofence.habilitado:true}") boolean habilitado,
+                           @Value("${app.geofence.raio-metros:100}") double raioMetros,
+                           @Value("${app.geofence.validade-segundos:300}") long validadeSegundos) {
+        this.viagemRepository = viagemRepository;
+        this.viagemService = viagemService;
+        this.habilitado = habilitado;
+        this.raioAoQuadrado = raioMetros * raioMetros;
+        this.validadeNanos = validadeSegundos * 1_000_000_000L;
+    }
+
+    public void verificar(PosicoesIngestao.Posicao posicao) {
+        if (!habilitado) {
+            return;
+        }
+
+        Cerca cerca = cercaDoMotorista(posicao.motoristaId());
+        int indice = cerca.proximo.get();
+        if (indice >= cerca.pontoIds.length
+                || !cerca.contem(indice, posicao.latitude(), posicao.longitude(), raioAoQuadrado)
+                || !cerca.proximo.compareAndSet(indice, indice + 1)) {
+            return;
+        }
+
+        try {
+            viagemService.marcarPontoComoVisitadoPorGeofence(
+                    cerca.viagemId,
+                    cerca.pontoIds[indice],
+                    posicao.motoristaId(),
+                    posicao.registradoEm()
+            );
+        } catch (RuntimeException e) {
+            log.warn("Falha na visita automática do ponto {} da viagem {}", cerca.pontoIds[indice], cerca.viagemId, e);
+            invalidar(posicao.motoristaId());
+        }
+    }
+
+    @EventListener
+    public void aoAlterarViagens(ViagensAlteradasEvent evento) {
+        evento.motoristaIds().forEach(this::invalidar);
+    }
+
+    private void invalidar(Long motoristaId) {
+        geracao.incrementAndGet();
+        cercasPorMotorista.remove(motoristaId);
+    }
+
+    private Cerca cercaDoMotorista(Long motoristaId) {
+        Cerca cerca = cercasPorMotorista.get(motoristaId);
+        if (cerca != null && System.nanoTime() - cerca.criadaEmNanos < validadeNanos) {
+            return cerca;
+        }
+
+        long geracaoInicial = geracao.get();
+        Cerca nova = montar(motoristaId);
+        if (geracao.get() == geracaoInicial) {
+            cercasPorMotorista.put(motoristaId, nova);
+        }
+        return nova;
+    }
+
+    private Cerca montar(Long motoristaId) {
+        List<Viagem> viagens = viagemRepository.findComPontosPorMotoristaEStatus(
+                motoristaId, List.of(StatusViagem.EM_ANDAMENTO, StatusViagem.PLANEJADA));
+
+        // prefere a viagem em andamento; senão, a planejada mais antiga
+        return viagens.stream()
+                .min(PRIORIDADE)
+                .map(v -> new Cerca(v.getId(), v.getPontos().stream()
+                        .filter(p -> p.getStatus() == StatusPontoRota.PENDENTE)
+                        .filter(p -> p.getLocal().getLatitude() != null && p.getLocal().getLongitude() != null)
+                        .sorted(Comparator.comparing(PontoRota::getOrdem))
+                        .toList()))
+                .orElse(SEM_VIAGEM);
+    }
+}
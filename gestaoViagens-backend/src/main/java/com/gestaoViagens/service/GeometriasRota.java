@@ -0,0 +1,113 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.ParadaRota;
+import com.gestaoViagens.DTO.RotaGeometriaResponse;
+import com.gestaoViagens.DTO.VersaoViagem;
+import com.gestaoViagens.entity.GeometriaRota;
+import com.gestaoViagens.repository.GeometriaRotaRepository;
+import com.gestaoViagens.repository.PontoRotaRepository;
+import com.gestaoViagens.repository.ViagemRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Traçado das rotas em encoded polyline, guardado em geometrias_rota pela sequência de
+ * local_id: viagens com os mesmos locais na mesma ordem reaproveitam a mesma linha, e o
+ * provedor só é chamado na primeira vez. Se as coordenadas de algum local ou o provedor
+ * mudarem, a assinatura não confere e o traçado é refeito na próxima leitura.
+ */
+@Component
+public class GeometriasRota {
+
+    private final ViagemRepository viagemRepository;
+    private final PontoRotaRepository pontoRotaRepository;
+    private final GeometriaRotaRepository geometriaRotaRepository;
+    private final ProvedorGeometriaRota provedor;
+
+    public GeometriasRota(ViagemRepository viagemRepository,
+                          PontoRotaRepository pontoRotaRepository,
+                          GeometriaRotaRepository geometriaRotaRepository,
+                          List<ProvedorGeometriaRota> provedores,
+                          @Value("${app.rotas.provedor:" + ProvedorGeometriaLinhaReta.NOME + "}") String nomeProvedor) {
+        this.viagemRepository = viagemRepository;
+        this.pontoRotaRepository = pontoRotaRepository;
+        this.geometriaRotaRepository = geometriaRotaRepository;
+        this.provedor = provedores.stream()
+                .filter(candidato -> candidato.nome().equals(nomeProvedor))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Provedor de rotas desconhecido: " + nomeProvedor));
+    }
+
+    // emailMotorista nulo: admin, sem checagem de dono
+    public RotaGeometriaResponse geometriaDaViagem(Long viagemId, String emailMotorista) {
+        VersaoViagem viagem = viagemRepository.buscarVersao(viagemId)
+                .orElseThrow(() -> new IllegalArgumentException("Viagem não encontrada"));
+        if (emailMotorista != null && !emailMotorista.equals(viagem.motoristaEmail())) {
+            throw new IllegalArgumentException("Viagem não pertence ao motorista");
+        }
+
+        GeometriaRota geometria = geometria(pontoRotaRepository.listarParadas(viagemId));
+        return new RotaGeometriaResponse(
+                viagemId,
+                geometria.getPolyline(),
+                geometria.getProvedor(),
+                geometria.getPontos(),
+                geometria.getGeradaEm()
+        );
+    }
+
+    GeometriaRota geometria(List<ParadaRota> paradas) {
+        String locais = paradas.stream()
+                .map(parada -> parada.localId().toString())
+                .collect(Collectors.joining(","));
+        String chave = sha256(locais);
+
+        // locais sem coordenadas ficam fora do traçado
+        List<double[]> coordenadas = paradas.stream()
+                .filter(parada -> parada.latitude() != null && parada.longitude() != null)
+                .map(parada -> new double[]{parada.latitude(), parada.longitude()})
+                .toList();
+        String assinatura = sha256(provedor.nome() + ":" + CodificadorPolyline.codificar(coordenadas));
+
+        Optional<GeometriaRota> existente = geometriaRotaRepository.findById(chave);
+        if (existente.isPresent() && assinatura.equals(existente.get().getAssinatura())) {
+            return existente.get();
+        }
+
+        List<double[]> tracado = provedor.tracar(coordenadas);
+        GeometriaRota geometria = existente.orElseGet(() -> GeometriaRota.builder()
+                .chave(chave)
+                .locais(locais)
+                .build());
+        geometria.setPolyline(CodificadorPolyline.codificar(tracado));
+        geometria.setProvedor(provedor.nome());
+        geometria.setAssinatura(assinatura);
+        geometria.setPontos(tracado.size());
+        geometria.setGeradaEm(LocalDateTime.now());
+        try {
+            return geometriaRotaRepository.save(geometria);
+        } catch (DataIntegrityViolationException e) {
+            // outra requisição gravou a mesma sequência ao mesmo tempo
+            return geometriaRotaRepository.findById(chave).orElseThrow(() -> e);
+        }
+    }
+
+    private static String sha256(String texto) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(texto.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.gestaoViagens.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestaoViagens.DTO.ImportacaoLocaisResponse;
+import com.gestaoViagens.DTO.LocalRequest;
+import com.gestaoViagens.entity.Local;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Importação em lote de locais (CSV ou array JSON). A entrada é lida em streaming e
+ * processada em lotes de app.locais.importacao.tamanho-lote: cada lote consulta os locais
+ * existentes pelo hash do endereço normalizado e grava os novos num único batch JDBC.
+ * Mesmo endereço normalizado é duplicata, a menos que as coordenadas dos dois estejam a
+ * mais de app.locais.importacao.raio-duplicata-metros (mesma rua e número em outra cidade).
+ */
+@Component
+public class ImportacaoLocais {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoLocais.class);
+
+    private static final double METROS_POR_GRAU = 111_320.0;
+    private static final int MAX_REJEICOES = 100;
+    private static final int TAMANHO_MAXIMO = 255;
+
+    private static final String SQL_INSERT = """
+            INSERT INTO locais (nome, endereco, endereco_hash, latitude, longitude, observacoes, ativo)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final int[] TIPOS = {
+            Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.DOUBLE, Types.DOUBLE, Types.VARCHAR, Types.BOOLEAN
+    };
+
+    private record Candidato(int linha, LocalRequest local, String hash) {
+    }
+
+    // latitude/longitude nulas: local sem coordenadas
+    private record Coordenada(Double latitude, Double longitude) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final AgrupamentoLocais agrupamentoLocais;
+    private final int tamanhoLote;
+    private final double raioDuplicataMetros;
+
+    public ImportacaoLocais(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            EntityManagerFactory entityManagerFactory,
+                            AgrupamentoLocais agrupamentoLocais,
+                            @Value("${app.locais.importacao.tamanho-lote:500}") int tamanhoLote,
+                            @Value("${app.locais.importacao.raio-duplicata-metros:300}") double raioDuplicataMetros) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.agrupamentoLocais = agrupamentoLocais;
+        this.tamanhoLote = tamanhoLote;
+        this.raioDuplicataMetros = raioDuplicataMetros;
+    }
+
+    // CSV com cabeçalho (nome, endereco, latitude, longitude, observacoes), separado por vírgula ou ponto e vírgula
+    public ImportacaoLocaisResponse importarCsv(InputStream entrada) throws IOException {
+        Importacao importacao = iniciar();
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8))) {
+            String cabecalho = leitor.readLine();
+            if (cabecalho == null) {
+                return importacao.concluir();
+            }
+            cabecalho = cabecalho.replace("\uFEFF", "");
+            char separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+            List<String> colunas = campos(cabecalho, separador).stream()
+                    .map(coluna -> coluna.toLowerCase(Locale.ROOT))
+                    .toList();
+            int nome = colunas.indexOf("nome");
+            int endereco = colunas.indexOf("endereco");
+            if (nome < 0 || endereco < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O CSV precisa das colunas nome e endereco");
+            }
+            int latitude = colunas.indexOf("latitude");
+            int longitude = colunas.indexOf("longitude");
+            int observacoes = colunas.indexOf("observacoes");
+
+            int linha = 1;
+            String texto;
+            while ((texto = leitor.readLine()) != null) {
+                linha++;
+                if (texto.isBlank()) {
+                    continue;
+                }
+                List<String> valores = campos(texto, separador);
+                LocalRequest local;
+                try {
+                    local = new LocalRequest(
+                            valor(valores, nome),
+                            valor(valores, endereco),
+                            coordenada(valor(valores, latitude)),
+                            coordenada(valor(valores, longitude)),
+                            valor(valores, observacoes)
+                    );
+                } catch (NumberFormatException e) {
+                    importacao.invalido(linha, "coordenada inválida");
+                    continue;
+                }
+                importacao.adicionar(linha, local);
+            }
+        }
+        return importacao.concluir();
+    }
+
+    // array JSON de objetos no formato de LocalRequest, lido item a item
+    public ImportacaoLocaisResponse importarJson(InputStream entrada) throws IOException {
+        Importacao importacao = iniciar();
+        try (MappingIterator<LocalRequest> itens = objectMapper.readerFor(LocalRequest.class).readValues(entrada)) {
+            int posicao = 0;
+            while (itens.hasNextValue()) {
+                posicao++;
+                LocalRequest local;
+                try {
+                    local = itens.nextValue();
+                } catch (JsonMappingException e) {
+                    // item com tipo errado: o iterador pula para o próximo
+                    importacao.invalido(posicao, "item inválido");
+                    continue;
+                }
+                importacao.adicionar(posicao, local);
+            }
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "JSON malformado: " + e.getOriginalMessage());
+        }
+        return importacao.concluir();
+    }
+
+    private Importacao iniciar() {
+        preencherHashesPendentes();
+        return new Importacao();
+    }
+
+    // locais gravados antes da coluna endereco_hash (ou pelo seed) entram na deduplicação
+    private void preencherHashesPendentes() {
+        int preenchidos = 0;
+        while (true) {
+            List<Object[]> pendentes = jdbcTemplate.query(
+                    "SELECT id, endereco FROM locais WHERE endereco_hash IS NULL LIMIT ?",
+                    (rs, i) -> new Object[]{NormalizadorEndereco.hash(rs.getString("endereco")), rs.getLong("id")},
+                    tamanhoLote);
+            if (pendentes.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate("UPDATE locais SET endereco_hash = ? WHERE id = ?", pendentes));
+            preenchidos += pendentes.size();
+        }
+        if (preenchidos > 0) {
+            // o cache de segundo nível ainda tem esses locais sem o hash
+            entityManagerFactory.getCache().evict(Local.class);
+            log.info("Hash de endereço preenchido em {} locais existentes", preenchidos);
+        }
+    }
+
+    private final class Importacao {
+        private final List<Candidato> lote = new ArrayList<>(tamanhoLote);
+        // por hash: locais já existentes e os criados nesta importação
+        private final Map<String, List<Coordenada>> conhecidos = new HashMap<>();
+        private final List<ImportacaoLocaisResponse.Rejeicao> rejeicoes = new ArrayList<>();
+        private int criados;
+        private int duplicados;
+        private int invalidos;
+
+        private void adicionar(int linha, LocalRequest local) {
+            String motivo = validar(local);
+            if (motivo != null) {
+                invalido(linha, motivo);
+                return;
+            }
+            lote.add(new Candidato(linha, local, NormalizadorEndereco.hash(local.endereco())));
+            if (lote.size() >= tamanhoLote) {
+                gravarLote();
+            }
+        }
+
+        private void invalido(int linha, String motivo) {
+            invalidos++;
+            rejeitar(linha, motivo);
+        }
+
+        private ImportacaoLocaisResponse concluir() {
+            if (!lote.isEmpty()) {
+                gravarLote();
+            }
+            if (criados > 0) {
+                // um evento por local seria mais caro que refazer a grade do mapa de uma vez
+                agrupamentoLocais.reconstruir();
+                eventPublisher.publishEvent(new CadastroAlteradoEvent(Local.class));
+            }
+            log.info("Importação de locais: {} criados, {} duplicados, {} inválidos", criados, duplicados, invalidos);
+            return new ImportacaoLocaisResponse(criados, duplicados, invalidos, List.copyOf(rejeicoes));
+        }
+
+        private void gravarLote() {
+            carregarExistentes();
+
+            List<Object[]> novos = new ArrayList<>(lote.size());
+            for (Candidato candidato : lote) {
+                LocalRequest local = candidato.local();
+                List<Coordenada> mesmoEndereco = conhecidos.computeIfAbsent(candidato.hash(), h -> new ArrayList<>());
+                if (duplicado(mesmoEndereco, local.latitude(), local.longitude())) {
+                    duplicados++;
+                    rejeitar(candidato.linha(), "endereço já cadastrado");
+                    continue;
+                }
+                mesmoEndereco.add(new Coordenada(local.latitude(), local.longitude()));
+                novos.add(new Object[]{
+                        local.nome().trim(),
+                        local.endereco().trim(),
+                        candidato.hash(),
+                        local.latitude(),
+                        local.longitude(),
+                        local.observacoes(),
+                        true
+                });
+            }
+
+            if (!novos.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(SQL_INSERT, novos, TIPOS));
+                criados += novos.size();
+            }
+            lote.clear();
+        }
+
+        // uma consulta por lote, só para os hashes ainda não vistos nesta importação
+        private void carregarExistentes() {
+            List<String> hashes = lote.stream()
+                    .map(Candidato::hash)
+                    .distinct()
+                    .filter(hash -> !conhecidos.containsKey(hash))
+                    .toList();
+            if (hashes.isEmpty()) {
+                return;
+            }
+            for (String hash : hashes) {
+                conhecidos.put(hash, new ArrayList<>());
+            }
+            String marcadores = String.join(", ", Collections.nCopies(hashes.size(), "?"));
+            jdbcTemplate.query(
+                    "SELECT endereco_hash, latitude, longitude FROM locais WHERE endereco_hash IN (" + marcadores + ")",
+                    rs -> {
+                        conhecidos.get(rs.getString("endereco_hash")).add(new Coordenada(
+                                rs.getObject("latitude", Double.class),
+                                rs.getObject("longitude", Double.class)));
+                    },
+                    hashes.toArray());
+        }
+
+        private void rejeitar(int linha, String motivo) {
+            if (rejeicoes.size() < MAX_REJEICOES) {
+                rejeicoes.add(new ImportacaoLocaisResponse.Rejeicao(linha, motivo));
+            }
+        }
+    }
+
+    // mesmo endereço normalizado: duplicata, salvo quando os dois têm coordenadas distantes
+    private boolean duplicado(List<Coordenada> mesmoEndereco, Double latitude, Double longitude) {
+        for (Coordenada existente : mesmoEndereco) {
+            if (latitude == null || existente.latitude() == null) {
+                return true;
+            }
+            double dy = (latitude - existente.latitude()) * METROS_POR_GRAU;
+            double dx = (longitude - existente.longitude()) * METROS_POR_GRAU * Math.cos(Math.toRadians(latitude));
+            if (dx * dx + dy * dy <= raioDuplicataMetros * raioDuplicataMetros) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String validar(LocalRequest local) {
+        if (local == null || local.nome() == null || local.nome().isBlank()) {
+            return "nome obrigatório";
+        }
+        if (local.endereco() == null || NormalizadorEndereco.normalizar(local.endereco()).isEmpty()) {
+            return "endereço obrigatório";
+        }
+        if (local.nome().trim().length() > TAMANHO_MAXIMO || local.endereco().trim().length() > TAMANHO_MAXIMO) {
+            return "nome ou endereço com mais de " + TAMANHO_MAXIMO + " caracteres";
+        }
+        if (local.observacoes() != null && local.observacoes().length() > 1000) {
+            return "observações com mais de 1000 caracteres";
+        }
+        if ((local.latitude() == null) != (local.longitude() == null)) {
+            return "latitude e longitude devem vir juntas";
+        }
+        if (local.latitude() != null
+                && (Math.abs(local.latitude()) > 90 || Math.abs(local.longitude()) > 180)) {
+            return "coordenada fora do intervalo";
+        }
+        return null;
+    }
+
+    // campos de uma linha CSV; aspas duplas delimitam valores com separador ("" escapa a aspa)
+    static List<String> campos(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(atual.toString().trim());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString().trim());
+        return campos;
+    }
+
+    private static String valor(List<String> valores, int indice) {
+        if (indice < 0 || indice >= valores.size() || valores.get(indice).isEmpty()) {
+            return null;
+        }
+        return valores.get(indice);
+    }
+
+    // aceita vírgula decimal (CSV do Excel em pt-BR, separado por ponto e vírgula)
+    private static Double coordenada(String valor) {
+        return valor == null ? null : Double.valueOf(valor.replace(',', '.'));
+    }
+}
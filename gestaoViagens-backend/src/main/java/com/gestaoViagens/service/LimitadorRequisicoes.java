@@ -0,0 +1,145 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.LimiteRequisicoesEstatisticaResponse;
+import com.gestaoViagens.ENUM.ClasseEndpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controle de admissão das rotas /api. Cada usuário tem um balde por classe de rota
+ * (taxa por segundo e rajada), implementado como GCRA: o estado é só o instante teórico
+ * da próxima chegada, avançado por CAS, sem lock. As rotas pesadas ainda disputam um
+ * número fixo de vagas simultâneas, compartilhado por todos os usuários.
+ */
+@Component
+public class LimitadorRequisicoes {
+
+    public record Admissao(boolean permitida, long esperaNanos) {
+
+        private static final Admissao PERMITIDA = new Admissao(true, 0);
+
+        // valor do header Retry-After (segundos inteiros, arredondado para cima)
+        public long esperaSegundos() {
+            return Math.max(1, (esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private record Chave(String usuario, ClasseEndpoint classe) {
+    }
+
+    // intervalo entre requisições na taxa sustentada e quanto se pode adiantar (rajada)
+    private record Taxa(long intervaloNanos, long toleranciaNanos) {
+
+        static Taxa de(double porSegundo, int rajada) {
+            long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / porSegundo);
+            return new Taxa(intervalo, intervalo * Math.max(1, rajada));
+        }
+    }
+
+    private final boolean habilitado;
+    private final Map<ClasseEndpoint, Taxa> taxas = new EnumMap<>(ClasseEndpoint.class);
+    private final int maxPesadasConcorrentes;
+    private final Semaphore vagasPesadas;
+    private final long ociosidadeNanos;
+
+    private final ConcurrentHashMap<Chave, AtomicLong> baldes = new ConcurrentHashMap<>();
+    private final AtomicLong permitidas = new AtomicLong();
+    private final AtomicLong rejeitadasPorTaxa = new AtomicLong();
+    private final AtomicLong rejeitadasPorConcorrencia = new AtomicLong();
+
+    public LimitadorRequisicoes(@Value("${app.limites.habilitado:true}") boolean habilitado,
+                                @Value("${app.limites.leitura.taxa-por-segundo:20}") double taxaLeitura,
+                                @Value("${app.limites.leitura.rajada:40}") int rajadaLeitura,
+                                @Value("${app.limites.escrita.taxa-por-segundo:5}") double taxaEscrita,
+                                @Value("${app.limites.escrita.rajada:20}") int rajadaEscrita,
+                                @Value("${app.limites.posicoes.taxa-por-segundo:5}") double taxaPosicoes,
+                                @Value("${app.limites.posicoes.rajada:30}") int rajadaPosicoes,
+                                @Value("${app.limites.pesada.taxa-por-segundo:1}") double taxaPesada,
+                                @Value("${app.limites.pesada.rajada:5}") int rajadaPesada,
+                                @Value("${app.limites.pesada.max-concorrentes:4}") int maxPesadasConcorrentes,
+                                @Value("${app.limites.ociosidade-segundos:600}") long ociosidadeSegundos) {
+        this.habilitado = habilitado;
+        taxas.put(ClasseEndpoint.LEITURA, Taxa.de(taxaLeitura, rajadaLeitura));
+        taxas.put(ClasseEndpoint.ESCRITA, Taxa.de(taxaEscrita, rajadaEscrita));
+        taxas.put(ClasseEndpoint.POSICOES, Taxa.de(taxaPosicoes, rajadaPosicoes));
+        taxas.put(ClasseEndpoint.PESADA, Taxa.de(taxaPesada, rajadaPesada));
+        this.maxPesadasConcorrentes = maxPesadasConcorrentes;
+        this.vagasPesadas = new Semaphore(maxPesadasConcorrentes);
+        this.ociosidadeNanos = TimeUnit.SECONDS.toNanos(ociosidadeSegundos);
+    }
+
+    public boolean habilitado() {
+        return habilitado;
+    }
+
+    public Admissao admitir(String usuario, ClasseEndpoint classe) {
+        return admitir(usuario, classe, System.nanoTime());
+    }
+
+    Admissao admitir(String usuario, ClasseEndpoint classe, long agora) {
+        Taxa taxa = taxas.get(classe);
+        AtomicLong proximaChegada = baldes.computeIfAbsent(new Chave(usuario, classe), c -> new AtomicLong(agora));
+
+        while (true) {
+            long atual = proximaChegada.get();
+            long nova = Math.max(atual, agora) + taxa.intervaloNanos();
+            long adiantamento = nova - agora;
+            if (adiantamento > taxa.toleranciaNanos()) {
+                rejeitadasPorTaxa.incrementAndGet();
+                return new Admissao(false, adiantamento - taxa.toleranciaNanos());
+            }
+            if (proximaChegada.compareAndSet(atual, nova)) {
+                permitidas.incrementAndGet();
+                return Admissao.PERMITIDA;
+            }
+        }
+    }
+
+    // vaga entre as requisições pesadas em execução; quem recebe true deve chamar liberarPesada
+    public boolean ocuparPesada() {
+        if (vagasPesadas.tryAcquire()) {
+            return true;
+        }
+        rejeitadasPorConcorrencia.incrementAndGet();
+        return false;
+    }
+
+    public void liberarPesada() {
+        vagasPesadas.release();
+    }
+
+    @Scheduled(fixedDelayString = "${app.limites.intervalo-limpeza-ms:60000}")
+    public void removerOciosos() {
+        removerOciosos(System.nanoTime());
+    }
+
+    /*
+     * Um balde cuja próxima chegada ficou no passado está cheio: removê-lo equivale a recriá-lo
+     * na próxima requisição. Se uma requisição concorrente já tinha pego o balde removido,
+     * só ela é contada nele.
+     */
+    int removerOciosos(long agora) {
+        int antes = baldes.size();
+        baldes.values().removeIf(proximaChegada -> agora - proximaChegada.get() > ociosidadeNanos);
+        return antes - baldes.size();
+    }
+
+    public LimiteRequisicoesEstatisticaResponse estatisticas() {
+        return new LimiteRequisicoesEstatisticaResponse(
+                permitidas.get(),
+                rejeitadasPorTaxa.get(),
+                rejeitadasPorConcorrencia.get(),
+                baldes.size(),
+                maxPesadasConcorrentes - vagasPesadas.availablePermits(),
+                maxPesadasConcorrentes
+        );
+    }
+}
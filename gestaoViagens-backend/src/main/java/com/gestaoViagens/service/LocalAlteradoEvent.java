@@ -0,0 +1,11 @@
+package com.gestaoViagens.service;
+
+// estado de um local depois de criado, editado, ativado ou desativado; ouvintes reagem após o commit
+public record LocalAlteradoEvent(
+        Long id,
+        String nome,
+        Double latitude,
+        Double longitude,
+        boolean ativo
+) {
+}
@@ -5,8 +5,10 @@ import com.gestaoViagens.DTO.LocalResponse;
 import com.gestaoViagens.entity.Local;
 import com.gestaoViagens.repository.LocalRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -16,23 +18,28 @@ import java.util.List;
 public class LocalService {
 
     private final LocalRepository localRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional(readOnly = true)
     public List<LocalResponse> listarAtivos() {
         return localRepository.findByAtivoTrue().stream()
                 .map(this::toResponse)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<LocalResponse> listarTodos() {
         return localRepository.findAll().stream()
                 .map(this::toResponse)
                 .toList();
     }
 
+    @Transactional
     public LocalResponse criar(LocalRequest request) {
         Local local = Local.builder()
                 .nome(request.nome())
                 .endereco(request.endereco())
+                .enderecoHash(NormalizadorEndereco.hash(request.endereco()))
                 .latitude(request.latitude())
                 .longitude(request.longitude())
                 .observacoes(request.observacoes())
@@ -40,37 +47,56 @@ public class LocalService {
                 .build();
 
         Local salvo = localRepository.save(local);
+        publicarAlteracao(salvo);
         return toResponse(salvo);
     }
 
+    @Transactional
     public LocalResponse atualizar(Long id, LocalRequest request) {
         Local local = localRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Local não encontrado"));
 
         local.setNome(request.nome());
         local.setEndereco(request.endereco());
+        local.setEnderecoHash(NormalizadorEndereco.hash(request.endereco()));
         local.setLatitude(request.latitude());
         local.setLongitude(request.longitude());
         local.setObservacoes(request.observacoes());
 
         Local salvo = localRepository.save(local);
+        publicarAlteracao(salvo);
         return toResponse(salvo);
     }
 
+    @Transactional
     public void desativar(Long id) {
         Local local = localRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Local não encontrado"));
 
         local.setAtivo(false);
         localRepository.save(local);
+        publicarAlteracao(local);
     }
 
+    @Transactional
     public void ativar(Long id) {
         Local local = localRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Local não encontrado"));
 
         local.setAtivo(true);
         localRepository.save(local);
+        publicarAlteracao(local);
+    }
+
+    private void publicarAlteracao(Local local) {
+        eventPublisher.publishEvent(new CadastroAlteradoEvent(Local.class));
+        eventPublisher.publishEvent(new LocalAlteradoEvent(
+                local.getId(),
+                local.getNome(),
+                local.getLatitude(),
+                local.getLongitude(),
+                local.isAtivo()
+        ));
     }
 
     private LocalResponse toResponse(Local local) {
@@ -0,0 +1,71 @@
+package com.gestaoViagens.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Forma canônica de um endereço para detectar duplicatas: sem acentos, minúsculo, sem
+ * pontuação e com as abreviações de logradouro mais comuns expandidas
+ * ("R. XV de Novembro, nº 100" e "rua xv de novembro 100" ficam iguais).
+ */
+final class NormalizadorEndereco {
+
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+    private static final Pattern NUMERO = Pattern.compile("\\bn\\s*[º°o.]+\\s*(?=\\d)");
+    private static final Pattern NAO_ALFANUMERICO = Pattern.compile("[^a-z0-9]+");
+
+    private static final Map<String, String> ABREVIACOES = Map.ofEntries(
+            Map.entry("r", "rua"),
+            Map.entry("av", "avenida"),
+            Map.entry("al", "alameda"),
+            Map.entry("rod", "rodovia"),
+            Map.entry("est", "estrada"),
+            Map.entry("tv", "travessa"),
+            Map.entry("trav", "travessa"),
+            Map.entry("pc", "praca"),
+            Map.entry("pca", "praca"),
+            Map.entry("lgo", "largo")
+    );
+
+    private NormalizadorEndereco() {
+    }
+
+    static String normalizar(String endereco) {
+        if (endereco == null) {
+            return "";
+        }
+        String semAcento = DIACRITICOS.matcher(Normalizer.normalize(endereco, Normalizer.Form.NFD)).replaceAll("");
+        String minusculo = semAcento.toLowerCase(Locale.ROOT);
+        String semNumero = NUMERO.matcher(minusculo).replaceAll(" ");
+        String[] palavras = NAO_ALFANUMERICO.matcher(semNumero).replaceAll(" ").trim().split(" ");
+
+        StringBuilder normalizado = new StringBuilder(endereco.length());
+        for (String palavra : palavras) {
+            if (palavra.isEmpty()) {
+                continue;
+            }
+            if (!normalizado.isEmpty()) {
+                normalizado.append(' ');
+            }
+            normalizado.append(ABREVIACOES.getOrDefault(palavra, palavra));
+        }
+        return normalizado.toString();
+    }
+
+    // SHA-256 (hex) do endereço normalizado; coluna locais.endereco_hash
+    static String hash(String endereco) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] digest = sha256.digest(normalizar(endereco).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+}
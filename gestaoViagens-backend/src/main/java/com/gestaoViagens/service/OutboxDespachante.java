@@ -0,0 +1,248 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.OutboxEstatisticaResponse;
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lê em lotes os eventos pendentes do outbox e entrega aos {@link OuvinteEventosViagem}.
+ * Um evento só é marcado como entregue depois que todos os ouvintes o aceitaram. Se um
+ * evento falhar, os eventos seguintes da mesma viagem esperam (com espera exponencial)
+ * para não serem entregues fora de ordem; as demais viagens seguem normalmente.
+ * Sem nenhum ouvinte registrado os eventos ficam pendentes, para não serem dados como entregues.
+ * Pensado para um único despachante por instância.
+ */
+@Component
+public class OutboxDespachante {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDespachante.class);
+
+    private static final String SQL_PENDENTES = """
+            SELECT id, viagem_id, ponto_id, motorista_id, tipo, ocorrido_em, criado_em, tentativas
+            FROM outbox_eventos
+            WHERE entregue_em IS NULL AND falhou_em IS NULL%s
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String SQL_MARCAR_ENTREGUE = "UPDATE outbox_eventos SET entregue_em = ? WHERE id = ?";
+
+    // falhou_em vem antes de tentativas no SET: o MySQL aplica as atribuições da esquerda para a direita
+    private static final String SQL_REGISTRAR_FALHA = """
+            UPDATE outbox_eventos
+            SET falhou_em = CASE WHEN tentativas + 1 >= ? THEN ? ELSE NULL END,
+                ultimo_erro = ?,
+                tentativas = tentativas + 1
+            WHERE id = ?
+            """;
+
+    private static final String SQL_RESUMO_PENDENTES = """
+            SELECT COUNT(*), MIN(criado_em)
+            FROM outbox_eventos
+            WHERE entregue_em IS NULL AND falhou_em IS NULL
+            """;
+
+    private static final String SQL_REMOVER_ENTREGUES = "DELETE FROM outbox_eventos WHERE entregue_em < ?";
+
+    private record Pendente(EventoViagemPublicado evento, LocalDateTime criadoEm, int tentativas) {
+    }
+
+    private static final RowMapper<Pendente> MAPPER = (rs, i) -> new Pendente(
+            new EventoViagemPublicado(
+                    rs.getLong("id"),
+                    rs.getLong("viagem_id"),
+                    rs.getObject("ponto_id", Long.class),
+                    rs.getLong("motorista_id"),
+                    TipoEventoViagem.valueOf(rs.getString("tipo")),
+                    rs.getTimestamp("ocorrido_em").toLocalDateTime()
+            ),
+            rs.getTimestamp("criado_em").toLocalDateTime(),
+            rs.getInt("tentativas")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final List<OuvinteEventosViagem> ouvintes;
+    private final int tamanhoLote;
+    private final int maxTentativas;
+    private final long retencaoHoras;
+
+    private final AtomicBoolean despachando = new AtomicBoolean();
+    // viagem -> instante (nanoTime) até o qual seus eventos ficam retidos após uma falha
+    private final Map<Long, Long> viagensEmEspera = new ConcurrentHashMap<>();
+    private final AtomicLong entregues = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private final AtomicLong ultimoAtrasoMs = new AtomicLong();
+    private final AtomicLong maiorAtrasoMs = new AtomicLong();
+
+    public OutboxDespachante(JdbcTemplate jdbcTemplate,
+                             ObjectProvider<OuvinteEventosViagem> ouvintes,
+                             @Value("${app.outbox.tamanho-lote:200}") int tamanhoLote,
+                             @Value("${app.outbox.max-tentativas:10}") int maxTentativas,
+                             @Value("${app.outbox.retencao-horas:24}") long retencaoHoras) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ouvintes = ouvintes.orderedStream().toList();
+        if (this.ouvintes.isEmpty()) {
+            log.warn("Nenhum OuvinteEventosViagem registrado: eventos do outbox ficam pendentes");
+        }
+        this.tamanhoLote = tamanhoLote;
+        this.maxTentativas = maxTentativas;
+        this.retencaoHoras = retencaoHoras;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.intervalo-ms:500}")
+    public void despachar() {
+        if (ouvintes.isEmpty() || !despachando.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            // lote cheio e sem falhas: provavelmente ainda há pendentes
+            int entreguesNoLote;
+            do {
+                entreguesNoLote = despacharLote();
+            } while (entreguesNoLote == tamanhoLote);
+        } finally {
+            despachando.set(false);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.intervalo-limpeza-ms:60000}")
+    public void removerEntregues() {
+        jdbcTemplate.update(SQL_REMOVER_ENTREGUES, Timestamp.valueOf(LocalDateTime.now().minusHours(retencaoHoras)));
+    }
+
+    public OutboxEstatisticaResponse estatisticas() {
+        LocalDateTime agora = LocalDateTime.now();
+        return jdbcTemplate.queryForObject(SQL_RESUMO_PENDENTES, (rs, i) -> {
+            Timestamp maisAntigo = rs.getTimestamp(2);
+            return new OutboxEstatisticaResponse(
+                    rs.getLong(1),
+                    maisAntigo != null ? Duration.between(maisAntigo.toLocalDateTime(), agora).toMillis() : 0,
+                    entregues.get(),
+                    falhas.get(),
+                    ultimoAtrasoMs.get(),
+                    maiorAtrasoMs.get(),
+                    viagensEmEspera.size()
+            );
+        });
+    }
+
+    // retorna quantos eventos foram entregues, ou 0 se houve falha no lote
+    private int despacharLote() {
+        List<Pendente> lote = buscarPendentes();
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        List<Pendente> entreguesNoLote;
+        Map<Pendente, RuntimeException> falhasNoLote = new LinkedHashMap<>();
+        try {
+            entregar(lote.stream().map(Pendente::evento).toList());
+            entreguesNoLote = lote;
+        } catch (RuntimeException e) {
+            // isola o evento com problema, um a um, sem passar à frente dentro da mesma viagem
+            entreguesNoLote = new ArrayList<>();
+            Set<Long> viagensComFalha = new HashSet<>();
+            for (Pendente p : lote) {
+                if (viagensComFalha.contains(p.evento().viagemId())) {
+                    continue;
+                }
+                try {
+                    entregar(List.of(p.evento()));
+                    entreguesNoLote.add(p);
+                } catch (RuntimeException falha) {
+                    falhasNoLote.put(p, falha);
+                    viagensComFalha.add(p.evento().viagemId());
+                }
+            }
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        marcarEntregues(entreguesNoLote, agora);
+        registrarFalhas(falhasNoLote, agora);
+        return falhasNoLote.isEmpty() ? entreguesNoLote.size() : 0;
+    }
+
+    private List<Pendente> buscarPendentes() {
+        long agora = System.nanoTime();
+        viagensEmEspera.values().removeIf(ate -> ate - agora <= 0);
+        List<Long> retidas = List.copyOf(viagensEmEspera.keySet());
+
+        if (retidas.isEmpty()) {
+            return jdbcTemplate.query(SQL_PENDENTES.formatted(""), MAPPER, tamanhoLote);
+        }
+
+        String marcadores = String.join(", ", Collections.nCopies(retidas.size(), "?"));
+        List<Object> parametros = new ArrayList<>(retidas);
+        parametros.add(tamanhoLote);
+        return jdbcTemplate.query(
+                SQL_PENDENTES.formatted(" AND viagem_id NOT IN (" + marcadores + ")"),
+                MAPPER,
+                parametros.toArray()
+        );
+    }
+
+    private void entregar(List<EventoViagemPublicado> eventos) {
+        for (OuvinteEventosViagem ouvinte : ouvintes) {
+            ouvinte.receber(eventos);
+        }
+    }
+
+    private void marcarEntregues(List<Pendente> entreguesNoLote, LocalDateTime agora) {
+        if (entreguesNoLote.isEmpty()) {
+            return;
+        }
+
+        Timestamp entregueEm = Timestamp.valueOf(agora);
+        List<Object[]> linhas = new ArrayList<>(entreguesNoLote.size());
+        for (Pendente p : entreguesNoLote) {
+            linhas.add(new Object[]{entregueEm, p.evento().outboxId()});
+        }
+        jdbcTemplate.batchUpdate(SQL_MARCAR_ENTREGUE, linhas);
+
+        entregues.addAndGet(entreguesNoLote.size());
+        // atraso do evento mais antigo do lote: do commit até a entrega
+        long atraso = Duration.between(entreguesNoLote.get(0).criadoEm(), agora).toMillis();
+        ultimoAtrasoMs.set(atraso);
+        maiorAtrasoMs.accumulateAndGet(atraso, Math::max);
+    }
+
+    private void registrarFalhas(Map<Pendente, RuntimeException> falhasNoLote, LocalDateTime agora) {
+        Timestamp falhouEm = Timestamp.valueOf(agora);
+        falhasNoLote.forEach((p, erro) -> {
+            falhas.incrementAndGet();
+            jdbcTemplate.update(SQL_REGISTRAR_FALHA, maxTentativas, falhouEm, resumir(erro), p.evento().outboxId());
+
+            long esperaMs = Math.min(60_000L, 500L << Math.min(p.tentativas(), 7));
+            viagensEmEspera.put(p.evento().viagemId(), System.nanoTime() + esperaMs * 1_000_000L);
+            log.warn("Falha ao entregar evento {} da viagem {} (tentativa {})",
+                    p.evento().outboxId(), p.evento().viagemId(), p.tentativas() + 1, erro);
+        });
+    }
+
+    private static String resumir(RuntimeException erro) {
+        String mensagem = erro.getClass().getSimpleName() + ": " + erro.getMessage();
+        return mensagem.length() > 500 ? mensagem.substring(0, 500) : mensagem;
+    }
+}
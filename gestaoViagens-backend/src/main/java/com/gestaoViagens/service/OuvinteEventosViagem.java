@@ -0,0 +1,16 @@
+package com.gestaoViagens.service;
+
+import java.util.List;
+
+/**
+ * Recebe, fora da transação que os gerou, os eventos de viagem gravados no outbox.
+ * Os lotes chegam em ordem de gravação (e portanto em ordem dentro de cada viagem).
+ * A entrega é "pelo menos uma vez": se algum ouvinte lançar exceção o lote é reenviado
+ * a todos, então a implementação deve tolerar eventos repetidos (ver outboxId).
+ * O BrokerLocalEventosViagem repassa os lotes como eventos da aplicação; um broker externo
+ * pode ser plugado como mais um ouvinte.
+ */
+public interface OuvinteEventosViagem {
+
+    void receber(List<EventoViagemPublicado> eventos);
+}
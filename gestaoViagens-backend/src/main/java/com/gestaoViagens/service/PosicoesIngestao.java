@@ -0,0 +1,231 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.IngestaoPosicoesEstatisticaResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Recebe as posições GPS dos motoristas em memória e grava no banco em lotes.
+ * Cada motorista tem um buffer circular de tamanho fixo; a descarga acontece a cada
+ * app.posicoes.intervalo-descarga-ms ou assim que app.posicoes.tamanho-lote posições
+ * estiverem pendentes. A última posição de cada motorista fica sempre em memória.
+ */
+@Component
+public class PosicoesIngestao {
+
+    private static final Logger log = LoggerFactory.getLogger(PosicoesIngestao.class);
+
+    private static final String SQL_INSERT = """
+            INSERT INTO posicoes_motorista (motorista_id, latitude, longitude, registrado_em, recebido_em)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final int[] TIPOS = {
+            Types.BIGINT, Types.DOUBLE, Types.DOUBLE, Types.TIMESTAMP, Types.TIMESTAMP
+    };
+
+    public record Posicao(
+            long motoristaId,
+            double latitude,
+            double longitude,
+            LocalDateTime registradoEm,
+            LocalDateTime recebidoEm
+    ) {
+    }
+
+    private static final class Rastreio {
+        private final BufferPosicoes buffer;
+        private final AtomicReference<Posicao> ultima = new AtomicReference<>();
+        private volatile LocalDateTime ultimoRecebimento;
+
+        private Rastreio(int capacidade) {
+            this.buffer = new BufferPosicoes(capacidade);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int capacidadePorMotorista;
+    private final int tamanhoLote;
+    private final long inatividadeMinutos;
+
+    private final ConcurrentHashMap<Long, Rastreio> rastreios = new ConcurrentHashMap<>();
+    private final AtomicBoolean descarregando = new AtomicBoolean();
+    private final AtomicLong pendentes = new AtomicLong();
+    private final AtomicLong recebidas = new AtomicLong();
+    private final AtomicLong gravadas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+    private final AtomicLong lotesGravados = new AtomicLong();
+
+    public PosicoesIngestao(JdbcTemplate jdbcTemplate,
+                            @Value("${app.posicoes.capacidade-por-motorista:256}") int capacidadePorMotorista,
+                            @Value("${app.posicoes.tamanho-lote:500}") int tamanhoLote,
+                            @Value("${app.posicoes.inatividade-minutos:60}") long inatividadeMinutos) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacidadePorMotorista = capacidadePorMotorista;
+        this.tamanhoLote = tamanhoLote;
+        this.inatividadeMinutos = inatividadeMinutos;
+    }
+
+    // false quando o buffer do motorista está cheio e a posição foi descartada
+    public boolean registrar(Posicao posicao) {
+        recebidas.incrementAndGet();
+
+        Rastreio rastreio = entrar(posicao.motoristaId());
+        try {
+            rastreio.ultimoRecebimento = posicao.recebidoEm();
+            // pings podem chegar fora de ordem: a última posição é a de maior registradoEm
+            rastreio.ultima.accumulateAndGet(posicao, (atual, nova) ->
+                    atual == null || nova.registradoEm().isAfter(atual.registradoEm()) ? nova : atual);
+
+            if (!rastreio.buffer.oferecer(posicao)) {
+                descartadas.incrementAndGet();
+                return false;
+            }
+        } finally {
+            rastreio.buffer.liberar();
+        }
+
+        if (pendentes.incrementAndGet() >= tamanhoLote) {
+            descarregar();
+        }
+        return true;
+    }
+
+    // rastreio do motorista com o buffer já reservado; um rastreio fechado está saindo do mapa
+    private Rastreio entrar(long motoristaId) {
+        while (true) {
+            Rastreio rastreio = rastreios.get(motoristaId);
+            if (rastreio == null) {
+                rastreio = rastreios.computeIfAbsent(motoristaId, id -> new Rastreio(capacidadePorMotorista));
+            }
+            if (rastreio.buffer.reservar()) {
+                return rastreio;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public Optional<Posicao> ultimaPosicao(Long motoristaId) {
+        Rastreio rastreio = rastreios.get(motoristaId);
+        return rastreio != null ? Optional.ofNullable(rastreio.ultima.get()) : Optional.empty();
+    }
+
+    public Map<Long, Posicao> ultimasPosicoes() {
+        Map<Long, Posicao> copia = new HashMap<>();
+        rastreios.forEach((id, rastreio) -> {
+            Posicao ultima = rastreio.ultima.get();
+            if (ultima != null) {
+                copia.put(id, ultima);
+            }
+        });
+        return copia;
+    }
+
+    @Scheduled(fixedDelayString = "${app.posicoes.intervalo-descarga-ms:1000}")
+    public void descarregarPeriodicamente() {
+        descarregar();
+        removerInativos();
+    }
+
+    @PreDestroy
+    public void descarregar() {
+        // um único consumidor por vez; quem perder a disputa segue sem esperar
+        if (!descarregando.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            List<Posicao> lote = new ArrayList<>(tamanhoLote);
+            for (Rastreio rastreio : rastreios.values()) {
+                while (true) {
+                    int drenadas = rastreio.buffer.drenar(lote, tamanhoLote - lote.size());
+                    pendentes.addAndGet(-drenadas);
+                    if (lote.size() < tamanhoLote) {
+                        break;
+                    }
+                    gravar(lote);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                gravar(lote);
+            }
+        } finally {
+            descarregando.set(false);
+        }
+    }
+
+    public IngestaoPosicoesEstatisticaResponse estatisticas() {
+        return new IngestaoPosicoesEstatisticaResponse(
+                recebidas.get(),
+                gravadas.get(),
+                descartadas.get(),
+                lotesGravados.get(),
+                pendentes.get(),
+                rastreios.size()
+        );
+    }
+
+    private void gravar(List<Posicao> lote) {
+        List<Object[]> linhas = new ArrayList<>(lote.size());
+        for (Posicao p : lote) {
+            linhas.add(new Object[]{
+                    p.motoristaId(),
+                    p.latitude(),
+                    p.longitude(),
+                    Timestamp.valueOf(p.registradoEm()),
+                    Timestamp.valueOf(p.recebidoEm())
+            });
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(SQL_INSERT, linhas, TIPOS);
+            gravadas.addAndGet(lote.size());
+            lotesGravados.incrementAndGet();
+        } catch (DataAccessException e) {
+            // não reenfileira: a memória continua limitada mesmo com o banco fora
+            descartadas.addAndGet(lote.size());
+            log.warn("Falha ao gravar lote de {} posições", lote.size(), e);
+        }
+    }
+
+    private void removerInativos() {
+        LocalDateTime limite = LocalDateTime.now().minusMinutes(inatividadeMinutos);
+        for (Long motoristaId : rastreios.keySet()) {
+            rastreios.computeIfPresent(motoristaId, (id, rastreio) -> inativo(rastreio, limite) ? null : rastreio);
+        }
+    }
+
+    // fecha o buffer para novos produtores antes de conferir: uma posição oferecida a um
+    // rastreio já fora do mapa nunca seria gravada e deixaria "pendentes" sempre acima de zero
+    private static boolean inativo(Rastreio rastreio, LocalDateTime limite) {
+        if (!rastreio.buffer.fechar()) {
+            return false;
+        }
+        LocalDateTime ultimoRecebimento = rastreio.ultimoRecebimento;
+        if (rastreio.buffer.vazio() && ultimoRecebimento != null && ultimoRecebimento.isBefore(limite)) {
+            return true;
+        }
+        rastreio.buffer.reabrir();
+        return false;
+    }
+}
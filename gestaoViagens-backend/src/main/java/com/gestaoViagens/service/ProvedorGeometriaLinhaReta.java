@@ -0,0 +1,22 @@
+package com.gestaoViagens.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// segmentos retos entre as paradas: sem chamada externa, usado por padrão e nos testes
+@Component
+public class ProvedorGeometriaLinhaReta implements ProvedorGeometriaRota {
+
+    public static final String NOME = "linha-reta";
+
+    @Override
+    public String nome() {
+        return NOME;
+    }
+
+    @Override
+    public List<double[]> tracar(List<double[]> paradas) {
+        return paradas;
+    }
+}
@@ -0,0 +1,15 @@
+package com.gestaoViagens.service;
+
+import java.util.List;
+
+/**
+ * Origem do traçado de uma rota. Escolhido por app.rotas.provedor; um provedor de
+ * roteamento viário entra como outro bean com nome próprio.
+ */
+public interface ProvedorGeometriaRota {
+
+    String nome();
+
+    // coordenadas {latitude, longitude} do trajeto que passa pelas paradas, na ordem
+    List<double[]> tracar(List<double[]> paradas);
+}
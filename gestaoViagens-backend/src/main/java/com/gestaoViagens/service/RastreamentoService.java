@@ -0,0 +1,120 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.IngestaoPosicoesEstatisticaResponse;
+import com.gestaoViagens.DTO.PosicaoMotoristaResponse;
+import com.gestaoViagens.DTO.PosicaoRequest;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.entity.Usuario;
+import com.gestaoViagens.entity.Viagem;
+import com.gestaoViagens.repository.UsuarioRepository;
+import com.gestaoViagens.repository.ViagemRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class RastreamentoService {
+
+    private final PosicoesIngestao posicoesIngestao;
+    private final GeofenceViagens geofenceViagens;
+    private final UsuarioRepository usuarioRepository;
+    private final ViagemRepository viagemRepository;
+
+    // evita uma consulta de usuário a cada ping; esvaziado a cada alteração de usuário
+    private final Map<String, Long> motoristaIdPorEmail = new ConcurrentHashMap<>();
+    // muda a cada esvaziamento: uma busca que começou antes não grava um id já invalidado
+    private final AtomicLong geracaoCache = new AtomicLong();
+
+    public RastreamentoService(PosicoesIngestao posicoesIngestao,
+                               GeofenceViagens geofenceViagens,
+                               UsuarioRepository usuarioRepository,
+                               ViagemRepository viagemRepository) {
+        this.posicoesIngestao = posicoesIngestao;
+        this.geofenceViagens = geofenceViagens;
+        this.usuarioRepository = usuarioRepository;
+        this.viagemRepository = viagemRepository;
+    }
+
+    public boolean registrarPosicao(PosicaoRequest request, String emailMotorista) {
+        if (request == null || request.latitude() == null || request.longitude() == null) {
+            throw new IllegalArgumentException("Latitude e longitude são obrigatórias");
+        }
+        if (Math.abs(request.latitude()) > 90 || Math.abs(request.longitude()) > 180) {
+            throw new IllegalArgumentException("Coordenadas inválidas");
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        LocalDateTime registradoEm = request.registradoEm();
+        if (registradoEm == null || registradoEm.isAfter(agora)) {
+            registradoEm = agora;
+        }
+
+        PosicoesIngestao.Posicao posicao = new PosicoesIngestao.Posicao(
+                motoristaId(emailMotorista),
+                request.latitude(),
+                request.longitude(),
+                registradoEm,
+                agora
+        );
+        boolean aceita = posicoesIngestao.registrar(posicao);
+        geofenceViagens.verificar(posicao);
+        return aceita;
+    }
+
+    @Transactional(readOnly = true)
+    public List<PosicaoMotoristaResponse> listarPosicoesEmAndamento() {
+        List<Viagem> emAndamento = viagemRepository.findComMotoristaPorStatus(StatusViagem.EM_ANDAMENTO);
+
+        List<PosicaoMotoristaResponse> posicoes = new ArrayList<>();
+        for (Viagem viagem : emAndamento) {
+            Usuario motorista = viagem.getMotorista();
+            posicoesIngestao.ultimaPosicao(motorista.getId()).ifPresent(p ->
+                    posicoes.add(new PosicaoMotoristaResponse(
+                            motorista.getId(),
+                            motorista.getNome(),
+                            viagem.getId(),
+                            viagem.getNome(),
+                            p.latitude(),
+                            p.longitude(),
+                            p.registradoEm()
+                    )));
+        }
+        return posicoes;
+    }
+
+    // desativação, troca de e-mail ou de papel: o próximo ping volta a consultar o usuário
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCadastro(CadastroAlteradoEvent evento) {
+        if (evento.entidade() == Usuario.class) {
+            geracaoCache.incrementAndGet();
+            motoristaIdPorEmail.clear();
+        }
+    }
+
+    public IngestaoPosicoesEstatisticaResponse estatisticas() {
+        return posicoesIngestao.estatisticas();
+    }
+
+    private Long motoristaId(String email) {
+        Long id = motoristaIdPorEmail.get(email);
+        if (id != null) {
+            return id;
+        }
+
+        long geracao = geracaoCache.get();
+        Usuario motorista = usuarioRepository.findByEmailAndAtivoTrue(email)
+                .orElseThrow(() -> new IllegalArgumentException("Motorista não encontrado"));
+        motoristaIdPorEmail.putIfAbsent(email, motorista.getId());
+        if (geracaoCache.get() != geracao) {
+            motoristaIdPorEmail.remove(email, motorista.getId());
+        }
+        return motorista.getId();
+    }
+}
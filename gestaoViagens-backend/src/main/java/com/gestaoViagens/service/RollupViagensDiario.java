@@ -0,0 +1,305 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.SerieViagensResponse;
+import com.gestaoViagens.ENUM.GranularidadeSerie;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import com.gestaoViagens.entity.EventoViagem;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Totais diários por motorista (viagens criadas/iniciadas/concluídas, pontos visitados e
+ * duração das viagens concluídas). Atualizados de forma incremental no commit de cada
+ * transição e usados pelas séries do dashboard, que assim leem no máximo uma linha por
+ * dia e motorista, qualquer que seja o volume de viagens.
+ */
+@Component
+public class RollupViagensDiario {
+
+    private static final int MAX_DIAS_SERIE = 3660;
+    private static final int DIAS_POR_LOTE_RECALCULO = 31;
+
+    private static final String SQL_UPSERT = """
+            INSERT INTO rollup_viagens_diario
+                (dia, motorista_id, viagens_criadas, viagens_iniciadas, viagens_concluidas,
+                 pontos_visitados, duracao_total_segundos)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                viagens_criadas = viagens_criadas + VALUES(viagens_criadas),
+                viagens_iniciadas = viagens_iniciadas + VALUES(viagens_iniciadas),
+                viagens_concluidas = viagens_concluidas + VALUES(viagens_concluidas),
+                pontos_visitados = pontos_visitados + VALUES(pontos_visitados),
+                duracao_total_segundos = duracao_total_segundos + VALUES(duracao_total_segundos)
+            """;
+
+    // no recálculo os valores substituem os atuais (uma transição concorrente pode ter recriado a linha)
+    private static final String SQL_SUBSTITUIR = """
+            INSERT INTO rollup_viagens_diario
+                (dia, motorista_id, viagens_criadas, viagens_iniciadas, viagens_concluidas,
+                 pontos_visitados, duracao_total_segundos)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                viagens_criadas = VALUES(viagens_criadas),
+                viagens_iniciadas = VALUES(viagens_iniciadas),
+                viagens_concluidas = VALUES(viagens_concluidas),
+                pontos_visitados = VALUES(pontos_visitados),
+                duracao_total_segundos = VALUES(duracao_total_segundos)
+            """;
+
+    private static final String SQL_REMOVER_PERIODO = "DELETE FROM rollup_viagens_diario WHERE dia >= ? AND dia < ?";
+
+    // trava as linhas (e, no InnoDB, os intervalos) do período antes das leituras; ver recalcularLote
+    private static final String SQL_TRAVAR_PERIODO = """
+            SELECT dia FROM rollup_viagens_diario WHERE dia >= ? AND dia < ? FOR UPDATE
+            """;
+
+    private static final String SQL_CRIADAS_POR_DIA = """
+            SELECT CAST(data_criacao AS DATE), motorista_id, COUNT(*)
+            FROM viagens
+            WHERE data_criacao >= ? AND data_criacao < ?
+            GROUP BY CAST(data_criacao AS DATE), motorista_id
+            """;
+
+    private static final String SQL_INICIADAS_POR_DIA = """
+            SELECT CAST(data_inicio AS DATE), motorista_id, COUNT(*)
+            FROM viagens
+            WHERE data_inicio >= ? AND data_inicio < ?
+            GROUP BY CAST(data_inicio AS DATE), motorista_id
+            """;
+
+    private static final String SQL_CONCLUIDAS = """
+            SELECT motorista_id, data_inicio, data_fim
+            FROM viagens
+            WHERE status = ? AND data_fim >= ? AND data_fim < ?
+            """;
+
+    // visitas só têm data a partir do histórico de eventos (eventos_viagem)
+    private static final String SQL_VISITAS_POR_DIA = """
+            SELECT CAST(ocorrido_em AS DATE), motorista_id, COUNT(*)
+            FROM eventos_viagem
+            WHERE tipo = ? AND ocorrido_em >= ? AND ocorrido_em < ?
+            GROUP BY CAST(ocorrido_em AS DATE), motorista_id
+            """;
+
+    private static final String SQL_SERIE = """
+            SELECT dia, SUM(viagens_criadas), SUM(viagens_iniciadas), SUM(viagens_concluidas),
+                   SUM(pontos_visitados), SUM(duracao_total_segundos)
+            FROM rollup_viagens_diario
+            WHERE dia >= ? AND dia <= ?%s
+            GROUP BY dia
+            """;
+
+    private record Chave(LocalDate dia, Long motoristaId) {
+    }
+
+    // ordem fixa das linhas no upsert: transações concorrentes travam as linhas na mesma sequência
+    private static final Comparator<Chave> ORDEM = Comparator
+            .comparing(Chave::dia)
+            .thenComparing(Chave::motoristaId);
+
+    private static final class Totais {
+        private long criadas;
+        private long iniciadas;
+        private long concluidas;
+        private long pontosVisitados;
+        private long duracaoSegundos;
+
+        private void somar(Totais outro) {
+            criadas += outro.criadas;
+            iniciadas += outro.iniciadas;
+            concluidas += outro.concluidas;
+            pontosVisitados += outro.pontosVisitados;
+            duracaoSegundos += outro.duracaoSegundos;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public RollupViagensDiario(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // chamado pelo EventoViagemRegistro antes do commit, na transação da mudança de estado
+    void acumular(List<EventoViagem> eventos) {
+        Map<Chave, Totais> porDia = new TreeMap<>(ORDEM);
+        for (EventoViagem e : eventos) {
+            // alteração de pontos ou de motorista não entra em nenhum total
+            if (e.getTipo() == TipoEventoViagem.ROTA_ALTERADA || e.getTipo() == TipoEventoViagem.MOTORISTA_ALTERADO) {
+                continue;
+            }
+            Totais t = porDia.computeIfAbsent(new Chave(e.getOcorridoEm().toLocalDate(), e.getMotoristaId()), c -> new Totais());
+            switch (e.getTipo()) {
+                case VIAGEM_CRIADA -> t.criadas++;
+                case VIAGEM_INICIADA -> t.iniciadas++;
+                case PONTO_VISITADO -> t.pontosVisitados++;
+                case VIAGEM_CONCLUIDA -> {
+                    t.concluidas++;
+                    t.duracaoSegundos += e.getDuracaoSegundos() != null ? e.getDuracaoSegundos() : 0;
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(SQL_UPSERT, linhas(porDia));
+    }
+
+    /**
+     * Refaz o rollup de [inicio, fim] a partir de viagens e eventos_viagem, em transações
+     * de até 31 dias. Retorna quantas linhas (dia x motorista) foram gravadas.
+     * <p>
+     * Cada lote apaga e regrava o período. Uma transição que fizer o upsert entre as leituras
+     * e o DELETE perderia o incremento; por isso o lote trava o período antes de ler. Isso
+     * depende dos locks de intervalo do InnoDB (REPEATABLE READ). Em outro banco ou isolamento,
+     * rode o recálculo sem transições em andamento, como no profile seed.
+     */
+    public int recalcular(LocalDate inicio, LocalDate fim) {
+        validarPeriodo(inicio, fim);
+
+        int gravadas = 0;
+        for (LocalDate de = inicio; !de.isAfter(fim); de = de.plusDays(DIAS_POR_LOTE_RECALCULO)) {
+            LocalDate ate = de.plusDays(DIAS_POR_LOTE_RECALCULO);
+            LocalDate ateExclusivo = ate.isAfter(fim) ? fim.plusDays(1) : ate;
+            LocalDate deLote = de;
+            gravadas += transactionTemplate.execute(status -> recalcularLote(deLote, ateExclusivo));
+        }
+        return gravadas;
+    }
+
+    @Transactional(readOnly = true)
+    public SerieViagensResponse serie(LocalDate inicio, LocalDate fim, GranularidadeSerie granularidade, Long motoristaId) {
+        validarPeriodo(inicio, fim);
+        GranularidadeSerie g = granularidade != null ? granularidade : GranularidadeSerie.DIA;
+
+        // todos os períodos do intervalo, inclusive os sem movimento
+        Map<LocalDate, Totais> periodos = new LinkedHashMap<>();
+        for (LocalDate p = inicioPeriodo(inicio, g); !p.isAfter(fim); p = proximoPeriodo(p, g)) {
+            periodos.put(p, new Totais());
+        }
+
+        List<Object> parametros = new ArrayList<>(List.of(Date.valueOf(inicio), Date.valueOf(fim)));
+        String filtro = "";
+        if (motoristaId != null) {
+            filtro = " AND motorista_id = ?";
+            parametros.add(motoristaId);
+        }
+
+        jdbcTemplate.query(SQL_SERIE.formatted(filtro), rs -> {
+            Totais dia = new Totais();
+            dia.criadas = rs.getLong(2);
+            dia.iniciadas = rs.getLong(3);
+            dia.concluidas = rs.getLong(4);
+            dia.pontosVisitados = rs.getLong(5);
+            dia.duracaoSegundos = rs.getLong(6);
+            periodos.get(inicioPeriodo(rs.getDate(1).toLocalDate(), g)).somar(dia);
+        }, parametros.toArray());
+
+        List<SerieViagensResponse.Periodo> serie = new ArrayList<>(periodos.size());
+        periodos.forEach((p, t) -> serie.add(new SerieViagensResponse.Periodo(
+                p,
+                t.criadas,
+                t.iniciadas,
+                t.concluidas,
+                t.pontosVisitados,
+                t.duracaoSegundos,
+                t.concluidas > 0 ? t.duracaoSegundos / t.concluidas : 0
+        )));
+        return new SerieViagensResponse(g, inicio, fim, motoristaId, serie);
+    }
+
+    private int recalcularLote(LocalDate de, LocalDate ateExclusivo) {
+        Timestamp inicio = Timestamp.valueOf(de.atStartOfDay());
+        Timestamp fim = Timestamp.valueOf(ateExclusivo.atStartOfDay());
+        Map<Chave, Totais> porDia = new TreeMap<>(ORDEM);
+
+        // a trava vem antes da primeira leitura: o snapshot das consultas abaixo já inclui toda
+        // transição que gravou no período, e as que chegarem depois esperam e somam sobre o recálculo
+        jdbcTemplate.queryForList(SQL_TRAVAR_PERIODO, Date.class, Date.valueOf(de), Date.valueOf(ateExclusivo));
+
+        jdbcTemplate.query(SQL_CRIADAS_POR_DIA, rs -> {
+            totais(porDia, rs.getDate(1).toLocalDate(), rs.getLong(2)).criadas += rs.getLong(3);
+        }, inicio, fim);
+
+        jdbcTemplate.query(SQL_INICIADAS_POR_DIA, rs -> {
+            totais(porDia, rs.getDate(1).toLocalDate(), rs.getLong(2)).iniciadas += rs.getLong(3);
+        }, inicio, fim);
+
+        jdbcTemplate.query(SQL_CONCLUIDAS, rs -> {
+            Timestamp dataInicio = rs.getTimestamp(2);
+            Timestamp dataFim = rs.getTimestamp(3);
+            Totais t = totais(porDia, dataFim.toLocalDateTime().toLocalDate(), rs.getLong(1));
+            t.concluidas++;
+            if (dataInicio != null) {
+                t.duracaoSegundos += Duration.between(dataInicio.toLocalDateTime(), dataFim.toLocalDateTime()).toSeconds();
+            }
+        }, StatusViagem.CONCLUIDA.name(), inicio, fim);
+
+        jdbcTemplate.query(SQL_VISITAS_POR_DIA, rs -> {
+            totais(porDia, rs.getDate(1).toLocalDate(), rs.getLong(2)).pontosVisitados += rs.getLong(3);
+        }, TipoEventoViagem.PONTO_VISITADO.name(), inicio, fim);
+
+        jdbcTemplate.update(SQL_REMOVER_PERIODO, Date.valueOf(de), Date.valueOf(ateExclusivo));
+        jdbcTemplate.batchUpdate(SQL_SUBSTITUIR, linhas(porDia));
+        return porDia.size();
+    }
+
+    private static Totais totais(Map<Chave, Totais> porDia, LocalDate dia, Long motoristaId) {
+        return porDia.computeIfAbsent(new Chave(dia, motoristaId), c -> new Totais());
+    }
+
+    private static List<Object[]> linhas(Map<Chave, Totais> porDia) {
+        List<Object[]> linhas = new ArrayList<>(porDia.size());
+        porDia.forEach((chave, t) -> linhas.add(new Object[]{
+                Date.valueOf(chave.dia()),
+                chave.motoristaId(),
+                t.criadas,
+                t.iniciadas,
+                t.concluidas,
+                t.pontosVisitados,
+                t.duracaoSegundos
+        }));
+        return linhas;
+    }
+
+    private static void validarPeriodo(LocalDate inicio, LocalDate fim) {
+        if (inicio == null || fim == null || fim.isBefore(inicio)) {
+            throw new IllegalArgumentException("Período inválido");
+        }
+        if (ChronoUnit.DAYS.between(inicio, fim) > MAX_DIAS_SERIE) {
+            throw new IllegalArgumentException("Período maior que " + MAX_DIAS_SERIE + " dias");
+        }
+    }
+
+    private static LocalDate inicioPeriodo(LocalDate dia, GranularidadeSerie granularidade) {
+        return switch (granularidade) {
+            case DIA -> dia;
+            case SEMANA -> dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES -> dia.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate proximoPeriodo(LocalDate inicioPeriodo, GranularidadeSerie granularidade) {
+        return switch (granularidade) {
+            case DIA -> inicioPeriodo.plusDays(1);
+            case SEMANA -> inicioPeriodo.plusWeeks(1);
+            case MES -> inicioPeriodo.plusMonths(1);
+        };
+    }
+}
@@ -0,0 +1,206 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.OperacaoLoteViagensRequest;
+import com.gestaoViagens.DTO.OperacaoLoteViagensResponse;
+import com.gestaoViagens.ENUM.Role;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import com.gestaoViagens.entity.Usuario;
+import com.gestaoViagens.repository.UsuarioRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Transições de várias viagens de uma vez (iniciar, concluir, trocar o motorista), por lista
+ * de ids ou por filtro. As viagens que atendem ao status exigido são travadas com um
+ * SELECT ... FOR UPDATE e alteradas por um único UPDATE, que também incrementa a versão e
+ * atualizado_em. Cada viagem alterada gera o seu evento (histórico, outbox e rollup), e o
+ * commit publica ViagensAlteradasEvent como nas transições individuais.
+ */
+@Component
+public class TransicoesViagensLote {
+
+    // linha travada: o motorista e o início são necessários para os eventos
+    private record Alvo(Long viagemId, Long motoristaId, LocalDateTime dataInicio) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EventoViagemRegistro eventoViagemRegistro;
+    private final UsuarioRepository usuarioRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maximo;
+
+    public TransicoesViagensLote(JdbcTemplate jdbcTemplate,
+                                 EventoViagemRegistro eventoViagemRegistro,
+                                 UsuarioRepository usuarioRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${app.viagens.lote.maximo:5000}") int maximo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventoViagemRegistro = eventoViagemRegistro;
+        this.usuarioRepository = usuarioRepository;
+        this.eventPublisher = eventPublisher;
+        this.maximo = maximo;
+    }
+
+    @Transactional
+    public OperacaoLoteViagensResponse iniciar(OperacaoLoteViagensRequest request) {
+        List<Alvo> alvos = travar(request, StatusViagem.PLANEJADA, null);
+        LocalDateTime agora = LocalDateTime.now();
+        atualizar("status = ?, data_inicio = ?", alvos, StatusViagem.PLANEJADA, agora,
+                StatusViagem.EM_ANDAMENTO.name(), Timestamp.valueOf(agora));
+        alvos.forEach(alvo -> eventoViagemRegistro.registrar(alvo.viagemId(), null, alvo.motoristaId(),
+                TipoEventoViagem.VIAGEM_INICIADA, agora, agora));
+        return resposta(request, alvos);
+    }
+
+    // encerramento administrativo: pontos pendentes continuam pendentes e o desempenho do motorista não muda
+    @Transactional
+    public OperacaoLoteViagensResponse concluir(OperacaoLoteViagensRequest request) {
+        List<Alvo> alvos = travar(request, StatusViagem.EM_ANDAMENTO, null);
+        LocalDateTime agora = LocalDateTime.now();
+        atualizar("status = ?, data_fim = ?", alvos, StatusViagem.EM_ANDAMENTO, agora,
+                StatusViagem.CONCLUIDA.name(), Timestamp.valueOf(agora));
+        alvos.forEach(alvo -> eventoViagemRegistro.registrar(alvo.viagemId(), null, alvo.motoristaId(),
+                TipoEventoViagem.VIAGEM_CONCLUIDA, agora, alvo.dataInicio()));
+        return resposta(request, alvos);
+    }
+
+    // só viagens planejadas: uma viagem em andamento já tem posições e visitas do motorista atual
+    @Transactional
+    public OperacaoLoteViagensResponse reatribuir(OperacaoLoteViagensRequest request) {
+        if (request == null || request.motoristaId() == null) {
+            throw new IllegalArgumentException("É necessário informar o novo motorista");
+        }
+        Usuario motorista = usuarioRepository.findById(request.motoristaId())
+                .orElseThrow(() -> new IllegalArgumentException("Motorista não encontrado"));
+        if (!motorista.isAtivo() || motorista.getRole() != Role.MOTORISTA) {
+            throw new IllegalArgumentException("Motorista inativo ou sem perfil de motorista");
+        }
+
+        List<Alvo> alvos = travar(request, StatusViagem.PLANEJADA, motorista.getId());
+        LocalDateTime agora = LocalDateTime.now();
+        atualizar("motorista_id = ?", alvos, StatusViagem.PLANEJADA, agora, motorista.getId());
+        alvos.forEach(alvo -> eventoViagemRegistro.registrar(alvo.viagemId(), null, motorista.getId(),
+                TipoEventoViagem.MOTORISTA_ALTERADO, agora, alvo.dataInicio()));
+
+        // os eventos levam o motorista novo; o anterior também precisa descartar as cercas da geofence
+        Set<Long> anteriores = new HashSet<>();
+        alvos.forEach(alvo -> anteriores.add(alvo.motoristaId()));
+        if (!alvos.isEmpty()) {
+            Set<Long> viagemIds = new HashSet<>(ids(alvos));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eventPublisher.publishEvent(new ViagensAlteradasEvent(viagemIds, anteriores));
+                }
+            });
+        }
+        return resposta(request, alvos);
+    }
+
+    // excluirMotoristaId: na reatribuição, viagens que já são do motorista novo ficam de fora
+    private List<Alvo> travar(OperacaoLoteViagensRequest request, StatusViagem exigido, Long excluirMotoristaId) {
+        if (request == null) {
+            throw new IllegalArgumentException("Informe viagemIds ou filtro");
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT id, motorista_id, data_inicio FROM viagens WHERE status = ?");
+        List<Object> parametros = new ArrayList<>();
+        parametros.add(exigido.name());
+
+        if (request.viagemIds() != null && !request.viagemIds().isEmpty()) {
+            Set<Long> ids = new LinkedHashSet<>(request.viagemIds());
+            ids.remove(null);
+            if (ids.isEmpty() || ids.size() > maximo) {
+                throw new IllegalArgumentException("Informe entre 1 e " + maximo + " viagens");
+            }
+            sql.append(" AND id IN (").append(String.join(", ", Collections.nCopies(ids.size(), "?"))).append(')');
+            parametros.addAll(ids);
+        } else if (request.filtro() != null
+                && (request.filtro().criadasDe() != null || request.filtro().criadasAte() != null)) {
+            OperacaoLoteViagensRequest.Filtro filtro = request.filtro();
+            if (filtro.motoristaId() != null) {
+                sql.append(" AND motorista_id = ?");
+                parametros.add(filtro.motoristaId());
+            }
+            if (filtro.criadasDe() != null) {
+                sql.append(" AND data_criacao >= ?");
+                parametros.add(Timestamp.valueOf(filtro.criadasDe().atStartOfDay()));
+            }
+            if (filtro.criadasAte() != null) {
+                sql.append(" AND data_criacao < ?");
+                parametros.add(Timestamp.valueOf(filtro.criadasAte().plusDays(1).atStartOfDay()));
+            }
+        } else {
+            // sem ids nem período, o lote pegaria a tabela inteira
+            throw new IllegalArgumentException("Informe viagemIds ou um filtro com período de criação");
+        }
+
+        if (excluirMotoristaId != null) {
+            sql.append(" AND motorista_id <> ?");
+            parametros.add(excluirMotoristaId);
+        }
+        // ordem fixa de travamento: dois lotes sobrepostos esperam um pelo outro em vez de entrar em deadlock
+        sql.append(" ORDER BY id LIMIT ? FOR UPDATE");
+        parametros.add(maximo + 1);
+
+        List<Alvo> alvos = jdbcTemplate.query(sql.toString(), (rs, i) -> {
+            Timestamp dataInicio = rs.getTimestamp("data_inicio");
+            return new Alvo(
+                    rs.getLong("id"),
+                    rs.getLong("motorista_id"),
+                    dataInicio != null ? dataInicio.toLocalDateTime() : null
+            );
+        }, parametros.toArray());
+        if (alvos.size() > maximo) {
+            throw new IllegalArgumentException("O filtro seleciona mais de " + maximo + " viagens; restrinja o período");
+        }
+        return alvos;
+    }
+
+    // as linhas já estão travadas; o status no WHERE é só a pré-condição explícita
+    private void atualizar(String atribuicoes, List<Alvo> alvos, StatusViagem exigido, LocalDateTime agora,
+                           Object... valores) {
+        if (alvos.isEmpty()) {
+            return;
+        }
+        List<Long> ids = ids(alvos);
+        String sql = "UPDATE viagens SET " + atribuicoes + ", versao = versao + 1, atualizado_em = ?"
+                + " WHERE status = ? AND id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+
+        List<Object> parametros = new ArrayList<>(List.of(valores));
+        parametros.add(Timestamp.valueOf(agora));
+        parametros.add(exigido.name());
+        parametros.addAll(ids);
+        int afetadas = jdbcTemplate.update(sql, parametros.toArray());
+        if (afetadas != ids.size()) {
+            throw new IllegalStateException("Esperadas " + ids.size() + " viagens alteradas, mas foram " + afetadas);
+        }
+    }
+
+    private static OperacaoLoteViagensResponse resposta(OperacaoLoteViagensRequest request, List<Alvo> alvos) {
+        int ignoradas = request.viagemIds() != null && !request.viagemIds().isEmpty()
+                ? (int) request.viagemIds().stream().filter(Objects::nonNull).distinct().count() - alvos.size()
+                : 0;
+        return new OperacaoLoteViagensResponse(alvos.size(), ignoradas, ids(alvos));
+    }
+
+    private static List<Long> ids(List<Alvo> alvos) {
+        return alvos.stream().map(Alvo::viagemId).toList();
+    }
+}
@@ -6,6 +6,7 @@ import com.gestaoViagens.DTO.UsuarioMotoristaResumoResponse;
 import com.gestaoViagens.ENUM.Role;
 import com.gestaoViagens.entity.Usuario;
 import com.gestaoViagens.repository.UsuarioRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,13 +18,17 @@ public class UsuarioAdminService {
 
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UsuarioAdminService(UsuarioRepository usuarioRepository,
-                               PasswordEncoder passwordEncoder) {
+                               PasswordEncoder passwordEncoder,
+                               ApplicationEventPublisher eventPublisher) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<UsuarioAdminResponse> listarTodos() {
         return usuarioRepository.findAll()
                 .stream()
@@ -31,6 +36,7 @@ public class UsuarioAdminService {
                 .toList();
     }
 
+    @Transactional
     public UsuarioAdminResponse criar(UsuarioAdminRequest request) {
         if (usuarioRepository.existsByEmail(request.email())) {
             throw new IllegalStateException("E-mail já cadastrado");
@@ -44,6 +50,7 @@ public class UsuarioAdminService {
         usuario.setAtivo(true);
 
         Usuario salvo = usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(new CadastroAlteradoEvent(Usuario.class));
         return toResponse(salvo);
     }
 
@@ -84,6 +91,7 @@ public class UsuarioAdminService {
         }
 
         Usuario salvo = usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(new CadastroAlteradoEvent(Usuario.class));
         return toResponse(salvo);
     }
 
@@ -94,6 +102,7 @@ public class UsuarioAdminService {
 
         usuario.setAtivo(false);
         usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(new CadastroAlteradoEvent(Usuario.class));
     }
 
     @Transactional
@@ -103,5 +112,6 @@ public class UsuarioAdminService {
 
         usuario.setAtivo(true);
         usuarioRepository.save(usuario);
+        eventPublisher.publishEvent(new CadastroAlteradoEvent(Usuario.class));
     }
 }
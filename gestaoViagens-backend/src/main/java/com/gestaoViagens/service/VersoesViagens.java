@@ -0,0 +1,75 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.VersaoListasViagens;
+import com.gestaoViagens.DTO.VersaoViagem;
+import com.gestaoViagens.repository.ViagemRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carimbos (ETag e Last-Modified) para GET condicional das viagens. O detalhe usa a versão
+ * da própria viagem (coluna versao); as listagens, um resumo da tabela lido do banco
+ * (quantidade, maior id, soma das versões e última alteração), então uma escrita feita em
+ * outra instância também muda o carimbo. Alterações em locais e usuários mudam nomes e
+ * endereços exibidos, então também entram nos carimbos, mas por um contador em memória: só
+ * as feitas nesta instância contam (com várias instâncias, uma renomeação feita em outra
+ * aparece aqui quando a viagem ou a lista mudar). O instante de subida faz parte do ETag
+ * para que um restart não reaproveite carimbos antigos desse contador.
+ */
+@Component
+public class VersoesViagens {
+
+    public record Carimbo(String etag, long ultimaModificacao) {
+    }
+
+    private final ViagemRepository viagemRepository;
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong versaoCadastros = new AtomicLong();
+    private volatile long cadastrosAlteradosEm = System.currentTimeMillis();
+
+    public VersoesViagens(ViagemRepository viagemRepository) {
+        this.viagemRepository = viagemRepository;
+    }
+
+    public Carimbo carimboListas() {
+        VersaoListasViagens versao = viagemRepository.buscarVersaoListas();
+        long listasAlteradasEm = versao.ultimaAlteracao() != null ? milissegundos(versao.ultimaAlteracao()) : 0;
+        return new Carimbo(
+                "W/\"viagens-" + versao.quantidade() + "-" + versao.maiorId() + "-" + versao.somaVersoes()
+                        + "-" + instancia + "-" + versaoCadastros.get() + "\"",
+                Math.max(listasAlteradasEm, cadastrosAlteradosEm)
+        );
+    }
+
+    // vazio se a viagem não existe ou não é do motorista: o caminho normal devolve o erro
+    public Optional<Carimbo> carimboViagem(Long viagemId, String emailMotorista) {
+        return viagemRepository.buscarVersao(viagemId)
+                .filter(versao -> emailMotorista == null || emailMotorista.equals(versao.motoristaEmail()))
+                .map(this::carimbo);
+    }
+
+    private Carimbo carimbo(VersaoViagem versao) {
+        LocalDateTime atualizadoEm = versao.atualizadoEm() != null ? versao.atualizadoEm() : versao.dataCriacao();
+        long viagemAlteradaEm = milissegundos(atualizadoEm);
+        return new Carimbo(
+                "W/\"viagem-" + versao.id() + "-" + versao.versao() + "-" + instancia + "-" + versaoCadastros.get() + "\"",
+                Math.max(viagemAlteradaEm, cadastrosAlteradosEm)
+        );
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarCadastro(CadastroAlteradoEvent evento) {
+        cadastrosAlteradosEm = System.currentTimeMillis();
+        versaoCadastros.incrementAndGet();
+    }
+
+    private static long milissegundos(LocalDateTime instante) {
+        return instante.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,13 @@
+package com.gestaoViagens.service;
+
+import java.time.LocalDateTime;
+
+// publicado por ViagemService na transação que conclui a viagem
+public record ViagemConcluidaEvent(
+        Long viagemId,
+        Long motoristaId,
+        LocalDateTime dataInicio,
+        LocalDateTime dataFim,
+        int pontos
+) {
+}
@@ -0,0 +1,78 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.DashboardViagensResumoResponse;
+import com.gestaoViagens.DTO.PontoRotaResponse;
+import com.gestaoViagens.DTO.ViagemResponse;
+import com.gestaoViagens.ENUM.StatusPontoRota;
+import com.gestaoViagens.entity.Local;
+import com.gestaoViagens.entity.PontoRota;
+import com.gestaoViagens.entity.Viagem;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+@Component
+public class ViagemMapper {
+
+    public ViagemResponse toResponse(Viagem viagem) {
+        return toResponse(viagem, true);
+    }
+
+    // sem pontos, a coleção nem é inicializada: nenhuma consulta a pontos_rota/locais
+    public ViagemResponse toResponse(Viagem viagem, boolean incluirPontos) {
+        List<PontoRotaResponse> pontos = incluirPontos
+                ? viagem.getPontos().stream()
+                .sorted(Comparator.comparing(PontoRota::getOrdem))
+                .map(this::toPontoResponse)
+                .toList()
+                : null;
+
+        return new ViagemResponse(
+                viagem.getId(),
+                viagem.getNome(),
+                viagem.getStatus(),
+                viagem.getDataCriacao(),
+                viagem.getDataInicio(),
+                viagem.getDataFim(),
+                viagem.getMotorista() != null ? viagem.getMotorista().getNome() : null,
+                pontos
+        );
+    }
+
+    public PontoRotaResponse toPontoResponse(PontoRota p) {
+        Local local = p.getLocal();
+        return new PontoRotaResponse(
+                p.getId(),
+                p.getOrdem(),
+                p.getStatus(),
+                local != null ? local.getId() : null,
+                local != null ? local.getNome() : null,
+                local != null ? local.getEndereco() : null,
+                local != null ? local.getLatitude() : null,
+                local != null ? local.getLongitude() : null
+        );
+    }
+
+    public DashboardViagensResumoResponse.DashboardViagemItem toDashboardItem(Viagem v) {
+        int totalPontos = v.getPontos() != null ? v.getPontos().size() : 0;
+
+        int pontosVisitados = v.getPontos() != null
+                ? (int) v.getPontos().stream()
+                .filter(p -> p.getStatus() == StatusPontoRota.VISITADO)
+                .count()
+                : 0;
+
+        return new DashboardViagensResumoResponse.DashboardViagemItem(
+                v.getId(),
+                v.getNome(),
+                v.getMotorista() != null ? v.getMotorista().getNome() : null,
+                v.getStatus(),
+                v.getDataCriacao(),
+                v.getDataInicio(),
+                v.getDataFim(),
+                totalPontos,
+                pontosVisitados
+        );
+    }
+}
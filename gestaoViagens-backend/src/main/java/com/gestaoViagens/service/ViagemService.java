@@ -1,30 +1,46 @@
 package com.gestaoViagens.service;
 
-import com.gestaoViagens.DTO.PontoRotaResponse;
+import com.gestaoViagens.DTO.SincronizarVisitasRequest;
+import com.gestaoViagens.DTO.SincronizarVisitasResponse;
 import com.gestaoViagens.DTO.UsuarioMotoristaResumoResponse;
 import com.gestaoViagens.DTO.ViagemCreateRequest;
+import com.gestaoViagens.DTO.ViagemHistoricoResponse;
 import com.gestaoViagens.DTO.ViagemResponse;
+import com.gestaoViagens.DTO.ViagemResumoResponse;
 import com.gestaoViagens.ENUM.Role;
 import com.gestaoViagens.ENUM.StatusPontoRota;
 import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import com.gestaoViagens.entity.EventoViagem;
 import com.gestaoViagens.entity.Local;
 import com.gestaoViagens.entity.PontoRota;
 import com.gestaoViagens.entity.Usuario;
 import com.gestaoViagens.entity.Viagem;
+import com.gestaoViagens.entity.VisitaSincronizada;
+import com.gestaoViagens.repository.EventoViagemRepository;
 import com.gestaoViagens.repository.LocalRepository;
 import com.gestaoViagens.repository.PontoRotaRepository;
 import com.gestaoViagens.repository.UsuarioRepository;
 import com.gestaoViagens.repository.ViagemRepository;
+import com.gestaoViagens.repository.VisitaSincronizadaRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.gestaoViagens.DTO.DashboardViagensResumoResponse;
 
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Comparator;
+import java.util.Set;
 
 
 import java.util.List;
@@ -32,56 +48,76 @@ import java.util.List;
 @Service
 public class ViagemService {
 
+    // tamanho de visitas_sincronizadas.chave_idempotencia
+    private static final int TAMANHO_MAXIMO_CHAVE_IDEMPOTENCIA = 100;
+
     private final ViagemRepository viagemRepository;
     private final LocalRepository localRepository;
     private final UsuarioRepository usuarioRepository;
     private final PontoRotaRepository pontoRotaRepository;
+    private final VisitaSincronizadaRepository visitaSincronizadaRepository;
+    private final EventoViagemRepository eventoViagemRepository;
+    private final EventoViagemRegistro eventoViagemRegistro;
+    private final EventoViagemReplay eventoViagemReplay;
+    private final ViagemMapper viagemMapper;
+    private final DashboardViagensAgregador dashboardAgregador;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ViagemService(ViagemRepository viagemRepository,
                          LocalRepository localRepository,
                          UsuarioRepository usuarioRepository,
-                         PontoRotaRepository pontoRotaRepository) {
+                         PontoRotaRepository pontoRotaRepository,
+                         VisitaSincronizadaRepository visitaSincronizadaRepository,
+                         EventoViagemRepository eventoViagemRepository,
+                         EventoViagemRegistro eventoViagemRegistro,
+                         EventoViagemReplay eventoViagemReplay,
+                         ViagemMapper viagemMapper,
+                         DashboardViagensAgregador dashboardAgregador,
+                         PlatformTransactionManager transactionManager,
+                         ApplicationEventPublisher eventPublisher) {
         this.viagemRepository = viagemRepository;
         this.localRepository = localRepository;
         this.usuarioRepository = usuarioRepository;
         this.pontoRotaRepository = pontoRotaRepository;
+        this.visitaSincronizadaRepository = visitaSincronizadaRepository;
+        this.eventoViagemRepository = eventoViagemRepository;
+        this.eventoViagemRegistro = eventoViagemRegistro;
+        this.eventoViagemReplay = eventoViagemReplay;
+        this.viagemMapper = viagemMapper;
+        this.dashboardAgregador = dashboardAgregador;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
     }
 
     // ADMIN
 
     @Transactional(readOnly = true)
-    public List<ViagemResponse> listarTodasParaAdmin() {
-        return viagemRepository.findAll().stream()
-                .sorted(Comparator.comparing(Viagem::getDataCriacao).reversed())
-                .map(this::toResponse)
-                .toList();
+    public List<ViagemResumoResponse> listarTodasParaAdmin(boolean comContagens) {
+        return comContagens ? viagemRepository.listarResumos() : viagemRepository.listarResumosSemContagens();
     }
 
     @Transactional(readOnly = true)
-    public ViagemResponse buscarPorIdParaAdmin(Long id) {
+    public ViagemResponse buscarPorIdParaAdmin(Long id, boolean incluirPontos) {
         Viagem viagem = viagemRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Viagem não encontrada"));
-        return toResponse(viagem);
+        return viagemMapper.toResponse(viagem, incluirPontos);
     }
 
     // MOTORISTA
 
     @Transactional(readOnly = true)
-    public List<ViagemResponse> listarParaMotorista(String emailMotorista) {
+    public List<ViagemResumoResponse> listarParaMotorista(String emailMotorista, boolean comContagens) {
         Usuario motorista = usuarioRepository.findByEmailAndAtivoTrue(emailMotorista)
                 .orElseThrow(() -> new IllegalArgumentException("Motorista não encontrado ou inativo"));
 
-        return viagemRepository.findAll().stream()
-                .filter(v -> v.getMotorista() != null
-                        && v.getMotorista().getId() != null
-                        && v.getMotorista().getId().equals(motorista.getId()))
-                .sorted(Comparator.comparing(Viagem::getDataCriacao).reversed())
-                .map(this::toResponse)
-                .toList();
+        return comContagens
+                ? viagemRepository.listarResumosPorMotorista(motorista.getId())
+                : viagemRepository.listarResumosSemContagensPorMotorista(motorista.getId());
     }
 
     @Transactional(readOnly = true)
-    public ViagemResponse buscarPorIdParaMotorista(Long id, String emailMotorista) {
+    public ViagemResponse buscarPorIdParaMotorista(Long id, String emailMotorista, boolean incluirPontos) {
         Usuario motorista = usuarioRepository.findByEmailAndAtivoTrue(emailMotorista)
                 .orElseThrow(() -> new IllegalArgumentException("Motorista não encontrado ou inativo"));
 
@@ -94,7 +130,7 @@ public class ViagemService {
             throw new IllegalArgumentException("Viagem não pertence ao motorista");
         }
 
-        return toResponse(viagem);
+        return viagemMapper.toResponse(viagem, incluirPontos);
     }
 
     @Transactional
@@ -112,9 +148,11 @@ public class ViagemService {
                 : "Viagem " + LocalDateTime.now());
         viagem.setStatus(StatusViagem.PLANEJADA);
         viagem.setDataCriacao(LocalDateTime.now());
+        viagem.setAtualizadoEm(viagem.getDataCriacao());
         viagem.setMotorista(motorista);
 
         Viagem salva = viagemRepository.save(viagem);
+        eventoViagemRegistro.registrar(salva, null, TipoEventoViagem.VIAGEM_CRIADA, salva.getDataCriacao());
 
         int ordem = 1;
         for (Long localId : request.locaisIds()) {
@@ -128,12 +166,14 @@ public class ViagemService {
             ponto.setStatus(StatusPontoRota.PENDENTE);
 
             pontoRotaRepository.save(ponto);
+            // mantém a coleção da sessão coerente com o que foi gravado (e com o cache da coleção)
+            salva.getPontos().add(ponto);
         }
 
         Viagem completa = viagemRepository.findById(salva.getId())
                 .orElseThrow(() -> new IllegalStateException("Erro ao recarregar viagem"));
 
-        return toResponse(completa);
+        return viagemMapper.toResponse(completa);
     }
 
     @Transactional
@@ -159,9 +199,11 @@ public class ViagemService {
                 : "Viagem " + LocalDateTime.now());
         viagem.setStatus(StatusViagem.PLANEJADA);
         viagem.setDataCriacao(LocalDateTime.now());
+        viagem.setAtualizadoEm(viagem.getDataCriacao());
         viagem.setMotorista(motorista);
 
         Viagem salva = viagemRepository.save(viagem);
+        eventoViagemRegistro.registrar(salva, null, TipoEventoViagem.VIAGEM_CRIADA, salva.getDataCriacao());
 
         int ordem = 1;
         for (Long localId : request.locaisIds()) {
@@ -175,12 +217,14 @@ public class ViagemService {
             ponto.setStatus(StatusPontoRota.PENDENTE);
 
             pontoRotaRepository.save(ponto);
+            // mantém a coleção da sessão coerente com o que foi gravado (e com o cache da coleção)
+            salva.getPontos().add(ponto);
         }
 
         Viagem completa = viagemRepository.findById(salva.getId())
                 .orElseThrow(() -> new IllegalStateException("Erro ao recarregar viagem"));
 
-        return toResponse(completa);
+        return viagemMapper.toResponse(completa);
     }
 
 
@@ -205,97 +249,219 @@ public class ViagemService {
             throw new IllegalArgumentException("Ponto não pertence à viagem informada");
         }
 
-        if (ponto.getStatus() == StatusPontoRota.VISITADO) {
-            return toResponse(viagem);
+        if (!aplicarVisita(viagem, ponto, LocalDateTime.now())) {
+            return viagemMapper.toResponse(viagem);
         }
 
-        if (viagem.getStatus() == StatusViagem.PLANEJADA) {
-            viagem.setStatus(StatusViagem.EM_ANDAMENTO);
-            viagem.setDataInicio(LocalDateTime.now());
+        pontoRotaRepository.save(ponto);
+        Viagem salva = viagemRepository.save(viagem);
+        return viagemMapper.toResponse(salva);
+    }
+
+    @Transactional
+    public ViagemResponse marcarPontoComoVisitadoComoAdmin(Long viagemId, Long pontoId) {
+        Viagem viagem = viagemRepository.findById(viagemId)
+                .orElseThrow(() -> new IllegalArgumentException("Viagem não encontrada"));
+
+        PontoRota ponto = pontoRotaRepository.findById(pontoId)
+                .orElseThrow(() -> new IllegalArgumentException("Ponto da rota não encontrado"));
+
+        if (!ponto.getViagem().getId().equals(viagemId)) {
+            throw new IllegalArgumentException("Ponto não pertence à viagem informada");
+        }
+
+        if (!aplicarVisita(viagem, ponto, LocalDateTime.now())) {
+            return viagemMapper.toResponse(viagem);
         }
 
-        ponto.setStatus(StatusPontoRota.VISITADO);
         pontoRotaRepository.save(ponto);
+        Viagem salva = viagemRepository.save(viagem);
+        return viagemMapper.toResponse(salva);
+    }
 
-        boolean todosVisitados = viagem.getPontos().stream()
-                .allMatch(p -> p.getStatus() == StatusPontoRota.VISITADO);
 
-        if (todosVisitados) {
-            viagem.setStatus(StatusViagem.CONCLUIDA);
-            viagem.setDataFim(LocalDateTime.now());
+    // Visitas registradas offline pelo app e enviadas de uma vez: uma transação por viagem,
+    // eventos aplicados na ordem em que aconteceram e reenvios ignorados pela chave de idempotência.
+    public SincronizarVisitasResponse sincronizarVisitas(SincronizarVisitasRequest request, String emailMotorista) {
+        if (request == null || request.visitas() == null || request.visitas().isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma visita informada");
+        }
+
+        Usuario motorista = usuarioRepository.findByEmailAndAtivoTrue(emailMotorista)
+                .orElseThrow(() -> new IllegalArgumentException("Motorista não encontrado ou inativo"));
+
+        Map<Long, List<SincronizarVisitasRequest.VisitaOffline>> porViagem = new LinkedHashMap<>();
+        int rejeitadas = 0;
+        for (SincronizarVisitasRequest.VisitaOffline visita : request.visitas()) {
+            // chave acima do tamanho da coluna violaria a constraint nas duas tentativas
+            if (visita.viagemId() == null || visita.pontoId() == null
+                    || visita.chaveIdempotencia() == null || visita.chaveIdempotencia().isBlank()
+                    || visita.chaveIdempotencia().length() > TAMANHO_MAXIMO_CHAVE_IDEMPOTENCIA) {
+                rejeitadas++;
+                continue;
+            }
+            porViagem.computeIfAbsent(visita.viagemId(), id -> new ArrayList<>()).add(visita);
+        }
+
+        int aplicadas = 0;
+        int duplicadas = 0;
+        List<ViagemResponse> viagens = new ArrayList<>();
+
+        for (Map.Entry<Long, List<SincronizarVisitasRequest.VisitaOffline>> entrada : porViagem.entrySet()) {
+            ResultadoSincronizacao resultado;
+            try {
+                resultado = transactionTemplate.execute(status ->
+                        sincronizarVisitasDaViagem(motorista.getId(), entrada.getKey(), entrada.getValue()));
+            } catch (DataIntegrityViolationException e) {
+                // outro envio com as mesmas chaves gravou antes; na segunda tentativa elas aparecem como duplicadas
+                resultado = transactionTemplate.execute(status ->
+                        sincronizarVisitasDaViagem(motorista.getId(), entrada.getKey(), entrada.getValue()));
+            }
+
+            aplicadas += resultado.aplicadas();
+            duplicadas += resultado.duplicadas();
+            rejeitadas += resultado.rejeitadas();
+            if (resultado.viagem() != null) {
+                viagens.add(resultado.viagem());
+            }
+        }
+
+        return new SincronizarVisitasResponse(aplicadas, duplicadas, rejeitadas, viagens);
+    }
+
+    private ResultadoSincronizacao sincronizarVisitasDaViagem(Long motoristaId,
+                                                            Long viagemId,
+                                                            List<SincronizarVisitasRequest.VisitaOffline> visitas) {
+        Viagem viagem = viagemRepository.findById(viagemId).orElse(null);
+        if (viagem == null
+                || viagem.getMotorista() == null
+                || !motoristaId.equals(viagem.getMotorista().getId())) {
+            return new ResultadoSincronizacao(null, 0, 0, visitas.size());
+        }
+
+        Set<String> jaAplicadas = new HashSet<>(visitaSincronizadaRepository.findChavesJaAplicadas(
+                motoristaId,
+                visitas.stream().map(SincronizarVisitasRequest.VisitaOffline::chaveIdempotencia).toList()
+        ));
+
+        Map<Long, PontoRota> pontosPorId = new HashMap<>();
+        for (PontoRota p : viagem.getPontos()) {
+            pontosPorId.put(p.getId(), p);
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<SincronizarVisitasRequest.VisitaOffline> ordenadas = visitas.stream()
+                .sorted(Comparator.comparing(
+                        SincronizarVisitasRequest.VisitaOffline::visitadoEm,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        int aplicadas = 0;
+        int duplicadas = 0;
+        int rejeitadas = 0;
+        List<VisitaSincronizada> registros = new ArrayList<>();
+
+        for (SincronizarVisitasRequest.VisitaOffline visita : ordenadas) {
+            if (!jaAplicadas.add(visita.chaveIdempotencia())) {
+                duplicadas++;
+                continue;
+            }
+            PontoRota ponto = pontosPorId.get(visita.pontoId());
+            if (ponto == null) {
+                rejeitadas++;
+                continue;
+            }
+
+            // relógio do aparelho pode estar adiantado: nunca registra visita no futuro
+            LocalDateTime quando = visita.visitadoEm() == null || visita.visitadoEm().isAfter(agora)
+                    ? agora
+                    : visita.visitadoEm();
+
+            if (aplicarVisita(viagem, ponto, quando)) {
+                aplicadas++;
+            } else {
+                duplicadas++;
+            }
+
+            registros.add(VisitaSincronizada.builder()
+                    .motoristaId(motoristaId)
+                    .chaveIdempotencia(visita.chaveIdempotencia())
+                    .viagemId(viagemId)
+                    .pontoId(ponto.getId())
+                    .visitadoEm(quando)
+                    .recebidoEm(agora)
+                    .build());
         }
 
+        visitaSincronizadaRepository.saveAll(registros);
         Viagem salva = viagemRepository.save(viagem);
-        return toResponse(salva);
+        return new ResultadoSincronizacao(viagemMapper.toResponse(salva), aplicadas, duplicadas, rejeitadas);
+    }
+
+    private record ResultadoSincronizacao(ViagemResponse viagem, int aplicadas, int duplicadas, int rejeitadas) {
     }
 
+    // visita disparada pela cerca geográfica (GeofenceViagens) a partir de uma posição GPS do motorista
     @Transactional
-    public ViagemResponse marcarPontoComoVisitadoComoAdmin(Long viagemId, Long pontoId) {
+    public boolean marcarPontoComoVisitadoPorGeofence(Long viagemId, Long pontoId, Long motoristaId, LocalDateTime quando) {
         Viagem viagem = viagemRepository.findById(viagemId)
                 .orElseThrow(() -> new IllegalArgumentException("Viagem não encontrada"));
 
-        PontoRota ponto = pontoRotaRepository.findById(pontoId)
-                .orElseThrow(() -> new IllegalArgumentException("Ponto da rota não encontrado"));
+        if (!viagem.getMotorista().getId().equals(motoristaId)) {
+            throw new IllegalArgumentException("Viagem não pertence ao motorista");
+        }
+        if (viagem.getStatus() == StatusViagem.CONCLUIDA) {
+            return false;
+        }
 
-        if (!ponto.getViagem().getId().equals(viagemId)) {
-            throw new IllegalArgumentException("Ponto não pertence à viagem informada");
+        PontoRota ponto = viagem.getPontos().stream()
+                .filter(p -> p.getId().equals(pontoId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Ponto não pertence à viagem informada"));
+
+        if (!aplicarVisita(viagem, ponto, quando)) {
+            return false;
         }
 
+        pontoRotaRepository.save(ponto);
+        viagemRepository.save(viagem);
+        return true;
+    }
+
+    // transição de estado de uma visita: inicia a viagem no primeiro ponto e conclui no último.
+    // Retorna false se o ponto já estava visitado.
+    private boolean aplicarVisita(Viagem viagem, PontoRota ponto, LocalDateTime quando) {
         if (ponto.getStatus() == StatusPontoRota.VISITADO) {
-            return toResponse(viagem);
+            return false;
         }
 
         if (viagem.getStatus() == StatusViagem.PLANEJADA) {
             viagem.setStatus(StatusViagem.EM_ANDAMENTO);
-            viagem.setDataInicio(LocalDateTime.now());
+            viagem.setDataInicio(quando);
+            eventoViagemRegistro.registrar(viagem, null, TipoEventoViagem.VIAGEM_INICIADA, quando);
         }
 
         ponto.setStatus(StatusPontoRota.VISITADO);
-        pontoRotaRepository.save(ponto);
+        // a visita altera só o ponto; tocar a viagem faz o Hibernate incrementar a versão dela
+        viagem.setAtualizadoEm(LocalDateTime.now());
+        eventoViagemRegistro.registrar(viagem, ponto, TipoEventoViagem.PONTO_VISITADO, quando);
 
         boolean todosVisitados = viagem.getPontos().stream()
                 .allMatch(p -> p.getStatus() == StatusPontoRota.VISITADO);
 
         if (todosVisitados) {
             viagem.setStatus(StatusViagem.CONCLUIDA);
-            viagem.setDataFim(LocalDateTime.now());
+            viagem.setDataFim(quando);
+            eventoViagemRegistro.registrar(viagem, null, TipoEventoViagem.VIAGEM_CONCLUIDA, quando);
+            eventPublisher.publishEvent(new ViagemConcluidaEvent(
+                    viagem.getId(),
+                    viagem.getMotorista().getId(),
+                    viagem.getDataInicio(),
+                    viagem.getDataFim(),
+                    viagem.getPontos().size()
+            ));
         }
-
-        Viagem salva = viagemRepository.save(viagem);
-        return toResponse(salva);
-    }
-
-
-    private ViagemResponse toResponse(Viagem viagem) {
-        List<PontoRotaResponse> pontos = viagem.getPontos().stream()
-                .sorted(Comparator.comparing(PontoRota::getOrdem))
-                .map(this::toPontoResponse)
-                .toList();
-
-        return new ViagemResponse(
-                viagem.getId(),
-                viagem.getNome(),
-                viagem.getStatus(),
-                viagem.getDataCriacao(),
-                viagem.getDataInicio(),
-                viagem.getDataFim(),
-                viagem.getMotorista() != null ? viagem.getMotorista().getNome() : null,
-                pontos
-        );
-    }
-
-    private PontoRotaResponse toPontoResponse(PontoRota p) {
-        Local local = p.getLocal();
-        return new PontoRotaResponse(
-                p.getId(),
-                p.getOrdem(),
-                p.getStatus(),
-                local != null ? local.getId() : null,
-                local != null ? local.getNome() : null,
-                local != null ? local.getEndereco() : null,
-                local != null ? local.getLatitude() : null,
-                local != null ? local.getLongitude() : null
-        );
+        return true;
     }
 
     @Transactional(readOnly = true)
@@ -314,7 +480,7 @@ public class ViagemService {
     public List<ViagemResponse> listarTodasComInativos() {
         return viagemRepository.findAll()  // Consulta todas as viagens
                 .stream()
-                .map(this::toResponse)
+                .map(viagemMapper::toResponse)
                 .toList();
     }
 
@@ -323,113 +489,33 @@ public class ViagemService {
         Viagem viagem = viagemRepository.findById(viagemId)
                 .orElseThrow(() -> new IllegalArgumentException("Viagem não encontrada"));
 
+        // reiniciar sobrescreveria dataInicio e duplicaria VIAGEM_INICIADA no histórico, outbox e rollup
+        if (viagem.getStatus() != StatusViagem.PLANEJADA) {
+            throw new IllegalArgumentException("Somente viagens planejadas podem ser iniciadas");
+        }
+
         viagem.setStatus(StatusViagem.EM_ANDAMENTO);
         viagem.setDataInicio(LocalDateTime.now());
+        viagem.setAtualizadoEm(viagem.getDataInicio());
         viagemRepository.save(viagem);
+        eventoViagemRegistro.registrar(viagem, null, TipoEventoViagem.VIAGEM_INICIADA, viagem.getDataInicio());
 
-        return toResponse(viagem);
+        return viagemMapper.toResponse(viagem);
     }
 
-    public DashboardViagensResumoResponse montarResumoDashboard() {
-        List<Viagem> todas = viagemRepository.findAllByOrderByDataCriacaoDesc();
-
-        long total = todas.size();
-        long totalPlanejadas = todas.stream()
-                .filter(v -> v.getStatus() == StatusViagem.PLANEJADA)
-                .count();
-        long totalEmAndamento = todas.stream()
-                .filter(v -> v.getStatus() == StatusViagem.EM_ANDAMENTO)
-                .count();
-        long totalConcluidas = todas.stream()
-                .filter(v -> v.getStatus() == StatusViagem.CONCLUIDA)
-                .count();
-
-        List<DashboardViagensResumoResponse.DashboardViagemItem> emAndamento = todas.stream()
-                .filter(v -> v.getStatus() == StatusViagem.EM_ANDAMENTO)
-                .map(this::toDashboardItem)
-                .limit(5)
-                .toList();
-
-        List<DashboardViagensResumoResponse.DashboardViagemItem> concluidas = todas.stream()
-                .filter(v -> v.getStatus() == StatusViagem.CONCLUIDA)
-                .map(this::toDashboardItem)
-                .limit(5)
-                .toList();
-
-        // agregação de viagens por motorista nos últimos 30 dias (pela data de criação)
-        LocalDateTime trintaDiasAtras = LocalDateTime.now().minusDays(30);
-
-        Map<Long, DashboardViagensResumoResponse.ViagensPorMotoristaItem> mapa = new HashMap<>();
-
-        for (Viagem v : todas) {
-            if (v.getDataCriacao() == null || v.getDataCriacao().isBefore(trintaDiasAtras)) {
-                continue;
-            }
-            Long motoristaId = v.getMotorista().getId();
-            String motoristaNome = v.getMotorista().getNome();
-
-            DashboardViagensResumoResponse.ViagensPorMotoristaItem atual = mapa.get(motoristaId);
-            if (atual == null) {
-                mapa.put(
-                        motoristaId,
-                        new DashboardViagensResumoResponse.ViagensPorMotoristaItem(
-                                motoristaId,
-                                motoristaNome,
-                                1L
-                        )
-                );
-            } else {
-                mapa.put(
-                        motoristaId,
-                        new DashboardViagensResumoResponse.ViagensPorMotoristaItem(
-                                motoristaId,
-                                atual.motoristaNome(),
-                                atual.quantidadeViagens() + 1
-                        )
-                );
-            }
+    @Transactional(readOnly = true)
+    public ViagemHistoricoResponse reconstruirHistorico(Long viagemId) {
+        List<EventoViagem> eventos = eventoViagemRepository.findByViagemIdOrderByOcorridoEmAscIdAsc(viagemId);
+        if (eventos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum evento registrado para a viagem");
         }
-
-        List<DashboardViagensResumoResponse.ViagensPorMotoristaItem> viagensPorMotoristaUltimos30Dias =
-                mapa.values().stream()
-                        .sorted(Comparator.comparingLong(
-                                DashboardViagensResumoResponse.ViagensPorMotoristaItem::quantidadeViagens
-                        ).reversed())
-                        .limit(8) // mostra até 8 motoristas no gráfico
-                        .toList();
-
-        return new DashboardViagensResumoResponse(
-                total,
-                totalPlanejadas,
-                totalEmAndamento,
-                totalConcluidas,
-                emAndamento,
-                concluidas,
-                viagensPorMotoristaUltimos30Dias
-        );
+        return eventoViagemReplay.reconstruir(viagemId, eventos);
     }
 
-    private DashboardViagensResumoResponse.DashboardViagemItem toDashboardItem(Viagem v) {
-        int totalPontos = v.getPontos() != null ? v.getPontos().size() : 0;
-
-        int pontosVisitados = v.getPontos() != null
-                ? (int) v.getPontos().stream()
-                .filter(p -> p.getStatus() == StatusPontoRota.VISITADO)
-                .count()
-                : 0;
-
-        return new DashboardViagensResumoResponse.DashboardViagemItem(
-                v.getId(),
-                v.getNome(),
-                v.getMotorista() != null ? v.getMotorista().getNome() : null,
-                v.getStatus(),
-                v.getDataCriacao(),
-                v.getDataInicio(),
-                v.getDataFim(),
-                totalPontos,
-                pontosVisitados
-        );
+    @Transactional(readOnly = true)
+    public DashboardViagensResumoResponse montarResumoDashboard() {
+        List<Viagem> todas = viagemRepository.findAllByOrderByDataCriacaoDesc();
+        return dashboardAgregador.agregar(todas, LocalDateTime.now());
     }
 
-
 }
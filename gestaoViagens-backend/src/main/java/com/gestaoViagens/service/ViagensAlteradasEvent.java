@@ -0,0 +1,10 @@
+package com.gestaoViagens.service;
+
+import java.util.Set;
+
+// publicado após o commit de uma transação que registrou eventos de viagem
+public record ViagensAlteradasEvent(
+        Set<Long> viagemIds,
+        Set<Long> motoristaIds
+) {
+}
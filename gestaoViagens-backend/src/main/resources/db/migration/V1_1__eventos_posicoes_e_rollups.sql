@@ -0,0 +1,78 @@
+-- Tabelas novas da sincronização offline, histórico de eventos, posições GPS, outbox, rollups
+-- e histogramas de desempenho. IF NOT EXISTS (índices declarados dentro da tabela): bancos
+-- criados pelo ddl-auto=update depois dessas entidades já têm parte delas.
+
+CREATE TABLE IF NOT EXISTS visitas_sincronizadas (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    motorista_id BIGINT NOT NULL,
+    chave_idempotencia VARCHAR(100) NOT NULL,
+    viagem_id BIGINT NOT NULL,
+    ponto_id BIGINT NOT NULL,
+    visitado_em DATETIME(6) NOT NULL,
+    recebido_em DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_visita_sincronizada_chave UNIQUE (motorista_id, chave_idempotencia)
+);
+
+CREATE TABLE IF NOT EXISTS eventos_viagem (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    viagem_id BIGINT NOT NULL,
+    ponto_id BIGINT,
+    motorista_id BIGINT NOT NULL,
+    tipo VARCHAR(30) NOT NULL,
+    ator VARCHAR(255) NOT NULL,
+    ocorrido_em DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_eventos_viagem_viagem (viagem_id, ocorrido_em)
+);
+
+CREATE TABLE IF NOT EXISTS posicoes_motorista (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    motorista_id BIGINT NOT NULL,
+    latitude DOUBLE NOT NULL,
+    longitude DOUBLE NOT NULL,
+    registrado_em DATETIME(6) NOT NULL,
+    recebido_em DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_posicoes_motorista_motorista (motorista_id, registrado_em)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_eventos (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    viagem_id BIGINT NOT NULL,
+    ponto_id BIGINT,
+    motorista_id BIGINT NOT NULL,
+    tipo VARCHAR(30) NOT NULL,
+    ocorrido_em DATETIME(6) NOT NULL,
+    criado_em DATETIME(6) NOT NULL,
+    tentativas INT NOT NULL,
+    ultimo_erro VARCHAR(500),
+    entregue_em DATETIME(6),
+    falhou_em DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_outbox_eventos_pendentes (entregue_em, falhou_em, id)
+);
+
+CREATE TABLE IF NOT EXISTS rollup_viagens_diario (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    dia DATE NOT NULL,
+    motorista_id BIGINT NOT NULL,
+    viagens_criadas BIGINT NOT NULL,
+    viagens_iniciadas BIGINT NOT NULL,
+    viagens_concluidas BIGINT NOT NULL,
+    pontos_visitados BIGINT NOT NULL,
+    duracao_total_segundos BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_rollup_viagens_dia_motorista UNIQUE (dia, motorista_id)
+);
+
+CREATE TABLE IF NOT EXISTS sketches_desempenho (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    motorista_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    metrica VARCHAR(30) NOT NULL,
+    histograma MEDIUMBLOB NOT NULL,
+    atualizado_em DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_sketch_desempenho UNIQUE (motorista_id, dia, metrica)
+);
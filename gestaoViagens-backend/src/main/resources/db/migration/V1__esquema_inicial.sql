@@ -0,0 +1,47 @@
+-- Esquema anterior às migrações, equivalente ao gerado pelo Hibernate (ddl-auto=update).
+-- Bancos já existentes recebem o baseline nesta versão (baseline-on-migrate) e seguem da V1.1.
+
+CREATE TABLE usuarios (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    role VARCHAR(30) NOT NULL,
+    ativo BIT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+CREATE TABLE locais (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(255) NOT NULL,
+    endereco VARCHAR(255) NOT NULL,
+    latitude DOUBLE,
+    longitude DOUBLE,
+    observacoes VARCHAR(1000),
+    ativo BIT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE viagens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    motorista_id BIGINT NOT NULL,
+    nome VARCHAR(255) NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    data_criacao DATETIME(6) NOT NULL,
+    data_inicio DATETIME(6),
+    data_fim DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_viagens_motorista FOREIGN KEY (motorista_id) REFERENCES usuarios (id)
+);
+
+CREATE TABLE pontos_rota (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    viagem_id BIGINT NOT NULL,
+    local_id BIGINT NOT NULL,
+    ordem INT NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_pontos_rota_viagem FOREIGN KEY (viagem_id) REFERENCES viagens (id),
+    CONSTRAINT fk_pontos_rota_local FOREIGN KEY (local_id) REFERENCES locais (id)
+);
@@ -0,0 +1,20 @@
+-- Índices das consultas da aplicação que não vêm das entidades.
+
+-- listagens ordenadas por data de criação (admin e por motorista)
+CREATE INDEX idx_viagens_motorista_criacao ON viagens (motorista_id, data_criacao);
+CREATE INDEX idx_viagens_criacao ON viagens (data_criacao);
+
+-- rastreamento (viagens em andamento) e geofence (viagens ativas do motorista)
+CREATE INDEX idx_viagens_status_motorista ON viagens (status, motorista_id);
+
+-- recálculo do rollup diário
+CREATE INDEX idx_viagens_inicio ON viagens (data_inicio);
+CREATE INDEX idx_viagens_fim ON viagens (data_fim);
+CREATE INDEX idx_eventos_viagem_tipo_ocorrido ON eventos_viagem (tipo, ocorrido_em);
+
+-- séries: intervalo de dias de um motorista
+CREATE INDEX idx_rollup_viagens_motorista_dia ON rollup_viagens_diario (motorista_id, dia);
+
+-- listas de locais ativos e de motoristas ativos
+CREATE INDEX idx_locais_ativo_nome ON locais (ativo, nome);
+CREATE INDEX idx_usuarios_role_ativo ON usuarios (role, ativo);
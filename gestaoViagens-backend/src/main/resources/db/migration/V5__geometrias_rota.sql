@@ -0,0 +1,12 @@
+-- Traçado das rotas em encoded polyline, compartilhado por viagens com a mesma sequência de locais.
+-- IF NOT EXISTS: a tabela já existe em bancos criados pelo ddl-auto=update depois da entidade.
+CREATE TABLE IF NOT EXISTS geometrias_rota (
+    chave VARCHAR(64) NOT NULL,
+    locais TEXT NOT NULL,
+    polyline MEDIUMTEXT NOT NULL,
+    provedor VARCHAR(40) NOT NULL,
+    assinatura VARCHAR(64) NOT NULL,
+    pontos INT NOT NULL,
+    gerada_em DATETIME(6) NOT NULL,
+    PRIMARY KEY (chave)
+);
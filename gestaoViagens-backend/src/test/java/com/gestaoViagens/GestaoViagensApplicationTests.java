@@ -1,13 +1,44 @@
 package com.gestaoViagens;
 
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class GestaoViagensApplicationTests {
 
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void regioesDoCacheUsamOsNomesDoApplicationConf() {
+		String[] regioes = entityManagerFactory.unwrap(SessionFactory.class)
+				.getStatistics()
+				.getSecondLevelCacheRegionNames();
+
+		assertThat(regioes).contains("local", "usuario", "pontoRota", "viagemPontos", "geometriaRota");
+		// nenhuma entidade em cache pode cair numa região padrão (nome com ponto)
+		assertThat(regioes).noneMatch(regiao -> regiao.contains("."));
+		CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+		assertThat(cacheManager.getCache("local").getConfiguration(CaffeineConfiguration.class).getMaximumSize())
+				.hasValue(50_000);
+		assertThat(cacheManager.getCache("geometriaRota").getConfiguration(CaffeineConfiguration.class).getMaximumSize())
+				.hasValue(500);
+	}
+
 }
@@ -0,0 +1,95 @@
+package com.gestaoViagens;
+
+import com.gestaoViagens.entity.Viagem;
+import com.gestaoViagens.repository.LocalRepository;
+import com.gestaoViagens.repository.ViagemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Passa para o profile prod bancos que já existiam antes do Flyway: um com o esquema
+ * anterior à série (baseline na V1) e outro criado pelo ddl-auto=update com as entidades
+ * atuais. Nos dois as migrações seguintes precisam rodar sem erro e o Hibernate valida o
+ * esquema resultante.
+ */
+class MigracoesBancoExistenteTest {
+
+	@Test
+	void bancoComEsquemaInicialRecebeBaselineEAsMigracoesSeguintes() throws Exception {
+		String url = novaUrl();
+		try (Connection conexao = DriverManager.getConnection(url, "sa", "");
+				Statement comando = conexao.createStatement()) {
+			ScriptUtils.executeSqlScript(conexao, new ClassPathResource("db/migration/V1__esquema_inicial.sql"));
+			comando.execute("INSERT INTO usuarios (nome, email, senha, role, ativo) "
+					+ "VALUES ('Motorista', 'antigo@tripflow.com', 'x', 'MOTORISTA', TRUE)");
+			comando.execute("INSERT INTO locais (nome, endereco, ativo) VALUES ('Depósito', 'Rua A, 1', TRUE)");
+			comando.execute("INSERT INTO viagens (motorista_id, nome, status, data_criacao) "
+					+ "VALUES (1, 'Antiga', 'PLANEJADA', CURRENT_TIMESTAMP)");
+			comando.execute("INSERT INTO pontos_rota (viagem_id, local_id, ordem, status) VALUES (1, 1, 1, 'PENDENTE')");
+		}
+
+		try (ConfigurableApplicationContext contexto = subirProd(url)) {
+			JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+			assertThat(jdbcTemplate.queryForObject(
+					"SELECT type FROM flyway_schema_history WHERE version = '1'", String.class))
+					.isEqualTo("BASELINE");
+			assertThat(versoesAplicadas(jdbcTemplate)).containsExactly("1", "1.1", "2", "3", "4", "5");
+
+			Viagem viagem = contexto.getBean(ViagemRepository.class).findById(1L).orElseThrow();
+			assertThat(viagem.getVersao()).isZero();
+			assertThat(contexto.getBean(LocalRepository.class).findById(1L).orElseThrow().getEnderecoHash()).isNull();
+		}
+	}
+
+	@Test
+	void bancoCriadoPeloDdlAutoRecebeSoOQueFalta() {
+		String url = novaUrl();
+		new SpringApplicationBuilder(GestaoViagensApplication.class)
+				.profiles("test")
+				.run("--spring.datasource.url=" + url, "--spring.jpa.hibernate.ddl-auto=update", "--server.port=0")
+				.close();
+
+		try (ConfigurableApplicationContext contexto = subirProd(url)) {
+			JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+			assertThat(versoesAplicadas(jdbcTemplate)).containsExactly("1", "1.1", "2", "3", "4", "5");
+			// índices das consultas (V2) não vêm das entidades: foram criados pela migração
+			assertThat(jdbcTemplate.queryForObject(
+					"SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'idx_viagens_criacao'",
+					Integer.class))
+					.isPositive();
+		}
+	}
+
+	private static ConfigurableApplicationContext subirProd(String url) {
+		return new SpringApplicationBuilder(GestaoViagensApplication.class)
+				.profiles("prod", "test")
+				.run("--spring.datasource.url=" + url,
+						"--spring.jpa.hibernate.ddl-auto=validate",
+						"--spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true",
+						"--server.port=0");
+	}
+
+	private static List<String> versoesAplicadas(JdbcTemplate jdbcTemplate) {
+		return jdbcTemplate.queryForList(
+				"SELECT version FROM flyway_schema_history WHERE success = TRUE AND version IS NOT NULL "
+						+ "ORDER BY installed_rank",
+				String.class);
+	}
+
+	private static String novaUrl() {
+		return "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+	}
+
+}
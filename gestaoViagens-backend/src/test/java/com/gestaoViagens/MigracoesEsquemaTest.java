@@ -0,0 +1,45 @@
+package com.gestaoViagens;
+
+import com.gestaoViagens.repository.UsuarioRepository;
+import com.gestaoViagens.repository.ViagemRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sobe o profile prod sobre um H2 vazio: o esquema vem só das migrações Flyway e o
+ * Hibernate valida (ddl-auto=validate) que ele tem todas as tabelas e colunas das entidades.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:migracoes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access=true"
+})
+@ActiveProfiles({"prod", "test"})
+class MigracoesEsquemaTest {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Autowired
+	private ViagemRepository viagemRepository;
+
+	@Test
+	void migracoesCriamEsquemaUsadoPelasEntidades() {
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM flyway_schema_history WHERE success = TRUE", Integer.class))
+				.isGreaterThanOrEqualTo(6);
+
+		// DataLoader gravou pelas entidades e as consultas principais rodam sobre o esquema migrado
+		assertThat(usuarioRepository.findByEmail("admin@tripflow.com")).isPresent();
+		assertThat(viagemRepository.listarResumos()).isEmpty();
+	}
+
+}
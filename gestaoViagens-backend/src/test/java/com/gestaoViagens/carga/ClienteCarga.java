@@ -0,0 +1,64 @@
+package com.gestaoViagens.carga;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Cliente HTTP com sessão própria (cookie JSESSIONID), autenticado pelo form login da API.
+ */
+final class ClienteCarga {
+
+    private final HttpClient http;
+    private final String baseUrl;
+
+    private ClienteCarga(HttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    static ClienteCarga autenticado(String baseUrl, String email, String senha) throws IOException, InterruptedException {
+        HttpClient http = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String form = "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8)
+                + "&password=" + URLEncoder.encode(senha, StandardCharsets.UTF_8);
+
+        HttpResponse<Void> resposta = http.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("Falha no login de " + email + ": HTTP " + resposta.statusCode());
+        }
+        return new ClienteCarga(http, baseUrl);
+    }
+
+    int get(String caminho) throws IOException, InterruptedException {
+        return http.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + caminho)).GET().build(),
+                HttpResponse.BodyHandlers.discarding()
+        ).statusCode();
+    }
+
+    int postJson(String caminho, String json) throws IOException, InterruptedException {
+        return http.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding()
+        ).statusCode();
+    }
+}
@@ -0,0 +1,131 @@
+package com.gestaoViagens.carga;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga ponta a ponta contra os controllers reais, com H2 em modo MySQL
+ * populado pelo profile "seed". Só roda quando pedido explicitamente:
+ * {@code mvn test -Dcarga=true -Dtest=EndpointsCargaTest}. O profile "loadtest" vem depois
+ * de "seed" para que o H2 e os volumes menores dele prevaleçam.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"seed", "loadtest"})
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class EndpointsCargaTest {
+
+    private static final String SENHA_MOTORISTAS = "motorista123";
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.carga.concorrencia}")
+    private int concorrencia;
+
+    @Value("${app.carga.requisicoes}")
+    private int requisicoes;
+
+    private ClienteCarga admin;
+    private final Map<String, ClienteCarga> motoristas = new HashMap<>();
+    private List<String> emails;
+    private List<Long> locais;
+
+    @BeforeEach
+    void autenticar() throws Exception {
+        String baseUrl = "http://localhost:" + porta;
+        admin = ClienteCarga.autenticado(baseUrl, "admin@tripflow.com", "admin123");
+
+        emails = jdbcTemplate.queryForList(
+                "SELECT email FROM usuarios WHERE role = 'MOTORISTA' AND email LIKE '%@seed.tripflow.com' ORDER BY id",
+                String.class);
+        for (String email : emails) {
+            motoristas.put(email, ClienteCarga.autenticado(baseUrl, email, SENHA_MOTORISTAS));
+        }
+        locais = jdbcTemplate.queryForList("SELECT id FROM locais WHERE ativo = TRUE ORDER BY id", Long.class);
+    }
+
+    @Test
+    void endpointsSobConcorrencia() throws Exception {
+        List<MedidorCarga.Resultado> resultados = new ArrayList<>();
+
+        resultados.add(MedidorCarga.medir("GET /api/admin/viagens", requisicoes, concorrencia,
+                i -> admin.get("/api/admin/viagens")));
+
+        resultados.add(MedidorCarga.medir("GET /api/admin/viagens/dashboard", requisicoes, concorrencia,
+                i -> admin.get("/api/admin/viagens/dashboard")));
+
+        resultados.addAll(medirEndpointsMotorista());
+
+        System.out.println();
+        System.out.println("==== Teste de carga (" + perfil() + ", " + concorrencia + " clientes) ====");
+        resultados.forEach(r -> System.out.println(r.formatar()));
+
+        assertThat(resultados).allSatisfy(r -> assertThat(r.erros()).isZero());
+    }
+
+    protected List<MedidorCarga.Resultado> medirEndpointsMotorista() throws Exception {
+        List<MedidorCarga.Resultado> resultados = new ArrayList<>();
+
+        resultados.add(MedidorCarga.medir("GET /api/motorista/viagens", requisicoes, concorrencia,
+                i -> motorista(i).get("/api/motorista/viagens")));
+
+        resultados.add(MedidorCarga.medir("POST /api/motorista/viagens", requisicoes, concorrencia,
+                i -> motorista(i).postJson("/api/motorista/viagens", novaViagemJson(i))));
+
+        // cada visita usa um ponto pendente de uma viagem diferente, do próprio motorista;
+        // visitas simultâneas na mesma viagem disputariam a versão dela (lock otimista)
+        List<Map<String, Object>> pendentes = jdbcTemplate.queryForList("""
+                SELECT p.viagem_id, MIN(p.id) AS ponto_id, u.email
+                FROM pontos_rota p
+                JOIN viagens v ON v.id = p.viagem_id
+                JOIN usuarios u ON u.id = v.motorista_id
+                WHERE p.status = 'PENDENTE' AND u.email LIKE '%@seed.tripflow.com'
+                GROUP BY p.viagem_id, u.email
+                ORDER BY p.viagem_id
+                LIMIT ?
+                """, requisicoes);
+
+        resultados.add(MedidorCarga.medir("POST /api/motorista/.../visitar", pendentes.size(), concorrencia, i -> {
+            Map<String, Object> ponto = pendentes.get(i);
+            return motoristas.get((String) ponto.get("email")).postJson(
+                    "/api/motorista/viagens/" + ponto.get("viagem_id") + "/pontos/" + ponto.get("ponto_id") + "/visitar",
+                    "{}");
+        }));
+
+        return resultados;
+    }
+
+    protected String perfil() {
+        return "threads de plataforma";
+    }
+
+    private ClienteCarga motorista(int indice) {
+        return motoristas.get(emails.get(indice % emails.size()));
+    }
+
+    private String novaViagemJson(int indice) {
+        String ids = IntStream.range(0, 4)
+                .mapToObj(k -> String.valueOf(locais.get((indice * 7 + k * 13) % locais.size())))
+                .collect(Collectors.joining(","));
+        return "{\"nome\":\"Carga " + indice + "\",\"locaisIds\":[" + ids + "]}";
+    }
+}
@@ -0,0 +1,19 @@
+package com.gestaoViagens.carga;
+
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Mesma carga de {@link EndpointsCargaTest}, com o profile "virtual" ativo, para comparar
+ * os dois modos. Para alta concorrência: {@code -Dapp.carga.concorrencia=500}.
+ * A condição de {@code -Dcarga=true} não é herdada da superclasse e precisa ser repetida.
+ */
+@ActiveProfiles("virtual")
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class EndpointsCargaThreadsVirtuaisTest extends EndpointsCargaTest {
+
+    @Override
+    protected String perfil() {
+        return "threads virtuais";
+    }
+}
@@ -0,0 +1,67 @@
+package com.gestaoViagens.carga;
+
+import com.gestaoViagens.GestaoViagensApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compara o tempo de subida do contexto com o esquema gerado pelo Hibernate e beans
+ * criados no boot (loadtest) contra o profile prod (migrações Flyway, sem leitura de
+ * metadados, inicialização lazy). Cada rodada usa um banco H2 novo e vazio. A checagem
+ * do esquema migrado contra as entidades roda no build padrão (MigracoesEsquemaTest).
+ * {@code mvn test -Dcarga=true -Dtest=InicializacaoTempoTest}
+ */
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class InicializacaoTempoTest {
+
+    private static final int RODADAS = 5;
+    private static final AtomicInteger BANCOS = new AtomicInteger();
+
+    @Test
+    void compararTempoDeInicializacao() {
+        // aquecimento da JVM (carga de classes) fora da medição
+        subir("loadtest").close();
+        subir("loadtest", "prod").close();
+
+        List<Long> padrao = new ArrayList<>();
+        List<Long> prod = new ArrayList<>();
+        for (int i = 0; i < RODADAS; i++) {
+            padrao.add(medir("loadtest"));
+            prod.add(medir("loadtest", "prod"));
+        }
+
+        long medianaPadrao = mediana(padrao);
+        long medianaProd = mediana(prod);
+        System.out.println();
+        System.out.println("==== Tempo de inicialização (mediana de " + RODADAS + " rodadas) ====");
+        System.out.printf("ddl-auto + beans no boot : %5d ms %s%n", medianaPadrao, padrao);
+        System.out.printf("prod (Flyway + lazy)     : %5d ms %s%n", medianaProd, prod);
+        System.out.printf("diferença                : %5d ms%n", medianaPadrao - medianaProd);
+    }
+
+    private static long medir(String... perfis) {
+        long inicio = System.nanoTime();
+        try (ConfigurableApplicationContext ignored = subir(perfis)) {
+            return (System.nanoTime() - inicio) / 1_000_000;
+        }
+    }
+
+    private static ConfigurableApplicationContext subir(String... perfis) {
+        String url = "jdbc:h2:mem:inicializacao" + BANCOS.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        return new SpringApplicationBuilder(GestaoViagensApplication.class)
+                .profiles(perfis)
+                .run("--spring.datasource.url=" + url, "--server.port=0");
+    }
+
+    private static long mediana(List<Long> valores) {
+        List<Long> ordenados = valores.stream().sorted().toList();
+        return ordenados.get(ordenados.size() / 2);
+    }
+}
@@ -0,0 +1,78 @@
+package com.gestaoViagens.carga;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dispara um número fixo de requisições com N clientes concorrentes e calcula p50/p99 e vazão.
+ */
+final class MedidorCarga {
+
+    @FunctionalInterface
+    interface Requisicao {
+        /** Executa a i-ésima requisição e devolve o status HTTP. */
+        int executar(int indice) throws Exception;
+    }
+
+    record Resultado(String endpoint, int requisicoes, int erros, double p50Ms, double p99Ms, double vazao) {
+
+        String formatar() {
+            return String.format(Locale.ROOT, "%-42s n=%-6d erros=%-4d p50=%8.2f ms  p99=%8.2f ms  vazao=%9.1f req/s",
+                    endpoint, requisicoes, erros, p50Ms, p99Ms, vazao);
+        }
+    }
+
+    private MedidorCarga() {
+    }
+
+    static Resultado medir(String endpoint, int requisicoes, int concorrencia, Requisicao requisicao)
+            throws InterruptedException {
+        long[] latencias = new long[requisicoes];
+        AtomicInteger proxima = new AtomicInteger();
+        AtomicInteger erros = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concorrencia);
+        long inicio = System.nanoTime();
+        for (int t = 0; t < concorrencia; t++) {
+            executor.execute(() -> {
+                int i;
+                while ((i = proxima.getAndIncrement()) < requisicoes) {
+                    long t0 = System.nanoTime();
+                    try {
+                        if (requisicao.executar(i) >= 400) {
+                            erros.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        erros.incrementAndGet();
+                    }
+                    latencias[i] = System.nanoTime() - t0;
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.MINUTES)) {
+            executor.shutdownNow();
+            throw new IllegalStateException("Carga em " + endpoint + " não terminou em 10 minutos");
+        }
+        long duracao = System.nanoTime() - inicio;
+
+        Arrays.sort(latencias);
+        return new Resultado(
+                endpoint,
+                requisicoes,
+                erros.get(),
+                percentil(latencias, 0.50),
+                percentil(latencias, 0.99),
+                requisicoes / (duracao / 1_000_000_000.0)
+        );
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,74 @@
+package com.gestaoViagens.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestaoViagens.DTO.ViagemResponse;
+import com.gestaoViagens.service.ViagemMapper;
+import com.gestaoViagens.support.ViagensSinteticas;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara tamanho do payload e tempo de serialização de JSON e CBOR (com e sem gzip)
+ * para viagens sintéticas grandes, como as devolvidas pela API do motorista.
+ */
+class FormatoBinarioComparacaoTest {
+
+    private static final int REPETICOES = 20;
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+
+    @Test
+    void cborGeraPayloadMenorQueJson() throws IOException {
+        ViagemMapper mapper = new ViagemMapper();
+        List<ViagemResponse> viagens = new ViagensSinteticas(7L, 10, 2_000).gerar(50, 200).stream()
+                .map(mapper::toResponse)
+                .toList();
+
+        Medicao medicaoJson = medir(json, viagens);
+        Medicao medicaoCbor = medir(cbor, viagens);
+
+        System.out.println(medicaoJson.formatar("JSON"));
+        System.out.println(medicaoCbor.formatar("CBOR"));
+
+        assertThat(medicaoCbor.bytes()).isLessThan(medicaoJson.bytes());
+        assertThat(cbor.readValue(cbor.writeValueAsBytes(viagens.get(0)), ViagemResponse.class))
+                .isEqualTo(viagens.get(0));
+    }
+
+    private Medicao medir(ObjectMapper objectMapper, List<ViagemResponse> viagens) throws IOException {
+        byte[] payload = objectMapper.writeValueAsBytes(viagens);
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < REPETICOES; i++) {
+            objectMapper.writeValueAsBytes(viagens);
+        }
+        double msPorSerializacao = (System.nanoTime() - inicio) / 1_000_000.0 / REPETICOES;
+
+        return new Medicao(payload.length, gzip(payload).length, msPorSerializacao);
+    }
+
+    private static byte[] gzip(byte[] dados) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        }
+        return saida.toByteArray();
+    }
+
+    private record Medicao(int bytes, int bytesGzip, double msPorSerializacao) {
+
+        String formatar(String formato) {
+            return String.format(Locale.ROOT, "%-5s %9d bytes  %8d bytes gzip  %7.2f ms/serialização",
+                    formato, bytes, bytesGzip, msPorSerializacao);
+        }
+    }
+}
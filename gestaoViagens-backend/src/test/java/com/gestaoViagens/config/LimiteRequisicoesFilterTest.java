@@ -0,0 +1,45 @@
+package com.gestaoViagens.config;
+
+import com.gestaoViagens.ENUM.ClasseEndpoint;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimiteRequisicoesFilterTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "POST, /api/motorista/posicoes, POSICOES",
+            "GET, /api/admin/viagens/dashboard, PESADA",
+            "GET, /api/admin/viagens/series, PESADA",
+            "GET, /api/admin/viagens, PESADA",
+            "POST, /api/admin/viagens/lote/iniciar, PESADA",
+            "POST, /api/admin/viagens/lote/concluir, PESADA",
+            "POST, /api/admin/viagens/lote/reatribuir, PESADA",
+            "POST, /api/admin/locais/importar, PESADA",
+            "POST, /api/admin/locais, ESCRITA",
+            "POST, /api/admin/viagens, ESCRITA",
+            "POST, /api/admin/viagens/3/iniciar, ESCRITA",
+            "GET, /api/admin/viagens/3, LEITURA",
+            "GET, /api/motorista/viagens, LEITURA"
+    })
+    void classificaPeloMetodoECaminho(String metodo, String caminho, ClasseEndpoint esperada) {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, caminho);
+
+        assertThat(LimiteRequisicoesFilter.classificar(request)).isEqualTo(esperada);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "POST, /app/api/admin/viagens/lote/concluir, PESADA",
+            "GET, /app/api/admin/viagens/3, LEITURA"
+    })
+    void ignoraOContextPath(String metodo, String caminho, ClasseEndpoint esperada) {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, caminho);
+        request.setContextPath("/app");
+
+        assertThat(LimiteRequisicoesFilter.classificar(request)).isEqualTo(esperada);
+    }
+}
@@ -0,0 +1,123 @@
+package com.gestaoViagens.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Usa dois bancos H2 independentes como primário e réplica; cada um responde
+ * com o próprio nome, o que mostra para onde cada transação foi roteada.
+ */
+class RoteamentoDataSourceTest {
+
+    private final DataSource primario = banco("primario");
+    private final DataSource replica = banco("replica");
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate leitura;
+    private TransactionTemplate escrita;
+
+    @BeforeEach
+    void preparar() {
+        DataSource roteado = ReplicaDataSourceConfig.rotear(primario, replica);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(roteado);
+
+        jdbcTemplate = new JdbcTemplate(roteado);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        escrita = new TransactionTemplate(transactionManager);
+
+        ContextoRoteamento.iniciar(false);
+    }
+
+    @AfterEach
+    void limpar() {
+        ContextoRoteamento.limpar();
+    }
+
+    @Test
+    void transacaoSomenteLeituraVaiParaReplica() {
+        assertThat(origemDaLeitura()).isEqualTo("replica");
+    }
+
+    @Test
+    void transacaoDeEscritaVaiParaPrimario() {
+        String origem = escrita.execute(status -> {
+            jdbcTemplate.update("UPDATE origem SET escritas = escritas + 1");
+            return jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class);
+        });
+
+        assertThat(origem).isEqualTo("primario");
+        assertThat(ContextoRoteamento.houveEscrita()).isTrue();
+    }
+
+    @Test
+    void leituraAposEscritaNaMesmaRequisicaoVaiParaPrimario() {
+        escrita.executeWithoutResult(status -> jdbcTemplate.update("UPDATE origem SET escritas = escritas + 1"));
+
+        assertThat(origemDaLeitura()).isEqualTo("primario");
+    }
+
+    @Test
+    void sessaoComEscritaRecenteLeDoPrimario() throws Exception {
+        MockHttpSession sessao = new MockHttpSession();
+        sessao.setAttribute(LeituraAposEscritaFilter.ATRIBUTO_ULTIMA_ESCRITA, System.currentTimeMillis());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/motorista/viagens");
+        request.setSession(sessao);
+
+        assertThat(origemDentroDoFiltro(request, 5_000)).isEqualTo("primario");
+    }
+
+    @Test
+    void sessaoComEscritaAntigaLeDaReplica() throws Exception {
+        MockHttpSession sessao = new MockHttpSession();
+        sessao.setAttribute(LeituraAposEscritaFilter.ATRIBUTO_ULTIMA_ESCRITA, System.currentTimeMillis() - 60_000);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/motorista/viagens");
+        request.setSession(sessao);
+
+        assertThat(origemDentroDoFiltro(request, 5_000)).isEqualTo("replica");
+    }
+
+    private String origemDaLeitura() {
+        return leitura.execute(status -> jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class));
+    }
+
+    private String origemDentroDoFiltro(MockHttpServletRequest request, long toleranciaMs) throws Exception {
+        AtomicReference<String> origem = new AtomicReference<>();
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                origem.set(origemDaLeitura());
+            }
+        });
+
+        new LeituraAposEscritaFilter(toleranciaMs).doFilter(request, new MockHttpServletResponse(), chain);
+        return origem.get();
+    }
+
+    private static DataSource banco(String nome) {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS origem (nome VARCHAR(20), escritas INT)");
+        jdbc.update("DELETE FROM origem");
+        jdbc.update("INSERT INTO origem (nome, escritas) VALUES (?, 0)", nome);
+        return dataSource;
+    }
+}
@@ -0,0 +1,62 @@
+package com.gestaoViagens.controller;
+
+import com.gestaoViagens.DTO.PontoRotaResponse;
+import com.gestaoViagens.DTO.ViagemResponse;
+import com.gestaoViagens.DTO.ViagemResumoResponse;
+import com.gestaoViagens.ENUM.StatusPontoRota;
+import com.gestaoViagens.ENUM.StatusViagem;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CamposRespostaTest {
+
+    private static final ViagemResponse VIAGEM = new ViagemResponse(
+            1L, "Entregas", StatusViagem.PLANEJADA, LocalDateTime.now(), null, null, "Motorista",
+            List.of(new PontoRotaResponse(10L, 1, StatusPontoRota.PENDENTE, 5L, "Depósito", "Rua A, 1", -26.3, -48.8))
+    );
+
+    @Test
+    void semFieldsDevolveARespostaCompleta() {
+        CamposResposta campos = CamposResposta.de(null, ViagemResponse.class);
+
+        assertThat(campos.inclui("pontos")).isTrue();
+        assertThat(campos.aplicar(VIAGEM)).isSameAs(VIAGEM);
+    }
+
+    @Test
+    void selecionaCamposDaViagemEDosPontos() {
+        CamposResposta campos = CamposResposta.de("id, nome, pontos.latitude, pontos.longitude", ViagemResponse.class);
+
+        assertThat(campos.inclui("pontos")).isTrue();
+        assertThat(campos.aplicar(VIAGEM)).isEqualTo(Map.of(
+                "id", 1L,
+                "nome", "Entregas",
+                "pontos", List.of(Map.of("latitude", -26.3, "longitude", -48.8))
+        ));
+    }
+
+    @Test
+    void listaSemContagensNaoPedePontos() {
+        CamposResposta campos = CamposResposta.de("id,motoristaNome", ViagemResumoResponse.class);
+        ViagemResumoResponse resumo = new ViagemResumoResponse(
+                1L, "Entregas", StatusViagem.PLANEJADA, LocalDateTime.now(), null, null, "Motorista");
+
+        assertThat(campos.inclui("totalPontos")).isFalse();
+        assertThat(campos.aplicar(List.of(resumo))).isEqualTo(List.of(Map.of("id", 1L, "motoristaNome", "Motorista")));
+    }
+
+    @Test
+    void campoDesconhecidoEhRejeitado() {
+        assertThatThrownBy(() -> CamposResposta.de("id,placa", ViagemResponse.class))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> CamposResposta.de("pontos.placa", ViagemResponse.class))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+}
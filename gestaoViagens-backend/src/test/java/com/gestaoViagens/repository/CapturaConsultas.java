@@ -0,0 +1,93 @@
+package com.gestaoViagens.repository;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registra o SQL (e os parâmetros) executado pela thread atual enquanto uma chamada
+ * está em {@link #durante(Runnable)}. Consultas de outras threads (agendados) são ignoradas.
+ */
+class CapturaConsultas implements QueryExecutionListener {
+
+    private static final ThreadLocal<List<Sql>> CAPTURADAS = new ThreadLocal<>();
+
+    record Sql(String texto, List<ParameterSetOperation> parametros) {
+
+        boolean consulta() {
+            return texto.stripLeading().regionMatches(true, 0, "select", 0, 6);
+        }
+
+        // reaplica os setXxx originais num outro PreparedStatement (o do EXPLAIN)
+        void aplicar(PreparedStatement ps) throws SQLException {
+            for (ParameterSetOperation operacao : parametros) {
+                try {
+                    operacao.getMethod().invoke(ps, operacao.getArgs());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Falha ao reaplicar parâmetro " + operacao.getMethod().getName(), e);
+                }
+            }
+        }
+    }
+
+    static List<Sql> durante(Runnable chamada) {
+        List<Sql> capturadas = new ArrayList<>();
+        CAPTURADAS.set(capturadas);
+        try {
+            chamada.run();
+        } finally {
+            CAPTURADAS.remove();
+        }
+        return capturadas;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<Sql> capturadas = CAPTURADAS.get();
+        if (capturadas == null) {
+            return;
+        }
+        for (QueryInfo info : queryInfoList) {
+            List<ParameterSetOperation> parametros = info.getParametersList().isEmpty()
+                    ? List.of()
+                    : List.copyOf(info.getParametersList().get(0));
+            capturadas.add(new Sql(info.getQuery(), parametros));
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Configuracao {
+
+        @Bean
+        static BeanPostProcessor capturaConsultasDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .name(beanName)
+                                .listener(new CapturaConsultas())
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.gestaoViagens.repository;
+
+import com.gestaoViagens.ENUM.Role;
+import com.gestaoViagens.ENUM.StatusViagem;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ColumnMapRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Roda cada consulta dos repositórios contra um MySQL real (Testcontainers) com o esquema
+ * das migrações e a frota sintética do profile seed, captura o SQL gerado pelo Hibernate
+ * e confere o EXPLAIN de cada SELECT: viagens e pontos_rota não podem ser lidas por
+ * varredura completa (exceto nas listagens sem filtro) e a estimativa de linhas
+ * examinadas tem que caber no orçamento da consulta. Sem Docker o teste é ignorado.
+ */
+@SpringBootTest(properties = {
+        "app.seed.motoristas=" + PlanoConsultasTest.MOTORISTAS,
+        "app.seed.locais=" + PlanoConsultasTest.LOCAIS,
+        "app.seed.viagens=" + PlanoConsultasTest.VIAGENS,
+        "app.seed.pontos-max=15",
+        // cada chamada tem que chegar ao banco
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@ActiveProfiles({"prod", "seed"})
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Import(CapturaConsultas.Configuracao.class)
+class PlanoConsultasTest {
+
+    static final int MOTORISTAS = 50;
+    static final int LOCAIS = 2000;
+    static final int VIAGENS = 10000;
+
+    // ~8,5 pontos por viagem com pontos-max=15
+    private static final long PONTOS_POR_VIAGEM = 10;
+
+    private static final Set<String> TABELAS_SEM_VARREDURA = Set.of("viagens", "pontos_rota");
+    private static final Set<String> ACESSOS_DE_VARREDURA = Set.of("ALL", "index");
+
+    // "from viagens v1_0" / "join usuarios m1_0" -> alias usado na coluna table do EXPLAIN
+    private static final Pattern TABELA_ALIAS =
+            Pattern.compile("(?i)\\b(?:from|join)\\s+(\\w+)\\s+(?:as\\s+)?(\\w+)");
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.4")
+            .withUrlParam("rewriteBatchedStatements", "true");
+
+    @Autowired
+    private ViagemRepository viagemRepository;
+
+    @Autowired
+    private PontoRotaRepository pontoRotaRepository;
+
+    @Autowired
+    private LocalRepository localRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long motoristaId;
+    private String motoristaEmail;
+    private long viagemId;
+    private long pontoId;
+    private long localId;
+
+    /**
+     * Consulta registrada: nome "Repositorio.metodo", se a varredura completa é esperada
+     * e o máximo de linhas examinadas (estimativa do EXPLAIN) por instrução SQL.
+     */
+    private record Consulta(String nome, boolean varreduraPermitida, long orcamentoLinhas, Runnable chamada) {
+    }
+
+    @BeforeAll
+    void prepararAmostras() {
+        // estatísticas atualizadas depois do seed, senão o otimizador estima com tabelas vazias
+        jdbcTemplate.execute("ANALYZE TABLE usuarios, locais, viagens, pontos_rota");
+
+        motoristaId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM usuarios WHERE email LIKE '%@seed.tripflow.com'", Long.class);
+        motoristaEmail = jdbcTemplate.queryForObject(
+                "SELECT email FROM usuarios WHERE id = ?", String.class, motoristaId);
+        viagemId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM viagens WHERE motorista_id = ?", Long.class, motoristaId);
+        pontoId = jdbcTemplate.queryForObject(
+                "SELECT MIN(id) FROM pontos_rota WHERE viagem_id = ?", Long.class, viagemId);
+        localId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM locais", Long.class);
+    }
+
+    private List<Consulta> consultas() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(true);
+
+        return List.of(
+                // ViagemRepository
+                new Consulta("ViagemRepository.findAllByOrderByDataCriacaoDesc", true, 2L * VIAGENS,
+                        () -> viagemRepository.findAllByOrderByDataCriacaoDesc()),
+                new Consulta("ViagemRepository.findComMotoristaPorStatus", false, 6_000,
+                        () -> viagemRepository.findComMotoristaPorStatus(StatusViagem.EM_ANDAMENTO)),
+                new Consulta("ViagemRepository.findComPontosPorMotoristaEStatus", false, 3_000,
+                        () -> viagemRepository.findComPontosPorMotoristaEStatus(motoristaId,
+                                List.of(StatusViagem.PLANEJADA, StatusViagem.EM_ANDAMENTO))),
+                new Consulta("ViagemRepository.listarResumos", true, (PONTOS_POR_VIAGEM + 5) * VIAGENS,
+                        () -> viagemRepository.listarResumos()),
+                new Consulta("ViagemRepository.listarResumosPorMotorista", false, 5_000,
+                        () -> viagemRepository.listarResumosPorMotorista(motoristaId)),
+                new Consulta("ViagemRepository.listarResumosSemContagens", true, 2L * VIAGENS,
+                        () -> viagemRepository.listarResumosSemContagens()),
+                new Consulta("ViagemRepository.listarResumosSemContagensPorMotorista", false, 1_000,
+                        () -> viagemRepository.listarResumosSemContagensPorMotorista(motoristaId)),
+                new Consulta("ViagemRepository.buscarVersao", false, 10,
+                        () -> viagemRepository.buscarVersao(viagemId)),
+                // carimbo das listagens: agrega a tabela, como as próprias listagens
+                new Consulta("ViagemRepository.buscarVersaoListas", true, 2L * VIAGENS,
+                        () -> viagemRepository.buscarVersaoListas()),
+                new Consulta("ViagemRepository.findById", false, 10,
+                        () -> viagemRepository.findById(viagemId)),
+                new Consulta("ViagemRepository.findAll", true, 2L * VIAGENS,
+                        () -> viagemRepository.findAll()),
+                new Consulta("Viagem.pontos", false, 10 + 2 * PONTOS_POR_VIAGEM,
+                        () -> transacao.executeWithoutResult(status ->
+                                viagemRepository.findById(viagemId).orElseThrow().getPontos().size())),
+
+                // PontoRotaRepository
+                new Consulta("PontoRotaRepository.findById", false, 10,
+                        () -> pontoRotaRepository.findById(pontoId)),
+                new Consulta("PontoRotaRepository.listarParadas", false, 10 + 2 * PONTOS_POR_VIAGEM,
+                        () -> pontoRotaRepository.listarParadas(viagemId)),
+
+                // LocalRepository
+                new Consulta("LocalRepository.findByAtivoTrue", false, 2L * LOCAIS,
+                        () -> localRepository.findByAtivoTrue()),
+                new Consulta("LocalRepository.findByAtivoTrueOrderByNomeAsc", false, 2L * LOCAIS,
+                        () -> localRepository.findByAtivoTrueOrderByNomeAsc()),
+                new Consulta("LocalRepository.findById", false, 10,
+                        () -> localRepository.findById(localId)),
+                new Consulta("LocalRepository.listarMarcadores", true, 2L * LOCAIS,
+                        () -> localRepository.listarMarcadores()),
+                new Consulta("LocalRepository.findAll", true, 2L * LOCAIS,
+                        () -> localRepository.findAll()),
+
+                // UsuarioRepository
+                new Consulta("UsuarioRepository.findByEmail", false, 10,
+                        () -> usuarioRepository.findByEmail(motoristaEmail)),
+                new Consulta("UsuarioRepository.findByEmailAndAtivoTrue", false, 10,
+                        () -> usuarioRepository.findByEmailAndAtivoTrue(motoristaEmail)),
+                new Consulta("UsuarioRepository.existsByEmail", false, 10,
+                        () -> usuarioRepository.existsByEmail(motoristaEmail)),
+                new Consulta("UsuarioRepository.findFirstByOrderByIdAsc", false, 10,
+                        () -> usuarioRepository.findFirstByOrderByIdAsc()),
+                new Consulta("UsuarioRepository.findByRoleAndAtivoTrue", false, 2L * MOTORISTAS + 10,
+                        () -> usuarioRepository.findByRoleAndAtivoTrue(Role.MOTORISTA)),
+                new Consulta("UsuarioRepository.findById", false, 10,
+                        () -> usuarioRepository.findById(motoristaId)),
+                new Consulta("UsuarioRepository.findAll", true, 2L * MOTORISTAS + 10,
+                        () -> usuarioRepository.findAll())
+        );
+    }
+
+    @Test
+    void todaConsultaDeclaradaTemPlanoVerificado() {
+        Set<String> registradas = consultas().stream().map(Consulta::nome).collect(Collectors.toSet());
+
+        List<String> semPlano = Stream.of(ViagemRepository.class, PontoRotaRepository.class,
+                        LocalRepository.class, UsuarioRepository.class)
+                .flatMap(repositorio -> Arrays.stream(repositorio.getDeclaredMethods())
+                        .filter(metodo -> !metodo.isDefault() && !metodo.isSynthetic())
+                        .map(Method::getName)
+                        .map(metodo -> repositorio.getSimpleName() + "." + metodo))
+                .filter(nome -> !registradas.contains(nome))
+                .toList();
+
+        assertThat(semPlano)
+                .as("consultas novas precisam ser registradas em PlanoConsultasTest.consultas()")
+                .isEmpty();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> planosDentroDoOrcamento() {
+        return consultas().stream().map(consulta -> DynamicTest.dynamicTest(consulta.nome(), () -> {
+            List<CapturaConsultas.Sql> capturadas = CapturaConsultas.durante(consulta.chamada());
+            List<CapturaConsultas.Sql> selects = capturadas.stream().filter(CapturaConsultas.Sql::consulta).toList();
+            assertThat(selects).as("SQL capturado de %s", consulta.nome()).isNotEmpty();
+
+            List<String> problemas = new ArrayList<>();
+            for (CapturaConsultas.Sql sql : selects) {
+                problemas.addAll(avaliar(consulta, sql));
+            }
+            assertThat(problemas).as(consulta.nome()).isEmpty();
+        }));
+    }
+
+    private List<String> avaliar(Consulta consulta, CapturaConsultas.Sql sql) {
+        List<Map<String, Object>> plano = jdbcTemplate.query("EXPLAIN " + sql.texto(), sql::aplicar, new ColumnMapRowMapper());
+        Map<String, String> tabelas = tabelasPorAlias(sql.texto());
+
+        List<String> problemas = new ArrayList<>();
+        // junção em laço aninhado: cada tabela é lida uma vez por linha que chega das anteriores
+        double linhasQueChegam = 1;
+        double examinadas = 0;
+        for (Map<String, Object> linha : plano) {
+            String alias = String.valueOf(linha.get("table"));
+            String tabela = tabelas.getOrDefault(alias, alias);
+            String acesso = String.valueOf(linha.get("type"));
+            Number linhas = (Number) linha.get("rows");
+            Number filtrado = (Number) linha.get("filtered");
+
+            if (linhas != null) {
+                examinadas += linhasQueChegam * linhas.doubleValue();
+                double seletividade = filtrado != null ? filtrado.doubleValue() / 100 : 1;
+                linhasQueChegam *= Math.max(1, linhas.doubleValue() * seletividade);
+            }
+            if (!consulta.varreduraPermitida()
+                    && TABELAS_SEM_VARREDURA.contains(tabela)
+                    && ACESSOS_DE_VARREDURA.contains(acesso)) {
+                problemas.add("varredura completa (" + acesso + ") em " + tabela + descrever(sql, plano));
+            }
+        }
+
+        if (examinadas > consulta.orcamentoLinhas()) {
+            problemas.add(String.format(Locale.ROOT, "%.0f linhas examinadas (orçamento %d)%s",
+                    examinadas, consulta.orcamentoLinhas(), descrever(sql, plano)));
+        }
+        return problemas;
+    }
+
+    private static Map<String, String> tabelasPorAlias(String sql) {
+        Map<String, String> tabelas = new HashMap<>();
+        Matcher matcher = TABELA_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            tabelas.put(matcher.group(2), matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        return tabelas;
+    }
+
+    private static String descrever(CapturaConsultas.Sql sql, List<Map<String, Object>> plano) {
+        StringBuilder texto = new StringBuilder("\n  ").append(sql.texto());
+        for (Map<String, Object> linha : plano) {
+            Map<String, Object> resumo = new LinkedHashMap<>();
+            for (String coluna : List.of("table", "type", "possible_keys", "key", "rows", "filtered", "Extra")) {
+                resumo.put(coluna, linha.get(coluna));
+            }
+            texto.append("\n    ").append(resumo);
+        }
+        return texto.toString();
+    }
+}
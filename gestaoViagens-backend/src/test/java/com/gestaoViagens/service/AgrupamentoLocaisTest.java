@@ -0,0 +1,81 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.GrupoLocaisResponse;
+import com.gestaoViagens.DTO.MarcadorLocal;
+import com.gestaoViagens.repository.LocalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AgrupamentoLocaisTest {
+
+    private AgrupamentoLocais agrupamento;
+    private LocalRepository localRepository;
+    private List<MarcadorLocal> locais;
+
+    @BeforeEach
+    void setUp() {
+        // 100 locais numa grade de ~1 km perto de Joinville
+        locais = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            locais.add(new MarcadorLocal(i + 1, "Local " + (i + 1), -26.30 + (i / 10) * 0.01, -48.85 + (i % 10) * 0.01));
+        }
+        localRepository = mock(LocalRepository.class);
+        when(localRepository.listarMarcadores()).thenReturn(locais);
+        agrupamento = new AgrupamentoLocais(localRepository, 15, 64);
+    }
+
+    @Test
+    void zoomBaixoJuntaTudoNumGrupo() {
+        List<GrupoLocaisResponse> grupos = agrupamento.agrupar(-27, -50, -25, -48, 5);
+
+        assertThat(grupos).hasSize(1);
+        assertThat(grupos.get(0).quantidade()).isEqualTo(100);
+        assertThat(grupos.get(0).latitude()).isBetween(-26.30, -26.21);
+        assertThat(grupos.get(0).localId()).isNull();
+    }
+
+    @Test
+    void zoomAltoSeparaOsLocaisEFiltraPeloRetangulo() {
+        List<GrupoLocaisResponse> grupos = agrupamento.agrupar(-26.305, -48.855, -26.285, -48.835, 15);
+
+        assertThat(grupos).extracting(GrupoLocaisResponse::quantidade).containsOnly(1);
+        assertThat(grupos).extracting(GrupoLocaisResponse::localId).containsExactlyInAnyOrder(1L, 2L, 11L, 12L);
+    }
+
+    @Test
+    void alteracoesAtualizamAGradeSemRecarregar() {
+        agrupamento.agrupar(-27, -50, -25, -48, 5);
+
+        // mesmo evento duas vezes (reentrega) não duplica o local
+        LocalAlteradoEvent movido = new LocalAlteradoEvent(1L, "Local 1", -23.55, -46.63, true);
+        agrupamento.aoAlterarLocal(movido);
+        agrupamento.aoAlterarLocal(movido);
+        agrupamento.aoAlterarLocal(new LocalAlteradoEvent(2L, "Local 2", -26.30, -48.84, false));
+
+        assertThat(agrupamento.agrupar(-27, -50, -25, -48, 5).get(0).quantidade()).isEqualTo(98);
+        assertThat(agrupamento.agrupar(-24, -47, -23, -46, 5))
+                .extracting(GrupoLocaisResponse::localId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void alteracaoRecebidaDuranteAReconstrucaoEntraNaGradeNova() {
+        agrupamento.agrupar(-27, -50, -25, -48, 5);
+
+        // o local 1 é desativado enquanto a releitura ainda devolve o estado anterior
+        when(localRepository.listarMarcadores()).thenAnswer(invocacao -> {
+            agrupamento.aoAlterarLocal(new LocalAlteradoEvent(1L, "Local 1", -26.30, -48.85, false));
+            return locais;
+        });
+        agrupamento.reconstruir();
+
+        assertThat(agrupamento.agrupar(-27, -50, -25, -48, 5).get(0).quantidade()).isEqualTo(99);
+    }
+}
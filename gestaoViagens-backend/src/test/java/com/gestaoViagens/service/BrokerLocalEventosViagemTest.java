@@ -0,0 +1,56 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// outbox com os beans reais: o despachante entrega ao broker local, que republica o lote na aplicação
+@SpringBootTest(properties = "app.outbox.intervalo-ms=3600000")
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class BrokerLocalEventosViagemTest {
+
+    @Autowired
+    private OutboxDespachante despachante;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    @Test
+    void loteDoOutboxChegaAosListenersDaAplicacao() {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("""
+                INSERT INTO outbox_eventos (viagem_id, ponto_id, motorista_id, tipo, ocorrido_em, criado_em, tentativas)
+                VALUES (42, 7, 3, ?, ?, ?, 0)
+                """, TipoEventoViagem.PONTO_VISITADO.name(), agora, agora);
+
+        despachante.despachar();
+
+        List<EventoViagemPublicado> entregues = eventos.stream(EventosViagemEntreguesEvent.class)
+                .flatMap(e -> e.eventos().stream())
+                .toList();
+        assertThat(entregues).singleElement().satisfies(e -> {
+            assertThat(e.viagemId()).isEqualTo(42L);
+            assertThat(e.pontoId()).isEqualTo(7L);
+            assertThat(e.tipo()).isEqualTo(TipoEventoViagem.PONTO_VISITADO);
+        });
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_eventos WHERE entregue_em IS NULL", Integer.class))
+                .isZero();
+        assertThat(despachante.estatisticas().entregues()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,121 @@
+package com.gestaoViagens.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BufferPosicoesTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2024, 5, 10, 8, 0);
+
+    @Test
+    void capacidadeArredondaParaPotenciaDeDoisERecusaQuandoCheio() {
+        BufferPosicoes buffer = new BufferPosicoes(3);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.oferecer(posicao(i))).isTrue();
+        }
+        assertThat(buffer.oferecer(posicao(4))).isFalse();
+
+        List<PosicoesIngestao.Posicao> drenadas = new ArrayList<>();
+        assertThat(buffer.drenar(drenadas, 2)).isEqualTo(2);
+        assertThat(buffer.oferecer(posicao(5))).isTrue();
+        assertThat(buffer.oferecer(posicao(6))).isTrue();
+        assertThat(buffer.oferecer(posicao(7))).isFalse();
+
+        assertThat(buffer.drenar(drenadas, 10)).isEqualTo(4);
+        assertThat(drenadas).extracting(PosicoesIngestao.Posicao::motoristaId)
+                .containsExactly(0L, 1L, 2L, 3L, 5L, 6L);
+        assertThat(buffer.vazio()).isTrue();
+    }
+
+    @Test
+    void naoFechaComProdutorEmAndamentoEFechadoNaoAceitaReserva() {
+        BufferPosicoes buffer = new BufferPosicoes(4);
+
+        assertThat(buffer.reservar()).isTrue();
+        assertThat(buffer.fechar()).isFalse();
+        buffer.oferecer(posicao(1));
+        buffer.liberar();
+
+        assertThat(buffer.fechar()).isTrue();
+        assertThat(buffer.reservar()).isFalse();
+        assertThat(buffer.vazio()).isFalse();
+
+        buffer.reabrir();
+        assertThat(buffer.reservar()).isTrue();
+    }
+
+    @Test
+    void produtoresConcorrentesEUmConsumidorNaoPerdemNemDuplicamPosicoes() throws Exception {
+        int produtores = 4;
+        int porProdutor = 5_000;
+        BufferPosicoes buffer = new BufferPosicoes(64);
+        ExecutorService executor = Executors.newFixedThreadPool(produtores);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicBoolean produzindo = new AtomicBoolean(true);
+
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int p = 0; p < produtores; p++) {
+            long base = (long) p * porProdutor;
+            futuros.add(executor.submit(() -> {
+                largada.await();
+                for (long i = base; i < base + porProdutor; i++) {
+                    // buffer cheio: o produtor tenta de novo até o consumidor abrir espaço
+                    while (!buffer.oferecer(posicao(i))) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        Set<Long> recebidas = new HashSet<>();
+        List<PosicoesIngestao.Posicao> lote = new ArrayList<>();
+        int repetidas = 0;
+        largada.countDown();
+        Thread monitor = new Thread(() -> {
+            futuros.forEach(f -> {
+                try {
+                    f.get();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            produzindo.set(false);
+        });
+        monitor.start();
+
+        while (produzindo.get() || !buffer.vazio()) {
+            lote.clear();
+            buffer.drenar(lote, 50);
+            for (PosicoesIngestao.Posicao p : lote) {
+                if (!recebidas.add(p.motoristaId())) {
+                    repetidas++;
+                }
+            }
+        }
+        monitor.join();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(repetidas).isZero();
+        assertThat(recebidas).hasSize(produtores * porProdutor);
+    }
+
+    private static PosicoesIngestao.Posicao posicao(long id) {
+        return new PosicoesIngestao.Posicao(id, -25.43, -49.27, AGORA, AGORA);
+    }
+}
@@ -0,0 +1,39 @@
+package com.gestaoViagens.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class CodificadorPolylineTest {
+
+    @Test
+    void codificaOExemploDaEspecificacao() {
+        List<double[]> coordenadas = List.of(
+                new double[]{38.5, -120.2},
+                new double[]{40.7, -120.95},
+                new double[]{43.252, -126.453}
+        );
+
+        assertThat(CodificadorPolyline.codificar(coordenadas)).isEqualTo("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+    }
+
+    @Test
+    void decodificaOQueCodificou() {
+        List<double[]> coordenadas = List.of(
+                new double[]{-26.48512, -49.07131},
+                new double[]{-26.49001, -49.0802},
+                new double[]{-25.42778, -49.27306}
+        );
+
+        List<double[]> decodificadas = CodificadorPolyline.decodificar(CodificadorPolyline.codificar(coordenadas));
+
+        assertThat(decodificadas).hasSize(3);
+        for (int i = 0; i < coordenadas.size(); i++) {
+            assertThat(decodificadas.get(i)[0]).isCloseTo(coordenadas.get(i)[0], within(1e-5));
+            assertThat(decodificadas.get(i)[1]).isCloseTo(coordenadas.get(i)[1], within(1e-5));
+        }
+    }
+}
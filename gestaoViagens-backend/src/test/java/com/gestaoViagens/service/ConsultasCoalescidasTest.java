@@ -0,0 +1,119 @@
+package com.gestaoViagens.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsultasCoalescidasTest {
+
+    @Test
+    void chamadasSimultaneasCompartilhamUmaExecucao() throws Exception {
+        ConsultasCoalescidas consultas = new ConsultasCoalescidas(0);
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch calculando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<String>> resultados = new ArrayList<>();
+            resultados.add(executor.submit(() -> consultas.executar("dashboard", () -> {
+                execucoes.incrementAndGet();
+                calculando.countDown();
+                aguardar(liberar);
+                return "resumo";
+            })));
+            calculando.await();
+            for (int i = 0; i < 9; i++) {
+                resultados.add(executor.submit(() -> consultas.executar("dashboard", () -> {
+                    execucoes.incrementAndGet();
+                    return "outro";
+                })));
+            }
+            // as nove chamadas já estão esperando o cálculo em andamento
+            aguardarCoalescidas(consultas, 9);
+            liberar.countDown();
+
+            for (Future<String> resultado : resultados) {
+                assertThat(resultado.get(5, TimeUnit.SECONDS)).isEqualTo("resumo");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(execucoes).hasValue(1);
+        assertThat(consultas.estatisticas().get(0).executadas()).isEqualTo(1);
+        assertThat(consultas.estatisticas().get(0).coalescidas()).isEqualTo(9);
+    }
+
+    @Test
+    void reaproveitaResultadoDentroDaJanela() {
+        ConsultasCoalescidas consultas = new ConsultasCoalescidas(60_000);
+        AtomicInteger execucoes = new AtomicInteger();
+
+        consultas.executar("locais-ativos", execucoes::incrementAndGet);
+        Integer segunda = consultas.executar("locais-ativos", execucoes::incrementAndGet);
+
+        assertThat(segunda).isEqualTo(1);
+        assertThat(execucoes).hasValue(1);
+    }
+
+    @Test
+    void semJanelaExecutaDeNovoDepoisDeConcluir() {
+        ConsultasCoalescidas consultas = new ConsultasCoalescidas(0);
+        AtomicInteger execucoes = new AtomicInteger();
+
+        consultas.executar("locais-ativos", execucoes::incrementAndGet);
+        consultas.executar("locais-ativos", execucoes::incrementAndGet);
+
+        assertThat(execucoes).hasValue(2);
+    }
+
+    @Test
+    void invalidarDescartaResultadoGuardado() {
+        ConsultasCoalescidas consultas = new ConsultasCoalescidas(60_000);
+        AtomicInteger execucoes = new AtomicInteger();
+
+        consultas.executar(ConsultasCoalescidas.DASHBOARD, execucoes::incrementAndGet);
+        consultas.aoAlterarViagens(new ViagensAlteradasEvent(Set.of(1L), Set.of(2L)));
+        consultas.executar(ConsultasCoalescidas.DASHBOARD, execucoes::incrementAndGet);
+
+        assertThat(execucoes).hasValue(2);
+    }
+
+    @Test
+    void falhaNaoFicaGuardada() {
+        ConsultasCoalescidas consultas = new ConsultasCoalescidas(60_000);
+
+        assertThatThrownBy(() -> consultas.executar("motoristas-ativos", () -> {
+            throw new IllegalStateException("banco fora");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(consultas.executar("motoristas-ativos", () -> "ok")).isEqualTo("ok");
+    }
+
+    private static void aguardarCoalescidas(ConsultasCoalescidas consultas, long esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (consultas.estatisticas().get(0).coalescidas() < esperadas && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
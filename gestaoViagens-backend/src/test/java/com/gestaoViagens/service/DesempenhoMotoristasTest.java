@@ -0,0 +1,77 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.DesempenhoMotoristaResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DesempenhoMotoristasTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void preparar() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("""
+                CREATE TABLE sketches_desempenho (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    motorista_id BIGINT NOT NULL,
+                    dia DATE NOT NULL,
+                    metrica VARCHAR(30) NOT NULL,
+                    histograma BLOB NOT NULL,
+                    atualizado_em TIMESTAMP NOT NULL,
+                    CONSTRAINT uk_sketch_desempenho UNIQUE (motorista_id, dia, metrica)
+                )
+                """);
+    }
+
+    @Test
+    void calculaPercentisPorMotoristaEFrota() {
+        DesempenhoMotoristas desempenho = new DesempenhoMotoristas(jdbcTemplate);
+        // motorista 1: viagens de 1 a 100 minutos com 4 pontos; motorista 2: uma viagem de 10 horas
+        for (int minutos = 1; minutos <= 100; minutos++) {
+            concluir(desempenho, 1L, minutos * 60L, 4);
+        }
+        concluir(desempenho, 2L, 36_000L, 4);
+
+        DesempenhoMotoristaResponse motorista = desempenho.consultar(1L, 7);
+        assertThat(motorista.duracaoViagemSegundos().amostras()).isEqualTo(100);
+        assertThat(motorista.duracaoViagemSegundos().p50()).isCloseTo(3000, within(30.0));
+        assertThat(motorista.duracaoViagemSegundos().p99()).isCloseTo(5940, within(60.0));
+        // 4 pontos na viagem de 1 minuto e na de 100 minutos
+        assertThat(motorista.pontosPorHora().maximo()).isCloseTo(240, within(2.4));
+        assertThat(motorista.pontosPorHora().p50()).isCloseTo(4.7, within(0.1));
+
+        DesempenhoMotoristaResponse frota = desempenho.consultar(null, 7);
+        assertThat(frota.duracaoViagemSegundos().amostras()).isEqualTo(101);
+        assertThat(frota.duracaoViagemSegundos().maximo()).isCloseTo(36_000, within(360.0));
+    }
+
+    @Test
+    void continuaHistogramaGravadoAposReinicio() {
+        DesempenhoMotoristas antes = new DesempenhoMotoristas(jdbcTemplate);
+        concluir(antes, 1L, 600L, 2);
+        antes.persistir();
+
+        DesempenhoMotoristas depois = new DesempenhoMotoristas(jdbcTemplate);
+        assertThat(depois.consultar(1L, 1).duracaoViagemSegundos().amostras()).isEqualTo(1);
+
+        concluir(depois, 1L, 1200L, 2);
+        depois.persistir();
+        assertThat(new DesempenhoMotoristas(jdbcTemplate).consultar(1L, 1).duracaoViagemSegundos().amostras())
+                .isEqualTo(2);
+    }
+
+    private static void concluir(DesempenhoMotoristas desempenho, Long motoristaId, long segundos, int pontos) {
+        LocalDateTime fim = LocalDateTime.now();
+        desempenho.aoConcluirViagem(new ViagemConcluidaEvent(1L, motoristaId, fim.minusSeconds(segundos), fim, pontos));
+    }
+}
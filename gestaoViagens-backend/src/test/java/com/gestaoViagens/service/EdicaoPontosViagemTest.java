@@ -0,0 +1,63 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.ENUM.StatusPontoRota;
+import com.gestaoViagens.entity.Local;
+import com.gestaoViagens.entity.PontoRota;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EdicaoPontosViagemTest {
+
+    // pontos 101, 102, ... com os locais informados, na ordem
+    private static List<PontoRota> pontos(long... locaisIds) {
+        List<PontoRota> pontos = new ArrayList<>();
+        for (int i = 0; i < locaisIds.length; i++) {
+            pontos.add(PontoRota.builder()
+                    .id(101L + i)
+                    .local(Local.builder().id(locaisIds[i]).build())
+                    .ordem(i + 1)
+                    .status(StatusPontoRota.PENDENTE)
+                    .build());
+        }
+        return pontos;
+    }
+
+    @Test
+    void mesmaSequenciaNaoGeraAlteracoes() {
+        assertThat(EdicaoPontosViagem.diferenca(pontos(1, 2, 3), List.of(1L, 2L, 3L)).vazia()).isTrue();
+    }
+
+    @Test
+    void trocaDeUmLocalRemoveUmEInsereUm() {
+        EdicaoPontosViagem.Diferenca diferenca = EdicaoPontosViagem.diferenca(pontos(1, 2, 3), List.of(1L, 4L, 3L));
+
+        assertThat(diferenca.removidos()).containsExactly(102L);
+        assertThat(diferenca.inseridos()).containsExactly(new EdicaoPontosViagem.Insercao(4L, 2));
+        assertThat(diferenca.reordenados()).isEmpty();
+    }
+
+    @Test
+    void reordenarSoAtualizaOsPontosQueMudaramDePosicao() {
+        EdicaoPontosViagem.Diferenca diferenca = EdicaoPontosViagem.diferenca(pontos(1, 2, 3, 4), List.of(1L, 3L, 2L, 4L));
+
+        assertThat(diferenca.removidos()).isEmpty();
+        assertThat(diferenca.inseridos()).isEmpty();
+        assertThat(diferenca.reordenados()).containsExactlyInAnyOrder(
+                new EdicaoPontosViagem.Reordenacao(103L, 2),
+                new EdicaoPontosViagem.Reordenacao(102L, 3)
+        );
+    }
+
+    @Test
+    void localRepetidoCasaUmPontoPorOcorrencia() {
+        EdicaoPontosViagem.Diferenca diferenca = EdicaoPontosViagem.diferenca(pontos(1, 2, 1), List.of(1L, 2L));
+
+        assertThat(diferenca.removidos()).containsExactly(103L);
+        assertThat(diferenca.inseridos()).isEmpty();
+        assertThat(diferenca.reordenados()).isEmpty();
+    }
+}
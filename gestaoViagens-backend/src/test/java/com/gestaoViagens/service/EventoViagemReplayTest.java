@@ -0,0 +1,97 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.ViagemHistoricoResponse;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import com.gestaoViagens.entity.EventoViagem;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class EventoViagemReplayTest {
+
+    private static final LocalDateTime CRIADA = LocalDateTime.of(2024, 5, 10, 8, 0);
+
+    private final EventoViagemReplay replay = new EventoViagemReplay();
+
+    @Test
+    void reconstroiEstadoEDatasDaViagemConcluida() {
+        ViagemHistoricoResponse historico = replay.reconstruir(1L, List.of(
+                evento(TipoEventoViagem.VIAGEM_CRIADA, null, CRIADA),
+                evento(TipoEventoViagem.VIAGEM_INICIADA, null, CRIADA.plusMinutes(30)),
+                evento(TipoEventoViagem.PONTO_VISITADO, 11L, CRIADA.plusMinutes(40)),
+                evento(TipoEventoViagem.PONTO_VISITADO, 12L, CRIADA.plusMinutes(55)),
+                evento(TipoEventoViagem.VIAGEM_CONCLUIDA, null, CRIADA.plusMinutes(55))
+        ));
+
+        assertThat(historico.status()).isEqualTo(StatusViagem.CONCLUIDA);
+        assertThat(historico.dataCriacao()).isEqualTo(CRIADA);
+        assertThat(historico.dataInicio()).isEqualTo(CRIADA.plusMinutes(30));
+        assertThat(historico.dataFim()).isEqualTo(CRIADA.plusMinutes(55));
+        assertThat(historico.totalEventos()).isEqualTo(5);
+    }
+
+    @Test
+    void intervaloDeCadaVisitaContaDaVisitaAnteriorOuDoInicio() {
+        ViagemHistoricoResponse historico = replay.reconstruir(1L, List.of(
+                evento(TipoEventoViagem.VIAGEM_CRIADA, null, CRIADA),
+                evento(TipoEventoViagem.VIAGEM_INICIADA, null, CRIADA.plusMinutes(30)),
+                evento(TipoEventoViagem.PONTO_VISITADO, 11L, CRIADA.plusMinutes(40)),
+                evento(TipoEventoViagem.PONTO_VISITADO, 12L, CRIADA.plusMinutes(55))
+        ));
+
+        assertThat(historico.status()).isEqualTo(StatusViagem.EM_ANDAMENTO);
+        assertThat(historico.visitas())
+                .extracting(ViagemHistoricoResponse.VisitaPonto::pontoId,
+                        ViagemHistoricoResponse.VisitaPonto::segundosDesdeAnterior)
+                .containsExactly(
+                        tuple(11L, 600L),
+                        tuple(12L, 900L));
+    }
+
+    @Test
+    void visitaSemInicioRegistradoNaoTemIntervalo() {
+        ViagemHistoricoResponse historico = replay.reconstruir(1L, List.of(
+                evento(TipoEventoViagem.VIAGEM_CRIADA, null, CRIADA),
+                evento(TipoEventoViagem.PONTO_VISITADO, 11L, CRIADA.plusMinutes(10))
+        ));
+
+        assertThat(historico.visitas()).singleElement()
+                .extracting(ViagemHistoricoResponse.VisitaPonto::segundosDesdeAnterior)
+                .isNull();
+    }
+
+    @Test
+    void alteracoesDeRotaEMotoristaNaoMudamEstadoNemIntervalos() {
+        ViagemHistoricoResponse historico = replay.reconstruir(1L, List.of(
+                evento(TipoEventoViagem.VIAGEM_CRIADA, null, CRIADA),
+                evento(TipoEventoViagem.ROTA_ALTERADA, null, CRIADA.plusMinutes(5)),
+                evento(TipoEventoViagem.MOTORISTA_ALTERADO, null, CRIADA.plusMinutes(10)),
+                evento(TipoEventoViagem.VIAGEM_INICIADA, null, CRIADA.plusMinutes(30)),
+                evento(TipoEventoViagem.ROTA_ALTERADA, null, CRIADA.plusMinutes(35)),
+                evento(TipoEventoViagem.PONTO_VISITADO, 11L, CRIADA.plusMinutes(40))
+        ));
+
+        assertThat(historico.status()).isEqualTo(StatusViagem.EM_ANDAMENTO);
+        assertThat(historico.dataInicio()).isEqualTo(CRIADA.plusMinutes(30));
+        assertThat(historico.totalEventos()).isEqualTo(6);
+        assertThat(historico.visitas()).singleElement()
+                .extracting(ViagemHistoricoResponse.VisitaPonto::segundosDesdeAnterior)
+                .isEqualTo(600L);
+    }
+
+    private static EventoViagem evento(TipoEventoViagem tipo, Long pontoId, LocalDateTime quando) {
+        return EventoViagem.builder()
+                .viagemId(1L)
+                .pontoId(pontoId)
+                .motoristaId(7L)
+                .tipo(tipo)
+                .ator("motorista@tripflow.com")
+                .ocorridoEm(quando)
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.ENUM.StatusPontoRota;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.entity.Local;
+import com.gestaoViagens.entity.PontoRota;
+import com.gestaoViagens.entity.Usuario;
+import com.gestaoViagens.entity.Viagem;
+import com.gestaoViagens.repository.ViagemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GeofenceViagensTest {
+
+    private static final long MOTORISTA = 7L;
+
+    private ViagemRepository viagemRepository;
+    private ViagemService viagemService;
+    private GeofenceViagens geofence;
+
+    @BeforeEach
+    void setUp() {
+        viagemRepository = mock(ViagemRepository.class);
+        viagemService = mock(ViagemService.class);
+        geofence = new GeofenceViagens(viagemRepository, viagemService, true, 100, 300);
+
+        Viagem viagem = new Viagem();
+        viagem.setId(1L);
+        viagem.setStatus(StatusViagem.PLANEJADA);
+        viagem.setDataCriacao(LocalDateTime.now());
+        Usuario motorista = new Usuario();
+        motorista.setId(MOTORISTA);
+        viagem.setMotorista(motorista);
+        viagem.getPontos().add(ponto(viagem, 11L, 1, -25.4300, -49.2700));
+        viagem.getPontos().add(ponto(viagem, 12L, 2, -25.4500, -49.2900));
+
+        when(viagemRepository.findComPontosPorMotoristaEStatus(eq(MOTORISTA), any())).thenReturn(List.of(viagem));
+    }
+
+    @Test
+    void visitaProximoPontoQuandoEntraNoRaio() {
+        // ~50 m do primeiro ponto
+        geofence.verificar(posicao(-25.43045, -49.2700));
+
+        verify(viagemService).marcarPontoComoVisitadoPorGeofence(eq(1L), eq(11L), eq(MOTORISTA), any());
+    }
+
+    @Test
+    void ignoraPosicaoForaDoRaioEPontosForaDeOrdem() {
+        // ~300 m do primeiro ponto e exatamente sobre o segundo, que ainda não é o próximo
+        geofence.verificar(posicao(-25.4327, -49.2700));
+        geofence.verificar(posicao(-25.4500, -49.2900));
+
+        verify(viagemService, never()).marcarPontoComoVisitadoPorGeofence(anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void disparaUmaVezEReconstroiCercaAposAlteracao() {
+        geofence.verificar(posicao(-25.4300, -49.2700));
+        geofence.verificar(posicao(-25.4300, -49.2700));
+        verify(viagemService, times(1)).marcarPontoComoVisitadoPorGeofence(anyLong(), anyLong(), anyLong(), any());
+        verify(viagemRepository, times(1)).findComPontosPorMotoristaEStatus(eq(MOTORISTA), any());
+
+        geofence.aoAlterarViagens(new ViagensAlteradasEvent(Set.of(1L), Set.of(MOTORISTA)));
+        geofence.verificar(posicao(-25.4300, -49.2700));
+        verify(viagemRepository, times(2)).findComPontosPorMotoristaEStatus(eq(MOTORISTA), any());
+    }
+
+    private static PontoRota ponto(Viagem viagem, Long id, int ordem, double latitude, double longitude) {
+        Local local = new Local();
+        local.setLatitude(latitude);
+        local.setLongitude(longitude);
+        PontoRota ponto = new PontoRota();
+        ponto.setId(id);
+        ponto.setViagem(viagem);
+        ponto.setLocal(local);
+        ponto.setOrdem(ordem);
+        ponto.setStatus(StatusPontoRota.PENDENTE);
+        return ponto;
+    }
+
+    private static PosicoesIngestao.Posicao posicao(double latitude, double longitude) {
+        LocalDateTime agora = LocalDateTime.now();
+        return new PosicoesIngestao.Posicao(MOTORISTA, latitude, longitude, agora, agora);
+    }
+}
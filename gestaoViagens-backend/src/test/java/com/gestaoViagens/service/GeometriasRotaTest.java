@@ -0,0 +1,82 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.ParadaRota;
+import com.gestaoViagens.entity.GeometriaRota;
+import com.gestaoViagens.repository.GeometriaRotaRepository;
+import com.gestaoViagens.repository.PontoRotaRepository;
+import com.gestaoViagens.repository.ViagemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GeometriasRotaTest {
+
+    private final Map<String, GeometriaRota> tabela = new HashMap<>();
+    private final AtomicInteger tracados = new AtomicInteger();
+    private GeometriasRota geometrias;
+
+    @BeforeEach
+    void setUp() {
+        GeometriaRotaRepository repository = mock(GeometriaRotaRepository.class);
+        when(repository.findById(anyString()))
+                .thenAnswer(invocacao -> Optional.ofNullable(tabela.get(invocacao.<String>getArgument(0))));
+        when(repository.save(any(GeometriaRota.class))).thenAnswer(invocacao -> {
+            GeometriaRota geometria = invocacao.getArgument(0);
+            tabela.put(geometria.getChave(), geometria);
+            return geometria;
+        });
+
+        ProvedorGeometriaRota contador = new ProvedorGeometriaLinhaReta() {
+            @Override
+            public List<double[]> tracar(List<double[]> paradas) {
+                tracados.incrementAndGet();
+                return super.tracar(paradas);
+            }
+        };
+        geometrias = new GeometriasRota(mock(ViagemRepository.class), mock(PontoRotaRepository.class),
+                repository, List.of(contador), ProvedorGeometriaLinhaReta.NOME);
+    }
+
+    @Test
+    void mesmaSequenciaDeLocaisReaproveitaOTracado() {
+        List<ParadaRota> paradas = List.of(
+                new ParadaRota(3L, -26.48, -49.07),
+                new ParadaRota(7L, null, null),
+                new ParadaRota(12L, -26.50, -49.10)
+        );
+
+        GeometriaRota primeira = geometrias.geometria(paradas);
+        GeometriaRota segunda = geometrias.geometria(List.copyOf(paradas));
+
+        assertThat(segunda.getChave()).isEqualTo(primeira.getChave());
+        assertThat(tracados).hasValue(1);
+        assertThat(primeira.getLocais()).isEqualTo("3,7,12");
+        assertThat(primeira.getPontos()).isEqualTo(2);
+        assertThat(CodificadorPolyline.decodificar(primeira.getPolyline())).hasSize(2);
+    }
+
+    @Test
+    void ordemDiferenteOuCoordenadaAlteradaRefazOTracado() {
+        ParadaRota a = new ParadaRota(3L, -26.48, -49.07);
+        ParadaRota b = new ParadaRota(12L, -26.50, -49.10);
+
+        String chave = geometrias.geometria(List.of(a, b)).getChave();
+        assertThat(geometrias.geometria(List.of(b, a)).getChave()).isNotEqualTo(chave);
+
+        GeometriaRota movida = geometrias.geometria(List.of(a, new ParadaRota(12L, -26.51, -49.10)));
+        assertThat(movida.getChave()).isEqualTo(chave);
+        assertThat(tracados).hasValue(3);
+        assertThat(tabela).hasSize(2);
+    }
+}
@@ -0,0 +1,136 @@
+package com.gestaoViagens.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestaoViagens.DTO.ImportacaoLocaisResponse;
+import com.gestaoViagens.entity.Local;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImportacaoLocaisTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private Cache cache;
+    private AgrupamentoLocais agrupamentoLocais;
+    private ApplicationEventPublisher eventPublisher;
+    private ImportacaoLocais importacao;
+
+    @BeforeEach
+    void preparar() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE locais (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    nome VARCHAR(255) NOT NULL,
+                    endereco VARCHAR(255) NOT NULL,
+                    endereco_hash CHAR(64),
+                    latitude DOUBLE,
+                    longitude DOUBLE,
+                    observacoes VARCHAR(1000),
+                    ativo BOOLEAN NOT NULL
+                )
+                """);
+        // já deduplicável pelo hash, em Curitiba
+        jdbcTemplate.update("""
+                INSERT INTO locais (nome, endereco, endereco_hash, latitude, longitude, ativo)
+                VALUES ('Matriz', 'Rua XV de Novembro, 100', ?, -25.4300, -49.2700, TRUE)
+                """, NormalizadorEndereco.hash("Rua XV de Novembro, 100"));
+        // gravado antes da coluna endereco_hash
+        jdbcTemplate.update("""
+                INSERT INTO locais (nome, endereco, latitude, longitude, ativo)
+                VALUES ('Filial SP', 'Av. São João, 1500', -23.5400, -46.6300, TRUE)
+                """);
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        cache = mock(Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        agrupamentoLocais = mock(AgrupamentoLocais.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+
+        // lote de 2: as duplicatas do próprio arquivo caem em lotes diferentes
+        importacao = new ImportacaoLocais(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+                new ObjectMapper(), eventPublisher, entityManagerFactory, agrupamentoLocais, 2, 300);
+    }
+
+    @Test
+    void importaCsvDeduplicandoContraOBancoEOProprioArquivo() throws IOException {
+        ImportacaoLocaisResponse resposta = importacao.importarCsv(entrada("""
+                nome;endereco;latitude;longitude;observacoes
+                Depósito;R. XV de Novembro, nº 100;-25,4310;-49,2705;a 120 m da matriz
+                Filial POA;Rua XV de Novembro 100;-30,0300;-51,2300;mesmo endereço em outra cidade
+                Loja Centro;Avenida Sao Joao 1500;;;
+                Novo;Rua A, 10;;;
+                Novo de novo;"rua a; 10";;;
+                ;Rua B, 20;;;
+                Coordenada ruim;Rua C, 5;abc;-49,27;
+                Meia coordenada;Rua D, 5;-25,40;;
+                """));
+
+        assertThat(resposta.criados()).isEqualTo(2);
+        assertThat(resposta.duplicados()).isEqualTo(3);
+        assertThat(resposta.invalidos()).isEqualTo(3);
+        assertThat(resposta.rejeicoes()).extracting(ImportacaoLocaisResponse.Rejeicao::linha)
+                .containsExactlyInAnyOrder(2, 4, 6, 7, 8, 9);
+        assertThat(jdbcTemplate.queryForList("SELECT nome FROM locais ORDER BY id", String.class))
+                .containsExactly("Matriz", "Filial SP", "Filial POA", "Novo");
+    }
+
+    @Test
+    void preencheOHashDosLocaisAntigosAntesDeDeduplicar() throws IOException {
+        importacao.importarCsv(entrada("""
+                nome,endereco
+                Loja Centro,Avenida Sao Joao 1500
+                """));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT endereco_hash FROM locais WHERE nome = 'Filial SP'", String.class))
+                .isEqualTo(NormalizadorEndereco.hash("Av. São João, 1500"));
+        verify(cache).evict(Local.class);
+    }
+
+    @Test
+    void importaJsonContandoItensInvalidos() throws IOException {
+        ImportacaoLocaisResponse resposta = importacao.importarJson(entrada("""
+                [
+                  {"nome": "Depósito", "endereco": "R. XV de Novembro, nº 100", "latitude": -25.4301, "longitude": -49.2701},
+                  {"nome": "Galpão", "endereco": "Rodovia BR-277, km 5", "latitude": -25.50, "longitude": -49.30},
+                  {"nome": "Tipo errado", "endereco": "Rua E, 1", "latitude": "norte"},
+                  {"nome": "Sem endereço"},
+                  {"nome": "Galpão 2", "endereco": "Rod. BR 277 km 5", "latitude": -25.5005, "longitude": -49.3003}
+                ]
+                """));
+
+        assertThat(resposta.criados()).isEqualTo(1);
+        assertThat(resposta.duplicados()).isEqualTo(2);
+        assertThat(resposta.invalidos()).isEqualTo(2);
+        assertThat(resposta.rejeicoes())
+                .extracting(ImportacaoLocaisResponse.Rejeicao::linha, ImportacaoLocaisResponse.Rejeicao::motivo)
+                .contains(tuple(3, "item inválido"), tuple(4, "endereço obrigatório"));
+        verify(agrupamentoLocais).reconstruir();
+        verify(eventPublisher).publishEvent(any(CadastroAlteradoEvent.class));
+    }
+
+    private static InputStream entrada(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
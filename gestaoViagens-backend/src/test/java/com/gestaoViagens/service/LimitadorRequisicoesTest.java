@@ -0,0 +1,97 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.ENUM.ClasseEndpoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LimitadorRequisicoesTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+
+    private LimitadorRequisicoes limitador;
+
+    @BeforeEach
+    void setUp() {
+        // leitura: 10/s com rajada 5; pesada: 1/s, rajada 2, 2 vagas; ociosidade de 60 s
+        limitador = new LimitadorRequisicoes(true, 10, 5, 5, 5, 5, 5, 1, 2, 2, 60);
+    }
+
+    @Test
+    void permiteRajadaEDepoisPedeEspera() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limitador.admitir("motorista1", ClasseEndpoint.LEITURA, 0).permitida()).isTrue();
+        }
+
+        LimitadorRequisicoes.Admissao recusada = limitador.admitir("motorista1", ClasseEndpoint.LEITURA, 0);
+        assertThat(recusada.permitida()).isFalse();
+        assertThat(recusada.esperaNanos()).isEqualTo(SEGUNDO / 10);
+        assertThat(recusada.esperaSegundos()).isEqualTo(1);
+
+        // depois do intervalo da taxa sustentada, uma nova vaga
+        assertThat(limitador.admitir("motorista1", ClasseEndpoint.LEITURA, SEGUNDO / 10).permitida()).isTrue();
+    }
+
+    @Test
+    void baldesSeparadosPorUsuarioEClasse() {
+        for (int i = 0; i < 5; i++) {
+            limitador.admitir("motorista1", ClasseEndpoint.LEITURA, 0);
+        }
+
+        assertThat(limitador.admitir("motorista1", ClasseEndpoint.LEITURA, 0).permitida()).isFalse();
+        assertThat(limitador.admitir("motorista2", ClasseEndpoint.LEITURA, 0).permitida()).isTrue();
+        assertThat(limitador.admitir("motorista1", ClasseEndpoint.ESCRITA, 0).permitida()).isTrue();
+    }
+
+    @Test
+    void admissoesConcorrentesNaoPassamDaRajada() throws Exception {
+        int threads = 16;
+        AtomicInteger permitidas = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads * 10; i++) {
+                executor.submit(() -> {
+                    largada.await();
+                    if (limitador.admitir("motorista1", ClasseEndpoint.LEITURA, 0).permitida()) {
+                        permitidas.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            largada.countDown();
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(permitidas.get()).isEqualTo(5);
+    }
+
+    @Test
+    void limitaPesadasSimultaneas() {
+        assertThat(limitador.ocuparPesada()).isTrue();
+        assertThat(limitador.ocuparPesada()).isTrue();
+        assertThat(limitador.ocuparPesada()).isFalse();
+
+        limitador.liberarPesada();
+        assertThat(limitador.ocuparPesada()).isTrue();
+        assertThat(limitador.estatisticas().rejeitadasPorConcorrencia()).isEqualTo(1);
+    }
+
+    @Test
+    void removeBaldesOciosos() {
+        limitador.admitir("motorista1", ClasseEndpoint.LEITURA, 0);
+        limitador.admitir("motorista2", ClasseEndpoint.LEITURA, 50 * SEGUNDO);
+
+        assertThat(limitador.removerOciosos(70 * SEGUNDO)).isEqualTo(1);
+        assertThat(limitador.estatisticas().chavesAtivas()).isEqualTo(1);
+    }
+}
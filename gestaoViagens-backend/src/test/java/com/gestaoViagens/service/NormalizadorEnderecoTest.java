@@ -0,0 +1,33 @@
+package com.gestaoViagens.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NormalizadorEnderecoTest {
+
+    @Test
+    void variacoesDoMesmoEnderecoTemOMesmoHash() {
+        String hash = NormalizadorEndereco.hash("Rua XV de Novembro, 100");
+
+        assertThat(NormalizadorEndereco.hash("R. XV de Novembro, nº 100")).isEqualTo(hash);
+        assertThat(NormalizadorEndereco.hash("  rua  xv de novembro 100 ")).isEqualTo(hash);
+        assertThat(NormalizadorEndereco.hash("Rua XV de Novembro, 101")).isNotEqualTo(hash);
+    }
+
+    @Test
+    void removeAcentosEExpandeAbreviacoes() {
+        assertThat(NormalizadorEndereco.normalizar("Av. São João, 1500 - Centro"))
+                .isEqualTo("avenida sao joao 1500 centro");
+        assertThat(NormalizadorEndereco.normalizar("Pça. da Sé, n° 10"))
+                .isEqualTo("praca da se 10");
+    }
+
+    @Test
+    void camposDoCsvRespeitamAspas() {
+        assertThat(ImportacaoLocais.campos("Depósito;\"Rua A; fundos\";-25,43;-49,27", ';'))
+                .containsExactly("Depósito", "Rua A; fundos", "-25,43", "-49,27");
+        assertThat(ImportacaoLocais.campos("\"Loja \"\"Central\"\"\",Rua B,,", ','))
+                .containsExactly("Loja \"Central\"", "Rua B", "", "");
+    }
+}
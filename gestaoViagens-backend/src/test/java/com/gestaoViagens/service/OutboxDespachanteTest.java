@@ -0,0 +1,118 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutboxDespachanteTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private final List<Long> recebidos = new ArrayList<>();
+    private Long falharNoEvento;
+
+    @BeforeEach
+    void preparar() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("""
+                CREATE TABLE outbox_eventos (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    viagem_id BIGINT NOT NULL,
+                    ponto_id BIGINT,
+                    motorista_id BIGINT NOT NULL,
+                    tipo VARCHAR(30) NOT NULL,
+                    ocorrido_em TIMESTAMP NOT NULL,
+                    criado_em TIMESTAMP NOT NULL,
+                    tentativas INT NOT NULL,
+                    ultimo_erro VARCHAR(500),
+                    entregue_em TIMESTAMP,
+                    falhou_em TIMESTAMP
+                )
+                """);
+
+        // ids 1..3 da viagem 10, intercalados com 4..5 da viagem 20
+        inserir(10L, TipoEventoViagem.VIAGEM_INICIADA);
+        inserir(10L, TipoEventoViagem.PONTO_VISITADO);
+        inserir(10L, TipoEventoViagem.PONTO_VISITADO);
+        inserir(20L, TipoEventoViagem.VIAGEM_INICIADA);
+        inserir(20L, TipoEventoViagem.PONTO_VISITADO);
+    }
+
+    @Test
+    void entregaEmOrdemEMarcaComoEntregue() {
+        despachante(10).despachar();
+
+        assertThat(recebidos).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(pendentes()).isZero();
+    }
+
+    @Test
+    void falhaRetemApenasOsEventosSeguintesDaMesmaViagem() throws InterruptedException {
+        OutboxDespachante despachante = despachante(10);
+        falharNoEvento = 2L;
+
+        despachante.despachar();
+        assertThat(recebidos).containsExactly(1L, 4L, 5L);
+        assertThat(jdbcTemplate.queryForObject("SELECT tentativas FROM outbox_eventos WHERE id = 2", Integer.class))
+                .isEqualTo(1);
+
+        // viagem em espera: nada é reentregue antes do fim do intervalo
+        falharNoEvento = null;
+        despachante.despachar();
+        assertThat(recebidos).containsExactly(1L, 4L, 5L);
+
+        Thread.sleep(600);
+        despachante.despachar();
+        assertThat(recebidos).containsExactly(1L, 4L, 5L, 2L, 3L);
+        assertThat(pendentes()).isZero();
+    }
+
+    @Test
+    void semOuvintesOsEventosFicamPendentes() {
+        OutboxDespachante despachante = new OutboxDespachante(jdbcTemplate,
+                new StaticListableBeanFactory().getBeanProvider(OuvinteEventosViagem.class), 10, 3, 24);
+
+        despachante.despachar();
+
+        assertThat(pendentes()).isEqualTo(5);
+        assertThat(despachante.estatisticas().entregues()).isZero();
+    }
+
+    private OutboxDespachante despachante(int tamanhoLote) {
+        OuvinteEventosViagem ouvinte = eventos -> {
+            for (EventoViagemPublicado e : eventos) {
+                if (e.outboxId().equals(falharNoEvento)) {
+                    throw new IllegalStateException("indisponível");
+                }
+            }
+            eventos.forEach(e -> recebidos.add(e.outboxId()));
+        };
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of("ouvinte", ouvinte));
+        return new OutboxDespachante(jdbcTemplate, beans.getBeanProvider(OuvinteEventosViagem.class), tamanhoLote, 3, 24);
+    }
+
+    private void inserir(Long viagemId, TipoEventoViagem tipo) {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("""
+                INSERT INTO outbox_eventos (viagem_id, motorista_id, tipo, ocorrido_em, criado_em, tentativas)
+                VALUES (?, 1, ?, ?, ?, 0)
+                """, viagemId, tipo.name(), agora, agora);
+    }
+
+    private int pendentes() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_eventos WHERE entregue_em IS NULL", Integer.class);
+    }
+}
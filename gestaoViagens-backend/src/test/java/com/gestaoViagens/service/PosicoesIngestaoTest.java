@@ -0,0 +1,117 @@
+package com.gestaoViagens.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PosicoesIngestaoTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AtomicLong linhasGravadas = new AtomicLong();
+
+    PosicoesIngestaoTest() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), any(int[].class))).thenAnswer(invocacao -> {
+            List<?> linhas = invocacao.getArgument(1);
+            linhasGravadas.addAndGet(linhas.size());
+            return new int[linhas.size()];
+        });
+    }
+
+    @Test
+    void bufferCheioRecusaAPosicaoEODescarteEContado() {
+        PosicoesIngestao ingestao = new PosicoesIngestao(jdbcTemplate, 4, 100, 60);
+        LocalDateTime agora = LocalDateTime.now();
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(ingestao.registrar(posicao(7L, agora.plusSeconds(i)))).isTrue();
+        }
+        // o controller responde 429 quando registrar devolve false
+        assertThat(ingestao.registrar(posicao(7L, agora.plusSeconds(4)))).isFalse();
+        assertThat(ingestao.estatisticas().pendentes()).isEqualTo(4);
+        assertThat(ingestao.estatisticas().descartadas()).isEqualTo(1);
+        // a posição descartada ainda conta como a última conhecida
+        assertThat(ingestao.ultimaPosicao(7L)).get()
+                .extracting(PosicoesIngestao.Posicao::registradoEm)
+                .isEqualTo(agora.plusSeconds(4));
+
+        ingestao.descarregar();
+
+        assertThat(linhasGravadas).hasValue(4);
+        assertThat(ingestao.estatisticas().pendentes()).isZero();
+        assertThat(ingestao.registrar(posicao(7L, agora.plusSeconds(5)))).isTrue();
+    }
+
+    @Test
+    void loteCompletoDescarregaSemEsperarOAgendamento() {
+        PosicoesIngestao ingestao = new PosicoesIngestao(jdbcTemplate, 64, 10, 60);
+        LocalDateTime agora = LocalDateTime.now();
+
+        for (int i = 0; i < 10; i++) {
+            ingestao.registrar(posicao(i % 3, agora));
+        }
+
+        assertThat(linhasGravadas).hasValue(10);
+        assertThat(ingestao.estatisticas().lotesGravados()).isEqualTo(1);
+        assertThat(ingestao.estatisticas().pendentes()).isZero();
+    }
+
+    @Test
+    void remocaoDeInativosNaoPerdePosicoesDeProdutoresConcorrentes() throws Exception {
+        // inatividade zero: todo rastreio com o buffer vazio pode ser removido a cada descarga
+        PosicoesIngestao ingestao = new PosicoesIngestao(jdbcTemplate, 1024, 1_000_000, 0);
+        LocalDateTime antiga = LocalDateTime.now().minusDays(1);
+        int produtores = 4;
+        int porProdutor = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(produtores);
+        AtomicBoolean produzindo = new AtomicBoolean(true);
+
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int p = 0; p < produtores; p++) {
+            futuros.add(executor.submit(() -> {
+                for (int i = 0; i < porProdutor; i++) {
+                    ingestao.registrar(posicao(i % 4, antiga));
+                }
+                return null;
+            }));
+        }
+        Thread agendador = new Thread(() -> {
+            while (produzindo.get()) {
+                ingestao.descarregarPeriodicamente();
+            }
+        });
+        agendador.start();
+
+        for (Future<?> futuro : futuros) {
+            futuro.get(30, TimeUnit.SECONDS);
+        }
+        produzindo.set(false);
+        agendador.join();
+        executor.shutdown();
+        ingestao.descarregar();
+
+        long recebidas = ingestao.estatisticas().recebidas();
+        assertThat(recebidas).isEqualTo((long) produtores * porProdutor);
+        assertThat(linhasGravadas.get() + ingestao.estatisticas().descartadas()).isEqualTo(recebidas);
+        assertThat(ingestao.estatisticas().pendentes()).isZero();
+    }
+
+    private static PosicoesIngestao.Posicao posicao(long motoristaId, LocalDateTime quando) {
+        return new PosicoesIngestao.Posicao(motoristaId, -25.43, -49.27, quando, quando);
+    }
+}
@@ -0,0 +1,88 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.PosicaoRequest;
+import com.gestaoViagens.entity.Local;
+import com.gestaoViagens.entity.Usuario;
+import com.gestaoViagens.repository.UsuarioRepository;
+import com.gestaoViagens.repository.ViagemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RastreamentoServiceTest {
+
+    private static final String EMAIL = "motorista@tripflow.com";
+    private static final PosicaoRequest PING = new PosicaoRequest(-26.30, -48.85, null);
+
+    private PosicoesIngestao posicoesIngestao;
+    private UsuarioRepository usuarioRepository;
+    private RastreamentoService service;
+
+    @BeforeEach
+    void setUp() {
+        posicoesIngestao = mock(PosicoesIngestao.class);
+        usuarioRepository = mock(UsuarioRepository.class);
+        when(posicoesIngestao.registrar(any())).thenReturn(true);
+        service = new RastreamentoService(posicoesIngestao, mock(GeofenceViagens.class),
+                usuarioRepository, mock(ViagemRepository.class));
+    }
+
+    @Test
+    void consultaOUsuarioUmaVezPorEmail() {
+        when(usuarioRepository.findByEmailAndAtivoTrue(EMAIL)).thenReturn(Optional.of(usuario(7L)));
+
+        service.registrarPosicao(PING, EMAIL);
+        service.registrarPosicao(PING, EMAIL);
+        // alteração de local não afeta o cache de motoristas
+        service.aoAlterarCadastro(new CadastroAlteradoEvent(Local.class));
+        service.registrarPosicao(PING, EMAIL);
+
+        verify(usuarioRepository, times(1)).findByEmailAndAtivoTrue(EMAIL);
+    }
+
+    @Test
+    void motoristaDesativadoDeixaDeTerPosicoesAceitas() {
+        when(usuarioRepository.findByEmailAndAtivoTrue(EMAIL)).thenReturn(Optional.of(usuario(7L)));
+        service.registrarPosicao(PING, EMAIL);
+
+        when(usuarioRepository.findByEmailAndAtivoTrue(EMAIL)).thenReturn(Optional.empty());
+        service.aoAlterarCadastro(new CadastroAlteradoEvent(Usuario.class));
+
+        assertThatThrownBy(() -> service.registrarPosicao(PING, EMAIL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Motorista não encontrado");
+    }
+
+    @Test
+    void emailReaproveitadoPassaAoNovoMotorista() {
+        when(usuarioRepository.findByEmailAndAtivoTrue(EMAIL)).thenReturn(Optional.of(usuario(7L)));
+        service.registrarPosicao(PING, EMAIL);
+
+        // o e-mail foi trocado no motorista 7 e depois dado ao motorista 9
+        when(usuarioRepository.findByEmailAndAtivoTrue(EMAIL)).thenReturn(Optional.of(usuario(9L)));
+        service.aoAlterarCadastro(new CadastroAlteradoEvent(Usuario.class));
+        service.registrarPosicao(PING, EMAIL);
+
+        ArgumentCaptor<PosicoesIngestao.Posicao> posicoes = ArgumentCaptor.forClass(PosicoesIngestao.Posicao.class);
+        verify(posicoesIngestao, times(2)).registrar(posicoes.capture());
+        assertThat(posicoes.getAllValues()).extracting(PosicoesIngestao.Posicao::motoristaId).containsExactly(7L, 9L);
+    }
+
+    private static Usuario usuario(Long id) {
+        Usuario usuario = new Usuario();
+        usuario.setId(id);
+        usuario.setEmail(EMAIL);
+        usuario.setAtivo(true);
+        return usuario;
+    }
+}
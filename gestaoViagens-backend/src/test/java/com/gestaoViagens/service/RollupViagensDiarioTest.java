@@ -0,0 +1,207 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.SerieViagensResponse;
+import com.gestaoViagens.ENUM.GranularidadeSerie;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import com.gestaoViagens.entity.EventoViagem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class RollupViagensDiarioTest {
+
+    // uma quarta-feira; a semana começa na segunda, 2024-05-06
+    private static final LocalDate QUARTA = LocalDate.of(2024, 5, 8);
+
+    private JdbcTemplate jdbcTemplate;
+    private RollupViagensDiario rollup;
+    private final List<EventoViagem> eventos = new ArrayList<>();
+    private long proximaViagem = 1;
+
+    @BeforeEach
+    void preparar() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("""
+                CREATE TABLE viagens (
+                    id BIGINT PRIMARY KEY,
+                    motorista_id BIGINT NOT NULL,
+                    status VARCHAR(30) NOT NULL,
+                    data_criacao TIMESTAMP NOT NULL,
+                    data_inicio TIMESTAMP,
+                    data_fim TIMESTAMP
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE eventos_viagem (
+                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+                    viagem_id BIGINT NOT NULL,
+                    motorista_id BIGINT NOT NULL,
+                    tipo VARCHAR(30) NOT NULL,
+                    ocorrido_em TIMESTAMP NOT NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE rollup_viagens_diario (
+                    id BIGINT NOT NULL AUTO_INCREMENT,
+                    dia DATE NOT NULL,
+                    motorista_id BIGINT NOT NULL,
+                    viagens_criadas BIGINT NOT NULL,
+                    viagens_iniciadas BIGINT NOT NULL,
+                    viagens_concluidas BIGINT NOT NULL,
+                    pontos_visitados BIGINT NOT NULL,
+                    duracao_total_segundos BIGINT NOT NULL,
+                    PRIMARY KEY (id),
+                    CONSTRAINT uk_rollup_viagens_dia_motorista UNIQUE (dia, motorista_id)
+                )
+                """);
+        rollup = new RollupViagensDiario(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+
+        // motorista 7: criada na segunda, iniciada na terça (1º ponto ainda na terça), concluída na quarta
+        viagem(7L, QUARTA.minusDays(2).atTime(9, 0), QUARTA.minusDays(1).atTime(22, 0),
+                QUARTA.atTime(1, 30), 2);
+        // motorista 7: criada, iniciada e concluída na quarta, com reatribuição e rota alterada no meio
+        viagem(7L, QUARTA.atTime(8, 0), QUARTA.atTime(9, 0), QUARTA.atTime(10, 0), 3);
+        // motorista 8: em andamento, começou na quarta
+        viagem(8L, QUARTA.atTime(8, 0), QUARTA.atTime(12, 0), null, 1);
+        // motorista 8: planejada na semana seguinte
+        viagem(8L, QUARTA.plusDays(6).atTime(8, 0), null, null, 0);
+        eventos.add(evento(2L, 7L, TipoEventoViagem.ROTA_ALTERADA, QUARTA.atTime(8, 30), null));
+        eventos.add(evento(2L, 7L, TipoEventoViagem.MOTORISTA_ALTERADO, QUARTA.atTime(8, 40), null));
+    }
+
+    @Test
+    void incrementalEIgualAoRecalculoDosMesmosEventos() {
+        // em duas transações, como transições separadas: o segundo upsert soma sobre o primeiro
+        rollup.acumular(eventos.subList(0, eventos.size() / 2));
+        rollup.acumular(eventos.subList(eventos.size() / 2, eventos.size()));
+        List<Map<String, Object>> incremental = linhasDoRollup();
+
+        int gravadas = rollup.recalcular(QUARTA.minusDays(7), QUARTA.plusDays(7));
+
+        assertThat(gravadas).isEqualTo(incremental.size());
+        assertThat(linhasDoRollup()).isEqualTo(incremental);
+        assertThat(incremental).extracting(l -> l.get("DIA").toString(), l -> l.get("MOTORISTA_ID"),
+                        l -> l.get("VIAGENS_CRIADAS"), l -> l.get("VIAGENS_INICIADAS"),
+                        l -> l.get("VIAGENS_CONCLUIDAS"), l -> l.get("PONTOS_VISITADOS"),
+                        l -> l.get("DURACAO_TOTAL_SEGUNDOS"))
+                .containsExactly(
+                        tuple("2024-05-06", 7L, 1L, 0L, 0L, 0L, 0L),
+                        tuple("2024-05-07", 7L, 0L, 1L, 0L, 1L, 0L),
+                        tuple("2024-05-08", 7L, 1L, 1L, 2L, 4L, 3 * 3600L + 30 * 60L + 3600L),
+                        tuple("2024-05-08", 8L, 1L, 1L, 0L, 1L, 0L),
+                        tuple("2024-05-14", 8L, 1L, 0L, 0L, 0L, 0L));
+    }
+
+    @Test
+    void recalculoSubstituiValoresAcumuladosEmDobro() {
+        rollup.acumular(eventos);
+        rollup.acumular(eventos);
+
+        rollup.recalcular(QUARTA.minusDays(7), QUARTA.plusDays(7));
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT SUM(viagens_criadas) FROM rollup_viagens_diario", Long.class)).isEqualTo(4);
+    }
+
+    @Test
+    void serieSemanalComecaNaSegundaEPreencheSemanasVazias() {
+        rollup.acumular(eventos);
+
+        SerieViagensResponse serie = rollup.serie(QUARTA, QUARTA.plusDays(18), GranularidadeSerie.SEMANA, null);
+
+        assertThat(serie.periodos()).extracting(SerieViagensResponse.Periodo::inicio,
+                        SerieViagensResponse.Periodo::viagensCriadas,
+                        SerieViagensResponse.Periodo::viagensConcluidas)
+                .containsExactly(
+                        // a segunda e a terça (06 e 07) ficam fora do intervalo pedido
+                        tuple(LocalDate.of(2024, 5, 6), 2L, 2L),
+                        tuple(LocalDate.of(2024, 5, 13), 1L, 0L),
+                        tuple(LocalDate.of(2024, 5, 20), 0L, 0L));
+        assertThat(serie.periodos().get(0).duracaoMediaSegundos()).isEqualTo((3 * 3600L + 30 * 60L + 3600L) / 2);
+    }
+
+    @Test
+    void serieMensalPorMotorista() {
+        rollup.acumular(eventos);
+
+        SerieViagensResponse serie = rollup.serie(LocalDate.of(2024, 4, 20), LocalDate.of(2024, 6, 5),
+                GranularidadeSerie.MES, 8L);
+
+        assertThat(serie.periodos()).extracting(SerieViagensResponse.Periodo::inicio,
+                        SerieViagensResponse.Periodo::viagensCriadas,
+                        SerieViagensResponse.Periodo::pontosVisitados)
+                .containsExactly(
+                        tuple(LocalDate.of(2024, 4, 1), 0L, 0L),
+                        tuple(LocalDate.of(2024, 5, 1), 2L, 1L),
+                        tuple(LocalDate.of(2024, 6, 1), 0L, 0L));
+    }
+
+    // grava a viagem e os eventos que as transições reais teriam registrado
+    private void viagem(Long motoristaId, LocalDateTime criada, LocalDateTime iniciada, LocalDateTime concluida,
+                        int pontosVisitados) {
+        long id = proximaViagem++;
+        StatusViagem status = concluida != null ? StatusViagem.CONCLUIDA
+                : iniciada != null ? StatusViagem.EM_ANDAMENTO : StatusViagem.PLANEJADA;
+        jdbcTemplate.update("INSERT INTO viagens VALUES (?, ?, ?, ?, ?, ?)", id, motoristaId, status.name(),
+                Timestamp.valueOf(criada), timestamp(iniciada), timestamp(concluida));
+
+        eventos.add(evento(id, motoristaId, TipoEventoViagem.VIAGEM_CRIADA, criada, null));
+        if (iniciada == null) {
+            return;
+        }
+        eventos.add(evento(id, motoristaId, TipoEventoViagem.VIAGEM_INICIADA, iniciada, null));
+        LocalDateTime fimVisitas = concluida != null ? concluida : iniciada.plusHours(1);
+        for (int i = 1; i <= pontosVisitados; i++) {
+            LocalDateTime visita = i == pontosVisitados ? fimVisitas : iniciada.plusMinutes(i);
+            eventos.add(evento(id, motoristaId, TipoEventoViagem.PONTO_VISITADO, visita, null));
+        }
+        if (concluida != null) {
+            eventos.add(evento(id, motoristaId, TipoEventoViagem.VIAGEM_CONCLUIDA, concluida,
+                    Duration.between(iniciada, concluida).toSeconds()));
+        }
+    }
+
+    private EventoViagem evento(Long viagemId, Long motoristaId, TipoEventoViagem tipo, LocalDateTime quando,
+                                Long duracaoSegundos) {
+        jdbcTemplate.update("INSERT INTO eventos_viagem (viagem_id, motorista_id, tipo, ocorrido_em) VALUES (?, ?, ?, ?)",
+                viagemId, motoristaId, tipo.name(), Timestamp.valueOf(quando));
+        return EventoViagem.builder()
+                .viagemId(viagemId)
+                .motoristaId(motoristaId)
+                .tipo(tipo)
+                .ator("motorista@tripflow.com")
+                .ocorridoEm(quando)
+                .duracaoSegundos(duracaoSegundos)
+                .build();
+    }
+
+    private List<Map<String, Object>> linhasDoRollup() {
+        return jdbcTemplate.queryForList("""
+                SELECT dia, motorista_id, viagens_criadas, viagens_iniciadas, viagens_concluidas,
+                       pontos_visitados, duracao_total_segundos
+                FROM rollup_viagens_diario
+                ORDER BY dia, motorista_id
+                """);
+    }
+
+    private static Timestamp timestamp(LocalDateTime quando) {
+        return quando != null ? Timestamp.valueOf(quando) : null;
+    }
+}
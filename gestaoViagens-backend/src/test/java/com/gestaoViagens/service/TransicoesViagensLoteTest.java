@@ -0,0 +1,162 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.OperacaoLoteViagensRequest;
+import com.gestaoViagens.DTO.OperacaoLoteViagensResponse;
+import com.gestaoViagens.ENUM.Role;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import com.gestaoViagens.entity.Usuario;
+import com.gestaoViagens.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TransicoesViagensLoteTest {
+
+    private static final LocalDateTime ONTEM = LocalDate.now().minusDays(1).atTime(9, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private EventoViagemRegistro eventoViagemRegistro;
+    private UsuarioRepository usuarioRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private TransicoesViagensLote transicoes;
+
+    @BeforeEach
+    void preparar() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("""
+                CREATE TABLE viagens (
+                    id BIGINT PRIMARY KEY,
+                    motorista_id BIGINT NOT NULL,
+                    status VARCHAR(30) NOT NULL,
+                    data_criacao TIMESTAMP NOT NULL,
+                    data_inicio TIMESTAMP,
+                    data_fim TIMESTAMP,
+                    versao BIGINT NOT NULL DEFAULT 0,
+                    atualizado_em TIMESTAMP
+                )
+                """);
+        inserir(1L, 7L, StatusViagem.PLANEJADA, ONTEM);
+        inserir(2L, 7L, StatusViagem.PLANEJADA, ONTEM);
+        inserir(3L, 8L, StatusViagem.EM_ANDAMENTO, ONTEM);
+        inserir(4L, 7L, StatusViagem.PLANEJADA, ONTEM.minusDays(5));
+
+        eventoViagemRegistro = mock(EventoViagemRegistro.class);
+        usuarioRepository = mock(UsuarioRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        transicoes = new TransicoesViagensLote(jdbcTemplate, eventoViagemRegistro, usuarioRepository,
+                eventPublisher, 100);
+        // a reatribuição registra um callback de commit, como numa transação real
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void limpar() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void iniciaSoAsViagensPlanejadasDaLista() {
+        OperacaoLoteViagensResponse resposta = transicoes.iniciar(
+                new OperacaoLoteViagensRequest(Arrays.asList(1L, 3L, 99L, 1L), null, null));
+
+        assertThat(resposta.afetadas()).isEqualTo(1);
+        assertThat(resposta.ignoradas()).isEqualTo(2);
+        assertThat(resposta.viagemIds()).containsExactly(1L);
+        assertThat(status(1L)).isEqualTo("EM_ANDAMENTO");
+        assertThat(versao(1L)).isEqualTo(1L);
+        assertThat(versao(3L)).isZero();
+        verify(eventoViagemRegistro).registrar(eq(1L), isNull(), eq(7L), eq(TipoEventoViagem.VIAGEM_INICIADA),
+                any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void filtroPorPeriodoEMotorista() {
+        OperacaoLoteViagensRequest.Filtro filtro = new OperacaoLoteViagensRequest.Filtro(7L, ONTEM.toLocalDate(), ONTEM.toLocalDate());
+
+        OperacaoLoteViagensResponse resposta = transicoes.iniciar(new OperacaoLoteViagensRequest(null, filtro, null));
+
+        assertThat(resposta.viagemIds()).containsExactly(1L, 2L);
+        assertThat(status(4L)).isEqualTo("PLANEJADA");
+    }
+
+    @Test
+    void concluiViagensEmAndamentoComDuracao() {
+        jdbcTemplate.update("UPDATE viagens SET data_inicio = ? WHERE id = 3", Timestamp.valueOf(ONTEM));
+
+        OperacaoLoteViagensResponse resposta = transicoes.concluir(new OperacaoLoteViagensRequest(List.of(1L, 3L), null, null));
+
+        assertThat(resposta.viagemIds()).containsExactly(3L);
+        assertThat(status(3L)).isEqualTo("CONCLUIDA");
+        verify(eventoViagemRegistro).registrar(eq(3L), isNull(), eq(8L), eq(TipoEventoViagem.VIAGEM_CONCLUIDA),
+                any(LocalDateTime.class), eq(ONTEM));
+    }
+
+    @Test
+    void reatribuiPlanejadasParaMotoristaAtivo() {
+        Usuario motorista = new Usuario();
+        motorista.setId(8L);
+        motorista.setRole(Role.MOTORISTA);
+        motorista.setAtivo(true);
+        when(usuarioRepository.findById(8L)).thenReturn(Optional.of(motorista));
+
+        OperacaoLoteViagensResponse resposta = transicoes.reatribuir(
+                new OperacaoLoteViagensRequest(List.of(1L, 2L, 3L), null, 8L));
+
+        assertThat(resposta.viagemIds()).containsExactly(1L, 2L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM viagens WHERE motorista_id = 8", Integer.class))
+                .isEqualTo(3);
+        verify(eventoViagemRegistro, times(2)).registrar(any(Long.class), isNull(), eq(8L),
+                eq(TipoEventoViagem.MOTORISTA_ALTERADO), any(LocalDateTime.class), isNull());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(eventPublisher).publishEvent(new ViagensAlteradasEvent(Set.of(1L, 2L), Set.of(7L)));
+    }
+
+    @Test
+    void semIdsNemPeriodoRecusa() {
+        assertThatThrownBy(() -> transicoes.iniciar(new OperacaoLoteViagensRequest(List.of(), null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> transicoes.iniciar(new OperacaoLoteViagensRequest(
+                null, new OperacaoLoteViagensRequest.Filtro(7L, null, null), null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void inserir(Long id, Long motoristaId, StatusViagem status, LocalDateTime criadaEm) {
+        jdbcTemplate.update("INSERT INTO viagens (id, motorista_id, status, data_criacao) VALUES (?, ?, ?, ?)",
+                id, motoristaId, status.name(), Timestamp.valueOf(criadaEm));
+    }
+
+    private String status(Long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM viagens WHERE id = ?", String.class, id);
+    }
+
+    private long versao(Long id) {
+        return jdbcTemplate.queryForObject("SELECT versao FROM viagens WHERE id = ?", Long.class, id);
+    }
+}
@@ -0,0 +1,77 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.VersaoListasViagens;
+import com.gestaoViagens.DTO.VersaoViagem;
+import com.gestaoViagens.entity.Local;
+import com.gestaoViagens.repository.ViagemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class VersoesViagensTest {
+
+    private ViagemRepository viagemRepository;
+    private VersoesViagens versoes;
+
+    @BeforeEach
+    void setUp() {
+        viagemRepository = mock(ViagemRepository.class);
+        versoes = new VersoesViagens(viagemRepository);
+    }
+
+    @Test
+    void carimboDaViagemSegueAVersao() {
+        LocalDateTime criacao = LocalDateTime.now().minusDays(1);
+        when(viagemRepository.buscarVersao(1L))
+                .thenReturn(Optional.of(new VersaoViagem(1L, "motorista@tripflow.com", 3, null, criacao)));
+        VersoesViagens.Carimbo antes = versoes.carimboViagem(1L, null).orElseThrow();
+
+        when(viagemRepository.buscarVersao(1L))
+                .thenReturn(Optional.of(new VersaoViagem(1L, "motorista@tripflow.com", 4, criacao.plusHours(1), criacao)));
+        VersoesViagens.Carimbo depois = versoes.carimboViagem(1L, null).orElseThrow();
+
+        assertThat(depois.etag()).isNotEqualTo(antes.etag());
+        assertThat(depois.etag()).startsWith("W/\"viagem-1-4-");
+    }
+
+    @Test
+    void semCarimboParaViagemDeOutroMotorista() {
+        when(viagemRepository.buscarVersao(1L))
+                .thenReturn(Optional.of(new VersaoViagem(1L, "motorista@tripflow.com", 0, null, LocalDateTime.now())));
+
+        assertThat(versoes.carimboViagem(1L, "outro@tripflow.com")).isEmpty();
+        assertThat(versoes.carimboViagem(1L, "motorista@tripflow.com")).isPresent();
+        assertThat(versoes.carimboViagem(2L, "motorista@tripflow.com")).isEmpty();
+    }
+
+    @Test
+    void listasMudamComViagensDoBancoECadastros() {
+        LocalDateTime criacao = LocalDateTime.now().minusDays(1);
+        when(viagemRepository.buscarVersaoListas()).thenReturn(new VersaoListasViagens(2, 2L, 5L, criacao));
+        VersoesViagens.Carimbo inicial = versoes.carimboListas();
+
+        // escrita feita por outra instância: nenhum evento chega aqui, só o banco muda
+        when(viagemRepository.buscarVersaoListas())
+                .thenReturn(new VersaoListasViagens(2, 2L, 6L, criacao.plusHours(1)));
+        VersoesViagens.Carimbo aposViagem = versoes.carimboListas();
+
+        versoes.aoAlterarCadastro(new CadastroAlteradoEvent(Local.class));
+        VersoesViagens.Carimbo aposCadastro = versoes.carimboListas();
+
+        assertThat(aposViagem.etag()).isNotEqualTo(inicial.etag());
+        assertThat(aposCadastro.etag()).isNotEqualTo(aposViagem.etag());
+    }
+
+    @Test
+    void listasSemViagens() {
+        when(viagemRepository.buscarVersaoListas()).thenReturn(new VersaoListasViagens(0, null, null, null));
+
+        assertThat(versoes.carimboListas().etag()).startsWith("W/\"viagens-0-");
+    }
+}
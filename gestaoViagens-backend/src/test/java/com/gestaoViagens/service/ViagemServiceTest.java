@@ -0,0 +1,237 @@
+package com.gestaoViagens.service;
+
+import com.gestaoViagens.DTO.SincronizarVisitasRequest;
+import com.gestaoViagens.DTO.SincronizarVisitasResponse;
+import com.gestaoViagens.ENUM.StatusPontoRota;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.ENUM.TipoEventoViagem;
+import com.gestaoViagens.entity.PontoRota;
+import com.gestaoViagens.entity.Usuario;
+import com.gestaoViagens.entity.Viagem;
+import com.gestaoViagens.repository.EventoViagemRepository;
+import com.gestaoViagens.repository.LocalRepository;
+import com.gestaoViagens.repository.PontoRotaRepository;
+import com.gestaoViagens.repository.UsuarioRepository;
+import com.gestaoViagens.repository.ViagemRepository;
+import com.gestaoViagens.repository.VisitaSincronizadaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ViagemServiceTest {
+
+    private static final Long MOTORISTA = 7L;
+    private static final String EMAIL = "motorista@tripflow.com";
+    private static final LocalDateTime ONTEM = LocalDateTime.now().minusDays(1);
+
+    private ViagemRepository viagemRepository;
+    private UsuarioRepository usuarioRepository;
+    private VisitaSincronizadaRepository visitaSincronizadaRepository;
+    private EventoViagemRegistro eventoViagemRegistro;
+    private PlatformTransactionManager transactionManager;
+    private ViagemService viagemService;
+
+    @BeforeEach
+    void preparar() {
+        viagemRepository = mock(ViagemRepository.class);
+        usuarioRepository = mock(UsuarioRepository.class);
+        visitaSincronizadaRepository = mock(VisitaSincronizadaRepository.class);
+        eventoViagemRegistro = mock(EventoViagemRegistro.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        viagemService = new ViagemService(
+                viagemRepository,
+                mock(LocalRepository.class),
+                usuarioRepository,
+                mock(PontoRotaRepository.class),
+                visitaSincronizadaRepository,
+                mock(EventoViagemRepository.class),
+                eventoViagemRegistro,
+                new EventoViagemReplay(),
+                mock(ViagemMapper.class),
+                mock(DashboardViagensAgregador.class),
+                transactionManager,
+                mock(ApplicationEventPublisher.class)
+        );
+
+        Usuario motorista = new Usuario();
+        motorista.setId(MOTORISTA);
+        motorista.setEmail(EMAIL);
+        when(usuarioRepository.findByEmailAndAtivoTrue(EMAIL)).thenReturn(Optional.of(motorista));
+        when(visitaSincronizadaRepository.findChavesJaAplicadas(eq(MOTORISTA), any())).thenReturn(Set.of());
+    }
+
+    @Test
+    void iniciaViagemPlanejada() {
+        Viagem viagem = viagem(1L, StatusViagem.PLANEJADA);
+        when(viagemRepository.findById(1L)).thenReturn(Optional.of(viagem));
+
+        viagemService.iniciarViagem(1L);
+
+        assertThat(viagem.getStatus()).isEqualTo(StatusViagem.EM_ANDAMENTO);
+        assertThat(viagem.getDataInicio()).isNotNull();
+        verify(eventoViagemRegistro).registrar(eq(viagem), isNull(), eq(TipoEventoViagem.VIAGEM_INICIADA),
+                any(LocalDateTime.class));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = StatusViagem.class, names = "PLANEJADA", mode = EnumSource.Mode.EXCLUDE)
+    void naoReiniciaViagemQueJaComecou(StatusViagem status) {
+        Viagem viagem = viagem(1L, status);
+        LocalDateTime inicio = LocalDateTime.of(2024, 5, 10, 8, 0);
+        viagem.setDataInicio(inicio);
+        when(viagemRepository.findById(1L)).thenReturn(Optional.of(viagem));
+
+        assertThatThrownBy(() -> viagemService.iniciarViagem(1L))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(viagem.getStatus()).isEqualTo(status);
+        assertThat(viagem.getDataInicio()).isEqualTo(inicio);
+        verify(eventoViagemRegistro, never()).registrar(any(Viagem.class), any(), any(), any());
+    }
+
+    @Test
+    void chavesReenviadasOuRepetidasNoLoteContamComoDuplicadas() {
+        Viagem viagem = viagemComPontos(1L, 11L, 12L, 13L);
+        when(viagemRepository.findById(1L)).thenReturn(Optional.of(viagem));
+        when(visitaSincronizadaRepository.findChavesJaAplicadas(eq(MOTORISTA), any())).thenReturn(Set.of("a"));
+
+        SincronizarVisitasResponse resposta = viagemService.sincronizarVisitas(new SincronizarVisitasRequest(List.of(
+                visita("a", 1L, 11L, ONTEM),
+                visita("b", 1L, 12L, ONTEM.plusMinutes(5)),
+                visita("b", 1L, 12L, ONTEM.plusMinutes(5))
+        )), EMAIL);
+
+        assertThat(resposta.aplicadas()).isEqualTo(1);
+        assertThat(resposta.duplicadas()).isEqualTo(2);
+        assertThat(ponto(viagem, 11L).getStatus()).isEqualTo(StatusPontoRota.PENDENTE);
+        assertThat(ponto(viagem, 12L).getStatus()).isEqualTo(StatusPontoRota.VISITADO);
+        verify(visitaSincronizadaRepository).saveAll(argThat(registros ->
+                registros instanceof List<?> lista && lista.size() == 1));
+    }
+
+    @Test
+    void aplicaAsVisitasNaOrdemDoRelogioDoAparelho() {
+        Viagem viagem = viagemComPontos(1L, 11L, 12L);
+        when(viagemRepository.findById(1L)).thenReturn(Optional.of(viagem));
+
+        SincronizarVisitasResponse resposta = viagemService.sincronizarVisitas(new SincronizarVisitasRequest(List.of(
+                visita("depois", 1L, 12L, ONTEM.plusMinutes(20)),
+                visita("antes", 1L, 11L, ONTEM)
+        )), EMAIL);
+
+        assertThat(resposta.aplicadas()).isEqualTo(2);
+        assertThat(viagem.getStatus()).isEqualTo(StatusViagem.CONCLUIDA);
+        assertThat(viagem.getDataInicio()).isEqualTo(ONTEM);
+        assertThat(viagem.getDataFim()).isEqualTo(ONTEM.plusMinutes(20));
+
+        InOrder ordem = inOrder(eventoViagemRegistro);
+        ordem.verify(eventoViagemRegistro).registrar(viagem, ponto(viagem, 11L), TipoEventoViagem.PONTO_VISITADO, ONTEM);
+        ordem.verify(eventoViagemRegistro).registrar(viagem, ponto(viagem, 12L), TipoEventoViagem.PONTO_VISITADO,
+                ONTEM.plusMinutes(20));
+    }
+
+    @Test
+    void umaTransacaoPorViagem() {
+        when(viagemRepository.findById(1L)).thenReturn(Optional.of(viagemComPontos(1L, 11L)));
+        when(viagemRepository.findById(2L)).thenReturn(Optional.of(viagemComPontos(2L, 21L)));
+
+        SincronizarVisitasResponse resposta = viagemService.sincronizarVisitas(new SincronizarVisitasRequest(List.of(
+                visita("a", 1L, 11L, ONTEM),
+                visita("b", 2L, 21L, ONTEM),
+                visita("c", 3L, 31L, ONTEM)
+        )), EMAIL);
+
+        assertThat(resposta.aplicadas()).isEqualTo(2);
+        assertThat(resposta.rejeitadas()).isEqualTo(1);
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void conflitoDeChaveRefazAViagemEContaComoDuplicada() {
+        // cada tentativa lê a viagem de novo, como numa transação nova
+        when(viagemRepository.findById(1L)).thenAnswer(invocacao -> Optional.of(viagemComPontos(1L, 11L, 12L)));
+        when(visitaSincronizadaRepository.saveAll(any()))
+                .thenThrow(new DataIntegrityViolationException("uk_visita_sincronizada_chave"))
+                .thenReturn(List.of());
+        when(visitaSincronizadaRepository.findChavesJaAplicadas(eq(MOTORISTA), any()))
+                .thenReturn(Set.of())
+                .thenReturn(Set.of("a"));
+
+        SincronizarVisitasResponse resposta = viagemService.sincronizarVisitas(new SincronizarVisitasRequest(List.of(
+                visita("a", 1L, 11L, ONTEM)
+        )), EMAIL);
+
+        assertThat(resposta.aplicadas()).isZero();
+        assertThat(resposta.duplicadas()).isEqualTo(1);
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    void chaveMaiorQueAColunaERejeitadaAntesDeGravar() {
+        SincronizarVisitasResponse resposta = viagemService.sincronizarVisitas(new SincronizarVisitasRequest(List.of(
+                visita("x".repeat(101), 1L, 11L, ONTEM)
+        )), EMAIL);
+
+        assertThat(resposta.rejeitadas()).isEqualTo(1);
+        verify(viagemRepository, never()).findById(any());
+        verify(visitaSincronizadaRepository, never()).saveAll(any());
+    }
+
+    private static Viagem viagemComPontos(Long id, Long... pontoIds) {
+        Viagem viagem = viagem(id, StatusViagem.PLANEJADA);
+        Usuario motorista = new Usuario();
+        motorista.setId(MOTORISTA);
+        viagem.setMotorista(motorista);
+        int ordem = 1;
+        for (Long pontoId : pontoIds) {
+            PontoRota ponto = new PontoRota();
+            ponto.setId(pontoId);
+            ponto.setViagem(viagem);
+            ponto.setOrdem(ordem++);
+            ponto.setStatus(StatusPontoRota.PENDENTE);
+            viagem.getPontos().add(ponto);
+        }
+        return viagem;
+    }
+
+    private static PontoRota ponto(Viagem viagem, Long pontoId) {
+        return viagem.getPontos().stream().filter(p -> p.getId().equals(pontoId)).findFirst().orElseThrow();
+    }
+
+    private static SincronizarVisitasRequest.VisitaOffline visita(String chave, Long viagemId, Long pontoId,
+                                                                  LocalDateTime quando) {
+        return new SincronizarVisitasRequest.VisitaOffline(chave, viagemId, pontoId, quando);
+    }
+
+    private static Viagem viagem(Long id, StatusViagem status) {
+        Viagem viagem = new Viagem();
+        viagem.setId(id);
+        viagem.setStatus(status);
+        return viagem;
+    }
+}
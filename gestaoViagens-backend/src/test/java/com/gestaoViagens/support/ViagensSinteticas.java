@@ -0,0 +1,97 @@
+package com.gestaoViagens.support;
+
+import com.gestaoViagens.ENUM.Role;
+import com.gestaoViagens.ENUM.StatusPontoRota;
+import com.gestaoViagens.ENUM.StatusViagem;
+import com.gestaoViagens.entity.Local;
+import com.gestaoViagens.entity.PontoRota;
+import com.gestaoViagens.entity.Usuario;
+import com.gestaoViagens.entity.Viagem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Monta grafos Viagem/PontoRota/Local em memória, sem banco, para benchmarks e testes.
+ * Para volumes grandes as listas de pontos são compartilhadas entre viagens
+ * (no máximo {@code MAX_LISTAS_DISTINTAS}), o que mantém a memória limitada
+ * sem alterar o custo do mapeamento.
+ */
+public final class ViagensSinteticas {
+
+    private static final int MAX_LISTAS_DISTINTAS = 1024;
+
+    private final SplittableRandom random;
+    private final List<Usuario> motoristas;
+    private final List<Local> locais;
+
+    public ViagensSinteticas(long seed, int quantidadeMotoristas, int quantidadeLocais) {
+        this.random = new SplittableRandom(seed);
+        this.motoristas = new ArrayList<>(quantidadeMotoristas);
+        this.locais = new ArrayList<>(quantidadeLocais);
+
+        for (int i = 1; i <= quantidadeMotoristas; i++) {
+            Usuario u = new Usuario();
+            u.setId((long) i);
+            u.setNome("Motorista " + i);
+            u.setEmail("motorista" + i + "@tripflow.com");
+            u.setRole(Role.MOTORISTA);
+            u.setAtivo(true);
+            motoristas.add(u);
+        }
+
+        for (int i = 1; i <= quantidadeLocais; i++) {
+            Local l = new Local();
+            l.setId((long) i);
+            l.setNome("Local " + i);
+            l.setEndereco("Rua " + i + ", " + (100 + random.nextInt(900)) + " - Curitiba/PR");
+            l.setLatitude(-25.43 + random.nextDouble(-0.2, 0.2));
+            l.setLongitude(-49.27 + random.nextDouble(-0.2, 0.2));
+            l.setAtivo(true);
+            locais.add(l);
+        }
+    }
+
+    public List<Viagem> gerar(int quantidadeViagens, int pontosPorViagem) {
+        LocalDateTime agora = LocalDateTime.now();
+        int distintas = Math.min(quantidadeViagens, MAX_LISTAS_DISTINTAS);
+        List<List<PontoRota>> listasPontos = new ArrayList<>(distintas);
+
+        long pontoId = 1;
+        for (int i = 0; i < distintas; i++) {
+            List<PontoRota> pontos = new ArrayList<>(pontosPorViagem);
+            int visitados = random.nextInt(pontosPorViagem + 1);
+            for (int ordem = 1; ordem <= pontosPorViagem; ordem++) {
+                PontoRota p = new PontoRota();
+                p.setId(pontoId++);
+                p.setOrdem(ordem);
+                p.setLocal(locais.get(random.nextInt(locais.size())));
+                p.setStatus(ordem <= visitados ? StatusPontoRota.VISITADO : StatusPontoRota.PENDENTE);
+                pontos.add(p);
+            }
+            listasPontos.add(pontos);
+        }
+
+        List<Viagem> viagens = new ArrayList<>(quantidadeViagens);
+        for (int i = 0; i < quantidadeViagens; i++) {
+            Viagem v = new Viagem();
+            v.setId((long) i + 1);
+            v.setNome("Viagem " + (i + 1));
+            v.setMotorista(motoristas.get(random.nextInt(motoristas.size())));
+            v.setStatus(StatusViagem.values()[random.nextInt(StatusViagem.values().length)]);
+            // ordem decrescente de criação, como em findAllByOrderByDataCriacaoDesc
+            v.setDataCriacao(agora.minusMinutes(i));
+            if (v.getStatus() != StatusViagem.PLANEJADA) {
+                v.setDataInicio(v.getDataCriacao().plusMinutes(10));
+            }
+            if (v.getStatus() == StatusViagem.CONCLUIDA) {
+                v.setDataFim(v.getDataInicio().plusHours(2));
+            }
+            v.setPontos(listasPontos.get(i % distintas));
+            viagens.add(v);
+        }
+        return viagens;
+    }
+}
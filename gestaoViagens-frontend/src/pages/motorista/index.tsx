@@ -8,17 +8,6 @@ import { apiFetch } from "../../services/api";
 
 type StatusViagem = "PLANEJADA" | "EM_ANDAMENTO" | "CONCLUIDA";
 
-type PontoRota = {
-  id: number;
-  ordem: number;
-  status: "PENDENTE" | "VISITADO";
-  localId: number;
-  localNome: string;
-  localEndereco: string;
-  latitude: number | null;
-  longitude: number | null;
-};
-
 type Viagem = {
   id: number;
   nome: string;
@@ -27,7 +16,8 @@ type Viagem = {
   dataInicio: string | null;
   dataFim: string | null;
   motoristaNome: string;
-  pontos: PontoRota[];
+  totalPontos: number;
+  pontosVisitados: number;
 };
 
 export default function MotoristaViagensPage() {
@@ -126,7 +116,7 @@ export default function MotoristaViagensPage() {
                     <td>{formatDate(v.dataCriacao)}</td>
                     <td>{formatDate(v.dataInicio)}</td>
                     <td>{formatDate(v.dataFim)}</td>
-                    <td>{v.pontos.length}</td>
+                    <td>{v.totalPontos}</td>
                     <td>
                       <button
                         className="btn-ghost"
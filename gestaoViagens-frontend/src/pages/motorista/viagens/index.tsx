@@ -8,17 +8,6 @@ import { apiFetch } from "../../../services/api";
 
 type StatusViagem = "PLANEJADA" | "EM_ANDAMENTO" | "CONCLUIDA";
 
-type PontoRota = {
-  id: number;
-  ordem: number;
-  status: "PENDENTE" | "VISITADO";
-  localId: number | null;
-  localNome: string | null;
-  localEndereco: string | null;
-  latitude: number | null;
-  longitude: number | null;
-};
-
 type Viagem = {
   id: number;
   nome: string;
@@ -27,7 +16,8 @@ type Viagem = {
   dataInicio: string | null;
   dataFim: string | null;
   motoristaNome: string | null;
-  pontos: PontoRota[];
+  totalPontos: number;
+  pontosVisitados: number;
 };
 
 function formatDate(value: string | null) {
@@ -129,7 +119,7 @@ export default function MotoristaViagensPage() {
                     <td>{formatDate(v.dataCriacao)}</td>
                     <td>{formatDate(v.dataInicio)}</td>
                     <td>{formatDate(v.dataFim)}</td>
-                    <td>{v.pontos?.length ?? 0}</td>
+                    <td>{v.totalPontos}</td>
                     <td>
                       <button
                         type="button"